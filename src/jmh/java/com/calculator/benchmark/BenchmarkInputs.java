@@ -0,0 +1,68 @@
+package com.calculator.benchmark;
+
+import java.util.Random;
+
+/***
+ * <p>
+ * Generates deterministic delimited inputs for benchmarks.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class BenchmarkInputs {
+
+	/***
+	 * Delimiters used between generated numbers.
+	 */
+	public enum DelimiterMix {
+		COMMA, SPACE, MIXED
+	}
+
+	private static final long SEED = 42L;
+
+	private BenchmarkInputs() {
+	}
+
+	/***
+	 * <p>
+	 * Builds an input of given number of tokens. Valid numbers are in [0, 100],
+	 * ignored numbers are in [101, 999] and invalid tokens contain an unknown
+	 * delimiter (semicolon).
+	 * 
+	 * @param tokens
+	 * @param mix
+	 * @param ignoredFraction fraction of numbers greater than 100
+	 * @param invalidFraction fraction of invalid tokens
+	 * @return input string
+	 */
+	public static String generate(int tokens, DelimiterMix mix, double ignoredFraction, double invalidFraction) {
+		Random random = new Random(SEED);
+		StringBuilder builder = new StringBuilder(tokens * 4);
+		for (int i = 0; i < tokens; i++) {
+			if (i > 0) {
+				builder.append(delimiter(mix, random));
+			}
+			double roll = random.nextDouble();
+			if (roll < invalidFraction) {
+				builder.append(random.nextInt(10)).append(';').append(random.nextInt(10));
+			} else if (roll < invalidFraction + ignoredFraction) {
+				builder.append(101 + random.nextInt(899));
+			} else {
+				builder.append(random.nextInt(101));
+			}
+		}
+		return builder.toString();
+	}
+
+	private static char delimiter(DelimiterMix mix, Random random) {
+		switch (mix) {
+		case COMMA:
+			return ',';
+		case SPACE:
+			return ' ';
+		default:
+			return random.nextBoolean() ? ',' : ' ';
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.calculator.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.calculator.benchmark.BenchmarkInputs.DelimiterMix;
+import com.calculator.strategies.ByteCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.delimiter.strategies.ByteCommaSplitter;
+import com.delimiter.strategies.ByteSpaceSplitter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * Compares the BYTES input path, on heap and direct buffers, against the
+ * STRING path on the same data. <code>decodeAndScan</code> includes decoding
+ * bytes into a {@link String}, which is what callers holding bytes pay today.
+ * Byte paths are run both byte by byte and a word at a time.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ByteInputBenchmark {
+
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int tokens;
+
+	@Param({ "false", "true" })
+	public boolean wordAtATime;
+
+	private String input;
+
+	private byte[] bytes;
+
+	private ByteBuffer heapBuffer;
+
+	private ByteBuffer directBuffer;
+
+	private ScannerCalculationStrategy stringStrategy;
+
+	private ByteCalculationStrategy byteStrategy;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		stringStrategy = new ScannerCalculationStrategy(Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter()));
+		byteStrategy = new ByteCalculationStrategy(Arrays.asList(new ByteCommaSplitter(), new ByteSpaceSplitter()),
+				wordAtATime);
+		input = BenchmarkInputs.generate(tokens, DelimiterMix.MIXED, 0.1, 0.0);
+		bytes = input.getBytes(StandardCharsets.US_ASCII);
+		heapBuffer = ByteBuffer.wrap(bytes);
+		directBuffer = ByteBuffer.allocateDirect(bytes.length);
+		directBuffer.put(bytes).flip();
+	}
+
+	@Benchmark
+	public int string() {
+		return stringStrategy.calculate(input);
+	}
+
+	@Benchmark
+	public int decodeAndScan() {
+		return stringStrategy.calculate(new String(bytes, StandardCharsets.US_ASCII));
+	}
+
+	@Benchmark
+	public int heapBytes() {
+		return byteStrategy.calculate(heapBuffer);
+	}
+
+	@Benchmark
+	public int directBytes() {
+		return byteStrategy.calculate(directBuffer);
+	}
+
+}
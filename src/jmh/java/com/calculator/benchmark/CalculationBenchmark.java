@@ -0,0 +1,99 @@
+package com.calculator.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.calculator.benchmark.BenchmarkInputs.DelimiterMix;
+import com.calculator.rules.RuleSet;
+import com.calculator.strategies.AbstractCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.calculator.strategies.StringCalculationStrategy;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * Measures {@link AbstractCalculationStrategy#calculate(Object)} end to end for
+ * each calculation engine. Inputs containing invalid tokens measure the cost
+ * of rejecting input, as calculation stops on first invalid token; the
+ * validating stream engine rejects it before splitting.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class CalculationBenchmark {
+
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int tokens;
+
+	@Param({ "COMMA", "SPACE", "MIXED" })
+	public DelimiterMix mix;
+
+	@Param({ "0.0", "0.5" })
+	public double ignoredFraction;
+
+	@Param({ "0.0", "0.001" })
+	public double invalidFraction;
+
+	private String input;
+
+	private AbstractCalculationStrategy<String> streamStrategy;
+
+	private AbstractCalculationStrategy<String> validatingStreamStrategy;
+
+	private AbstractCalculationStrategy<String> scannerStrategy;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		List<Delimiter<String>> delimiters = Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+		streamStrategy = new StringCalculationStrategy(delimiters);
+		validatingStreamStrategy = new StringCalculationStrategy(delimiters, RuleSet.DEFAULT, true);
+		scannerStrategy = new ScannerCalculationStrategy(delimiters);
+		input = BenchmarkInputs.generate(tokens, mix, ignoredFraction, invalidFraction);
+	}
+
+	@Benchmark
+	public int stream() {
+		return calculate(streamStrategy);
+	}
+
+	@Benchmark
+	public int validatingStream() {
+		return calculate(validatingStreamStrategy);
+	}
+
+	@Benchmark
+	public int scanner() {
+		return calculate(scannerStrategy);
+	}
+
+	private int calculate(AbstractCalculationStrategy<String> strategy) {
+		try {
+			return strategy.calculate(input);
+		} catch (RuntimeException ex) {
+			return -1;
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.calculator.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.calculator.benchmark.BenchmarkInputs.DelimiterMix;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * Measures each {@link Delimiter} implementation alone, chained the way
+ * {@link com.calculator.strategies.AbstractCalculationStrategy} passes input
+ * through them, and compiled into one {@link DelimiterSet}. Tokens are
+ * counted so the whole split is materialised.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class DelimiterBenchmark {
+
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int tokens;
+
+	@Param({ "COMMA", "SPACE", "MIXED" })
+	public DelimiterMix mix;
+
+	private String input;
+
+	private final Delimiter<String> commaSplitter = new StringCommaSplitter();
+
+	private final Delimiter<String> spaceSplitter = new StringSpaceSplitter();
+
+	private final Delimiter<String> delimiterSet = DelimiterSet.compile(Arrays.asList(commaSplitter, spaceSplitter));
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		input = BenchmarkInputs.generate(tokens, mix, 0.0, 0.0);
+	}
+
+	@Benchmark
+	public long commaSplitter() {
+		return commaSplitter.split(Stream.of(input)).count();
+	}
+
+	@Benchmark
+	public long spaceSplitter() {
+		return spaceSplitter.split(Stream.of(input)).count();
+	}
+
+	@Benchmark
+	public long chain() {
+		return spaceSplitter.split(commaSplitter.split(Stream.of(input))).count();
+	}
+
+	@Benchmark
+	public long compiledSet() {
+		return delimiterSet.split(Stream.of(input)).count();
+	}
+
+}
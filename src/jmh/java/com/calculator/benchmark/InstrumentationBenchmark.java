@@ -0,0 +1,81 @@
+package com.calculator.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.calculator.benchmark.BenchmarkInputs.DelimiterMix;
+import com.calculator.metrics.Instrumentation;
+import com.calculator.metrics.StrategyMetrics;
+import com.calculator.rules.RuleSet;
+import com.calculator.strategies.InstrumentedCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * Overhead of the instrumentation layer on the scanner engine. The
+ * <code>enabled</code> benchmark runs in a fork with
+ * <code>calculator.metrics.enabled=true</code>, so token counting is compiled
+ * in; the other ones run with it compiled out.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class InstrumentationBenchmark {
+
+	@Param({ "10", "1000" })
+	public int tokens;
+
+	private String input;
+
+	private ScannerCalculationStrategy plain;
+
+	private InstrumentedCalculationStrategy<String> instrumented;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		input = BenchmarkInputs.generate(tokens, DelimiterMix.MIXED, 0.1, 0.0);
+		plain = new ScannerCalculationStrategy(Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter()));
+		instrumented = new InstrumentedCalculationStrategy<>(plain,
+				new StrategyMetrics("benchmark", RuleSet.DEFAULT.getRuleNames()), String::length);
+	}
+
+	@Benchmark
+	public int plain() {
+		return plain.calculate(input);
+	}
+
+	@Benchmark
+	public int disabled() {
+		return instrumented.calculate(input);
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-D" + Instrumentation.ENABLED_PROPERTY + "=true")
+	public int enabled() {
+		return instrumented.calculate(input);
+	}
+
+}
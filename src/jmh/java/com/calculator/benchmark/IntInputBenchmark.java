@@ -0,0 +1,93 @@
+package com.calculator.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.calculator.strategies.IntCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+
+/***
+ * <p>
+ * Compares summing numbers held by an <code>int[]</code> or a direct
+ * {@link IntBuffer} against formatting them into a comma separated string and
+ * scanning it, which is what callers holding primitive numbers had to do.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntInputBenchmark {
+
+	@Param({ "1000", "1000000" })
+	public int tokens;
+
+	/***
+	 * Fraction of numbers greater than 100, which leave the fast path.
+	 */
+	@Param({ "0.0", "0.1" })
+	public double ignoredFraction;
+
+	private int[] numbers;
+
+	private IntBuffer direct;
+
+	private IntCalculationStrategy strategy;
+
+	private ScannerCalculationStrategy stringStrategy;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		numbers = new int[tokens];
+		for (int i = 0; i < tokens; i++) {
+			numbers[i] = random.nextDouble() < ignoredFraction ? 101 + random.nextInt(1000) : random.nextInt(101);
+		}
+		direct = ByteBuffer.allocateDirect(tokens * 4).asIntBuffer();
+		direct.put(numbers).flip();
+		strategy = new IntCalculationStrategy();
+		stringStrategy = new ScannerCalculationStrategy(Arrays.<Delimiter<String>>asList(new StringCommaSplitter()));
+	}
+
+	@Benchmark
+	public int array() {
+		return strategy.calculate(numbers);
+	}
+
+	@Benchmark
+	public int directBuffer() {
+		return strategy.calculate(direct);
+	}
+
+	@Benchmark
+	public int formattedString() {
+		StringBuilder builder = new StringBuilder(numbers.length * 4);
+		for (int number : numbers) {
+			builder.append(number).append(',');
+		}
+		return stringStrategy.calculate(builder.toString());
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.calculator.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.calculator.benchmark.BenchmarkInputs.DelimiterMix;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * Scaling benchmark of memory mapped parallel file summation from 1 to N
+ * threads, against sequential chunked reading of the same file. Mapped
+ * bytes are scanned both byte by byte and a word at a time.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MappedFileBenchmark {
+
+	@Param({ "1", "2", "4", "8", "16" })
+	public int threads;
+
+	@Param({ "50000000" })
+	public int tokens;
+
+	@Param({ "false", "true" })
+	public boolean wordAtATime;
+
+	private Path path;
+
+	private ForkJoinPool pool;
+
+	private ScannerCalculationStrategy strategy;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		strategy = new ScannerCalculationStrategy(Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter()),
+				wordAtATime);
+		pool = new ForkJoinPool(threads);
+		path = Files.createTempFile("calculator-benchmark", ".txt");
+		Files.write(path, BenchmarkInputs.generate(tokens, DelimiterMix.MIXED, 0.1, 0.0).getBytes(StandardCharsets.US_ASCII));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		pool.shutdown();
+		Files.deleteIfExists(path);
+	}
+
+	@Benchmark
+	public long mappedParallel() throws IOException {
+		return strategy.calculateParallel(path, pool);
+	}
+
+	@Benchmark
+	public int sequential() throws IOException {
+		return strategy.calculate(path);
+	}
+
+}
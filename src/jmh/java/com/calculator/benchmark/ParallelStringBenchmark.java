@@ -0,0 +1,79 @@
+package com.calculator.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.calculator.benchmark.BenchmarkInputs.DelimiterMix;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * Scaling benchmark of parallel summation of a single in memory string from 1
+ * to N threads, against sequential scanning of the same string. Small inputs
+ * show where splitting stops paying off, which is what the parallel threshold
+ * of {@link ScannerCalculationStrategy} is tuned from; run with
+ * <code>-Dcalculator.parallel.threshold=0</code> to measure them split.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelStringBenchmark {
+
+	@Param({ "1", "2", "4", "8", "16" })
+	public int threads;
+
+	@Param({ "10000", "100000", "10000000" })
+	public int tokens;
+
+	private String input;
+
+	private ForkJoinPool pool;
+
+	private ScannerCalculationStrategy strategy;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		strategy = new ScannerCalculationStrategy(Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter()));
+		pool = new ForkJoinPool(threads);
+		input = BenchmarkInputs.generate(tokens, DelimiterMix.MIXED, 0.1, 0.0);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public long parallel() {
+		return strategy.calculateParallel(input, pool);
+	}
+
+	@Benchmark
+	public long sequential() {
+		return strategy.calculateAsLong(input);
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.calculator.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/***
+ * <p>
+ * Measures time to first result of a cold JVM: each run starts a new
+ * <code>java</code> process running <code>CalculatorApp</code> and stops the
+ * clock when its first result is printed, so JVM boot, class loading, the
+ * static initialiser, strategy population and the first calculation are all
+ * measured. JMH forks can't do this, their JVM is already warm by the time a
+ * benchmark method runs.
+ *
+ * <p>
+ * Runs are repeated without and with the AppCDS archive, and with the archive
+ * plus C1 only, and the median and 90th percentile of each are reported.
+ * Arguments are <code>classpath archive runs</code>, see the
+ * <code>startupBenchmark</code> Gradle task.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class StartupBenchmark {
+
+	private static final String MAIN_CLASS = "com.calculator.CalculatorApp";
+
+	private static final String FIRST_RESULT = "Result is:";
+
+	private StartupBenchmark() {
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 2) {
+			throw new IllegalArgumentException("Usage: StartupBenchmark <classpath> <archive> [runs]");
+		}
+		String classpath = args[0];
+		String archive = args[1];
+		int runs = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		boolean hasArchive = new File(archive).isFile();
+
+		report("default", measure(runs, java, "-Xshare:auto", "-cp", classpath, MAIN_CLASS));
+		if (!hasArchive) {
+			System.out.println("No archive at " + archive + ", run the cdsArchive task first");
+			return;
+		}
+		report("appcds", measure(runs, java, "-XX:SharedArchiveFile=" + archive, "-cp", classpath, MAIN_CLASS));
+		report("appcds+c1", measure(runs, java, "-XX:SharedArchiveFile=" + archive, "-XX:TieredStopAtLevel=1", "-cp",
+				classpath, MAIN_CLASS));
+	}
+
+	/***
+	 * @return nanoseconds to first result of each run, sorted
+	 */
+	private static List<Long> measure(int runs, String... command) throws IOException, InterruptedException {
+		// one untimed run, so the executable and jars are in the page cache
+		timeToFirstResult(command);
+		List<Long> times = new ArrayList<>(runs);
+		for (int i = 0; i < runs; i++) {
+			times.add(timeToFirstResult(command));
+		}
+		Collections.sort(times);
+		return times;
+	}
+
+	private static long timeToFirstResult(String... command) throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		long elapsed = -1;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (elapsed < 0 && line.startsWith(FIRST_RESULT)) {
+					elapsed = System.nanoTime() - start;
+				}
+			}
+		}
+		if (process.waitFor() != 0 || elapsed < 0) {
+			throw new IllegalStateException("No result from " + Arrays.toString(command));
+		}
+		return elapsed;
+	}
+
+	private static void report(String name, List<Long> times) {
+		System.out.printf("%-10s median %6.1f ms, p90 %6.1f ms (%d runs)%n", name, millis(times, 0.5),
+				millis(times, 0.9), times.size());
+	}
+
+	private static double millis(List<Long> sortedTimes, double quantile) {
+		int index = Math.min(sortedTimes.size() - 1, (int) Math.ceil(quantile * sortedTimes.size()) - 1);
+		return sortedTimes.get(Math.max(0, index)) / 1e6;
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.calculator.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import com.calculator.executor.TenantCalculationExecutor;
+import com.calculator.metrics.Histogram;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * Local load test of tenant isolation. A heavy tenant keeps twice as many
+ * huge inputs in flight as there are workers, while a light tenant submits a
+ * small input every millisecond and records its latency. The same load runs
+ * against a plain FIFO thread pool and against a
+ * {@link TenantCalculationExecutor}; p50 and p99 latency of the light tenant
+ * and throughput of the heavy one are reported for both.
+ *
+ * <p>
+ * Usage: <code>TenantLoadTest [seconds] [heavy input length] [workers]</code>
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class TenantLoadTest {
+
+	private static final String LIGHT_INPUT = "1,2 3,4 5,6 7,8 9,10 11,12 13,14 15,16 17,18 19,20";
+
+	private final ScannerCalculationStrategy strategy = new ScannerCalculationStrategy(
+			Arrays.<Delimiter<String>>asList(new StringCommaSplitter(), new StringSpaceSplitter()));
+
+	private final int seconds;
+
+	private final String heavyInput;
+
+	private final int workers;
+
+	/***
+	 * @param seconds     duration of each run
+	 * @param heavyLength length of the heavy tenant's inputs
+	 * @param workers
+	 */
+	public TenantLoadTest(int seconds, int heavyLength, int workers) {
+		this.seconds = seconds;
+		this.workers = workers;
+		StringBuilder builder = new StringBuilder(heavyLength + 4);
+		for (int i = 0; builder.length() < heavyLength; i++) {
+			builder.append(i % 120).append(',');
+		}
+		this.heavyInput = builder.toString();
+	}
+
+	/***
+	 * Runs the load against a FIFO thread pool.
+	 */
+	public Result runFifo() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		try {
+			return run((tenant, input) -> CompletableFuture.supplyAsync(() -> strategy.calculate(input), executor));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/***
+	 * Runs the load against a tenant executor.
+	 */
+	public Result runFair() throws InterruptedException {
+		TenantCalculationExecutor<String> executor = TenantCalculationExecutor
+				.builder(strategy, (String input) -> input.length()).workers(workers).build();
+		try {
+			return run(executor::submit);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private Result run(BiFunction<String, String, CompletableFuture<Integer>> submitter)
+			throws InterruptedException {
+		Histogram light = new Histogram();
+		LongAdder heavyCompleted = new LongAdder();
+		Semaphore heavyInFlight = new Semaphore(2 * workers);
+		long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		Thread heavy = new Thread(() -> {
+			try {
+				while (System.nanoTime() < end) {
+					heavyInFlight.acquire();
+					submitter.apply("heavy", heavyInput).whenComplete((sum, error) -> {
+						heavyCompleted.increment();
+						heavyInFlight.release();
+					});
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}, "heavy-tenant");
+		heavy.start();
+		while (System.nanoTime() < end) {
+			long start = System.nanoTime();
+			submitter.apply("light", LIGHT_INPUT)
+					.whenComplete((sum, error) -> light.record(System.nanoTime() - start));
+			TimeUnit.MILLISECONDS.sleep(1);
+		}
+		heavy.join();
+		// in flight heavy inputs still complete
+		heavyInFlight.acquire(2 * workers);
+		return new Result(light, heavyCompleted.sum() / (double) seconds);
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		int heavyLength = args.length > 1 ? Integer.parseInt(args[1]) : 4_000_000;
+		int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		TenantLoadTest test = new TenantLoadTest(seconds, heavyLength, workers);
+		System.out.println("fifo: " + test.runFifo());
+		System.out.println("fair: " + test.runFair());
+	}
+
+	/***
+	 * Latency of the light tenant and throughput of the heavy one.
+	 */
+	public static final class Result {
+
+		private final Histogram lightLatency;
+
+		private final double heavyPerSecond;
+
+		private Result(Histogram lightLatency, double heavyPerSecond) {
+			this.lightLatency = lightLatency;
+			this.heavyPerSecond = heavyPerSecond;
+		}
+
+		public long getLightP99Nanos() {
+			return lightLatency.getValueAtPercentile(99);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("light p50 %.2f ms, p99 %.2f ms (%d calls), heavy %.1f inputs/s",
+					lightLatency.getValueAtPercentile(50) / 1e6, lightLatency.getValueAtPercentile(99) / 1e6,
+					lightLatency.getCount(), heavyPerSecond);
+		}
+
+	}
+
+}
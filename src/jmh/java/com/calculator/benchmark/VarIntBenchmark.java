@@ -0,0 +1,108 @@
+package com.calculator.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.calculator.benchmark.BenchmarkInputs.DelimiterMix;
+import com.calculator.binary.VarIntConverter;
+import com.calculator.strategies.ByteCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.calculator.strategies.VarIntCalculationStrategy;
+import com.delimiter.strategies.ByteCommaSplitter;
+import com.delimiter.strategies.ByteSpaceSplitter;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * Compares decoding the varint format against scanning the same numbers as
+ * delimited text, as a string and as ASCII bytes. Sizes of both payloads are
+ * printed once per trial.
+ *
+ * @author gaurav.vishal
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VarIntBenchmark {
+
+	@Param({ "1000", "1000000" })
+	public int tokens;
+
+	/***
+	 * Fraction of numbers greater than 100, which take two bytes and leave the
+	 * word at a time path.
+	 */
+	@Param({ "0.0", "0.1" })
+	public double ignoredFraction;
+
+	private String text;
+
+	private ByteBuffer textBytes;
+
+	private ByteBuffer varints;
+
+	private ByteBuffer directVarints;
+
+	private ScannerCalculationStrategy stringStrategy;
+
+	private ByteCalculationStrategy byteStrategy;
+
+	private VarIntCalculationStrategy varIntStrategy;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		text = BenchmarkInputs.generate(tokens, DelimiterMix.MIXED, ignoredFraction, 0);
+		textBytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+		varints = new VarIntConverter().convert(text);
+		directVarints = ByteBuffer.allocateDirect(varints.remaining());
+		directVarints.put(varints.duplicate()).flip();
+		stringStrategy = new ScannerCalculationStrategy(
+				Arrays.<Delimiter<String>>asList(new StringCommaSplitter(), new StringSpaceSplitter()));
+		byteStrategy = new ByteCalculationStrategy(
+				Arrays.<Delimiter<ByteBuffer>>asList(new ByteCommaSplitter(), new ByteSpaceSplitter()), true);
+		varIntStrategy = new VarIntCalculationStrategy();
+		System.out.printf("%ntext %d bytes, varint %d bytes%n", textBytes.remaining(), varints.remaining());
+	}
+
+	@Benchmark
+	public int textString() {
+		return stringStrategy.calculate(text);
+	}
+
+	@Benchmark
+	public int textBytes() {
+		return byteStrategy.calculate(textBytes);
+	}
+
+	@Benchmark
+	public int varint() {
+		return varIntStrategy.calculate(varints);
+	}
+
+	@Benchmark
+	public int directVarint() {
+		return varIntStrategy.calculate(directVarints);
+	}
+
+}
@@ -7,9 +7,9 @@ import com.calculator.strategies.AbstractCalculationStrategy;
 
 public class CalculatorApp {
 
-	@SuppressWarnings("unchecked")
 	public static void main(String[] args) {
-		AbstractCalculationStrategy<String> stringCalculator = StrategyPopulatorUtility.get(InputType.STRING);
+		AbstractCalculationStrategy<String> stringCalculator = StrategyPopulatorUtility.get(InputType.STRING,
+				String.class);
 		String input1 = "1 2 3 4 5 6 7 102";
 		String input2 = "1 2 3 4 5 6 7 10";
 		String input3 = "1 2 3 4 5 6 7 102,100";
@@ -0,0 +1,61 @@
+package com.calculator;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.calculator.common.CalculationEngine;
+import com.calculator.common.InputType;
+import com.calculator.common.StrategyPopulatorUtility;
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.strategies.AbstractCalculationStrategy;
+
+/***
+ * <p>
+ * Training workload of the <code>cdsArchive</code> Gradle task. Populates
+ * every calculation engine and calculates a few valid and invalid inputs of
+ * every input type, so the classes a job loads up to its first result,
+ * whichever engine it uses, end up in the class data sharing archive.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class StartupTraining {
+
+	private static final String[] INPUTS = { "1 2 3 4 5 6 7 102", "1 2 3 4 5 6 7 10,200", "//;\n1;2,3", "", "1,-2",
+			"1,a" };
+
+	private StartupTraining() {
+	}
+
+	public static void main(String[] args) {
+		long total = 0;
+		for (CalculationEngine engine : CalculationEngine.values()) {
+			StrategyPopulatorUtility.populate(engine);
+			AbstractCalculationStrategy<String> strings = StrategyPopulatorUtility.get(InputType.STRING, String.class);
+			AbstractCalculationStrategy<ByteBuffer> bytes = StrategyPopulatorUtility.get(InputType.BYTES,
+					ByteBuffer.class);
+			for (String input : INPUTS) {
+				total += calculate(strings, input);
+				total += calculate(bytes, ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII)));
+			}
+		}
+		total += calculate(StrategyPopulatorUtility.get(InputType.INTS, IntBuffer.class),
+				IntBuffer.wrap(new int[] { 1, 2, 300, 4 }));
+		// 1, 2, 300, 4 as varints
+		total += calculate(StrategyPopulatorUtility.get(InputType.VARINTS, ByteBuffer.class),
+				ByteBuffer.wrap(new byte[] { 1, 2, (byte) 0xAC, 0x02, 4 }));
+		StrategyPopulatorUtility.populate();
+		System.out.println("Training total: " + total);
+	}
+
+	private static <T> long calculate(AbstractCalculationStrategy<T> strategy, T input) {
+		try {
+			return strategy.calculateAsLong(input);
+		} catch (InvalidDelimiterException | UnsupportedNumberException ex) {
+			return 0;
+		}
+	}
+
+}
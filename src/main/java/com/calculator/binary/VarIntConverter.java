@@ -0,0 +1,139 @@
+package com.calculator.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.rules.RuleSet;
+import com.calculator.strategies.NumberScanner;
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * Converts delimited ASCII text, as accepted by
+ * {@link com.calculator.strategies.ByteCalculationStrategy}, into the varint
+ * format of {@link VarIntEncoder} in a single streaming pass. Text is parsed
+ * by a {@link NumberScanner}, with the same grammar as the text path; an
+ * invalid token stops the conversion with an {@link InvalidDelimiterException}
+ * located at its byte offset.
+ *
+ * <p>
+ * No rule is applied, every valid number is converted, negative ones
+ * included. Rules are applied during decode by
+ * {@link com.calculator.strategies.VarIntCalculationStrategy}, hence a
+ * converted payload gives same sum and rejects same numbers as its text.
+ *
+ * <p>
+ * Usage: <code>VarIntConverter text-file binary-file [separator...]</code>,
+ * comma and space by default.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class VarIntConverter {
+
+	private static final RuleSet KEEP_ALL = RuleSet.builder().build();
+
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	private final DelimiterSet delimiters;
+
+	public VarIntConverter() {
+		this(DelimiterSet.of(",", " "));
+	}
+
+	public VarIntConverter(DelimiterSet delimiters) {
+		if (delimiters == null) {
+			throw new RuntimeException("delimiters can't be null");
+		}
+		this.delimiters = delimiters;
+	}
+
+	/***
+	 * <p>
+	 * Converts text read from given stream into given one. Neither stream is
+	 * closed.
+	 *
+	 * @param text
+	 * @param binary
+	 * @return number of converted numbers
+	 * @throws IOException
+	 */
+	public long convert(InputStream text, OutputStream binary) throws IOException {
+		VarIntEncoder encoder = new VarIntEncoder(binary);
+		NumberScanner scanner = new NumberScanner(delimiters, KEEP_ALL, true).forwardTo(encoder)
+				.locateErrors(null, 0);
+		byte[] chunk = new byte[CHUNK_SIZE];
+		try {
+			for (int read = text.read(chunk); read >= 0; read = text.read(chunk)) {
+				scanner.scan(chunk, 0, read);
+			}
+			scanner.separate();
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		encoder.flush();
+		return encoder.getNumberCount();
+	}
+
+	/***
+	 * <p>
+	 * Converts given text file into given binary file, which is replaced if it
+	 * exists.
+	 *
+	 * @param text
+	 * @param binary
+	 * @return number of converted numbers
+	 * @throws IOException
+	 */
+	public long convert(Path text, Path binary) throws IOException {
+		try (InputStream in = Files.newInputStream(text); OutputStream out = Files.newOutputStream(binary)) {
+			return convert(in, out);
+		}
+	}
+
+	/***
+	 * <p>
+	 * Converts given text held in memory, e.g. in tests and benchmarks.
+	 *
+	 * @param text
+	 * @return heap buffer holding the converted numbers
+	 */
+	public ByteBuffer convert(String text) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(text.length());
+		try {
+			convert(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)), out);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return ByteBuffer.wrap(out.toByteArray());
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: VarIntConverter text-file binary-file [separator...]");
+			System.exit(2);
+		}
+		Path text = Paths.get(args[0]);
+		Path binary = Paths.get(args[1]);
+		VarIntConverter converter = args.length > 2
+				? new VarIntConverter(DelimiterSet.of(Arrays.copyOfRange(args, 2, args.length)))
+				: new VarIntConverter();
+		long numbers = converter.convert(text, binary);
+		long textSize = Files.size(text);
+		long binarySize = Files.size(binary);
+		System.out.printf("%d numbers, %d text bytes -> %d binary bytes (%.1f%%)%n", numbers, textSize, binarySize,
+				textSize > 0 ? binarySize * 100.0 / textSize : 0.0);
+	}
+
+}
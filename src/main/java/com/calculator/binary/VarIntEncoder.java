@@ -0,0 +1,172 @@
+package com.calculator.binary;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/***
+ * <p>
+ * Streaming encoder of the binary format read by
+ * {@link com.calculator.strategies.VarIntCalculationStrategy}. Each number is
+ * written as an unsigned varint of its 32 bits: seven bits per byte, least
+ * significant group first, high bit set on every byte but the last. Numbers in
+ * [0, 127], i.e. most numbers kept by the default rules, take a single byte
+ * instead of up to four characters of delimited text; negative numbers take
+ * five bytes. Payload has neither header nor separator, so encoded chunks can
+ * be concatenated.
+ *
+ * <p>
+ * Encoded bytes are buffered and written to the underlying stream when the
+ * buffer is full, on {@link #flush()} and on {@link #close()}. It is not thread
+ * safe.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class VarIntEncoder implements IntConsumer, Flushable, Closeable {
+
+	/***
+	 * Longest encoding of a number.
+	 */
+	public static final int MAX_LENGTH = 5;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final OutputStream out;
+
+	private final byte[] buffer;
+
+	private int buffered;
+
+	private long numberCount;
+
+	private long flushedCount;
+
+	public VarIntEncoder(OutputStream out) {
+		this(out, BUFFER_SIZE);
+	}
+
+	/***
+	 * @param out
+	 * @param bufferSize at least {@link #MAX_LENGTH} bytes
+	 */
+	public VarIntEncoder(OutputStream out, int bufferSize) {
+		if (out == null) {
+			throw new RuntimeException("out can't be null");
+		}
+		if (bufferSize < MAX_LENGTH) {
+			throw new RuntimeException("bufferSize can't be less than " + MAX_LENGTH);
+		}
+		this.out = out;
+		this.buffer = new byte[bufferSize];
+	}
+
+	public void write(int number) throws IOException {
+		if (buffered > buffer.length - MAX_LENGTH) {
+			flushBuffer();
+		}
+		buffered = put(buffer, buffered, number);
+		numberCount++;
+	}
+
+	public void write(int[] numbers, int from, int to) throws IOException {
+		for (int i = from; i < to; i++) {
+			write(numbers[i]);
+		}
+	}
+
+	/***
+	 * <p>
+	 * Same as {@link #write(int)}, so the encoder can be fed by a
+	 * {@link com.calculator.strategies.NumberScanner#forwardTo(IntConsumer)}.
+	 *
+	 * @throws UncheckedIOException if the underlying stream fails
+	 */
+	@Override
+	public void accept(int number) {
+		try {
+			write(number);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+	/***
+	 * Writes buffered bytes and closes the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flushBuffer();
+		} finally {
+			out.close();
+		}
+	}
+
+	/***
+	 * @return number of numbers written so far
+	 */
+	public long getNumberCount() {
+		return numberCount;
+	}
+
+	/***
+	 * @return number of bytes written so far, buffered ones included
+	 */
+	public long getByteCount() {
+		return flushedCount + buffered;
+	}
+
+	private void flushBuffer() throws IOException {
+		if (buffered > 0) {
+			out.write(buffer, 0, buffered);
+			flushedCount += buffered;
+			buffered = 0;
+		}
+	}
+
+	/***
+	 * <p>
+	 * Encodes given number into given array.
+	 *
+	 * @param array  with at least {@link #MAX_LENGTH} bytes from offset
+	 * @param offset
+	 * @param number
+	 * @return offset following the encoded number
+	 */
+	public static int put(byte[] array, int offset, int number) {
+		while ((number & ~0x7F) != 0) {
+			array[offset++] = (byte) (number | 0x80);
+			number >>>= 7;
+		}
+		array[offset++] = (byte) number;
+		return offset;
+	}
+
+	/***
+	 * <p>
+	 * Encodes given numbers at once, e.g. in tests.
+	 *
+	 * @param numbers
+	 * @return heap buffer holding the encoded numbers, from position to limit
+	 */
+	public static ByteBuffer encode(int... numbers) {
+		byte[] array = new byte[numbers.length * MAX_LENGTH];
+		int length = 0;
+		for (int number : numbers) {
+			length = put(array, length, number);
+		}
+		return ByteBuffer.wrap(array, 0, length);
+	}
+
+}
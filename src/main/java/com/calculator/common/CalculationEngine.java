@@ -0,0 +1,33 @@
+package com.calculator.common;
+
+/***
+ * <p>
+ * Calculation engines which can be selected while populating strategies.
+ * 
+ * <ul>
+ * <li>STREAM - splits input through each delimiter using {@link java.util.stream.Stream}.</li>
+ * <li>VALIDATING_STREAM - same as STREAM, input is validated by a single scan
+ * first, so malformed input is rejected before it is split, with the position
+ * of the offending number.</li>
+ * <li>SCANNER - walks input characters once, without creating any token.</li>
+ * <li>HEADER_SCANNER - same as SCANNER, input may also declare its own
+ * delimiters in a header line like <code>//[***]\n</code>.</li>
+ * <li>SWAR - same as SCANNER, byte input and memory mapped files are
+ * classified eight bytes at a time when separators allow it.</li>
+ * <li>ADAPTIVE - chooses, for each call, among sequential scan, parallel scan,
+ * stream pipeline and result cache by input length and delimiters, see
+ * {@link com.calculator.strategies.AdaptiveCalculationStrategy}. Thresholds
+ * are loaded from the file named by system property
+ * <code>calculator.dispatch.profile</code>, or calibrated at startup if
+ * <code>calculator.dispatch.calibrate</code> is set, and stored into that
+ * file if named.</li>
+ * </ul>
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public enum CalculationEngine {
+
+	STREAM, VALIDATING_STREAM, SCANNER, HEADER_SCANNER, SWAR, ADAPTIVE
+
+}
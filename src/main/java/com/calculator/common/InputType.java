@@ -1,5 +1,8 @@
 package com.calculator.common;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
 /***
  * 
  * @author gaurav.vishal
@@ -7,6 +10,19 @@ package com.calculator.common;
  */
 public enum InputType {
 
-	STRING
+	STRING(String.class), BYTES(ByteBuffer.class), INTS(IntBuffer.class), VARINTS(ByteBuffer.class);
+
+	/***
+	 * Type of input accepted by strategies registered for this input type.
+	 */
+	private final Class<?> inputClass;
+
+	private InputType(Class<?> inputClass) {
+		this.inputClass = inputClass;
+	}
+
+	public Class<?> getInputClass() {
+		return inputClass;
+	}
 
 }
@@ -0,0 +1,58 @@
+package com.calculator.common;
+
+/***
+ * <p>
+ * Opt-in configuration of the result cache wrapped around populated
+ * strategies, see
+ * {@link com.calculator.strategies.CachingCalculationStrategy}.
+ * 
+ * <p>
+ * It can be given to {@link StrategyPopulatorUtility} explicitly, or through
+ * system properties <code>calculator.cache.maximumSize</code> and
+ * <code>calculator.cache.maximumWeight</code>.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class ResultCacheConfig {
+
+	static final String MAXIMUM_SIZE_PROPERTY = "calculator.cache.maximumSize";
+
+	static final String MAXIMUM_WEIGHT_PROPERTY = "calculator.cache.maximumWeight";
+
+	private static final long DEFAULT_WEIGHT_PER_ENTRY = 1024;
+
+	private final int maximumSize;
+
+	private final long maximumWeight;
+
+	/***
+	 * @param maximumSize   maximum number of cached inputs
+	 * @param maximumWeight maximum total length of cached inputs
+	 */
+	public ResultCacheConfig(int maximumSize, long maximumWeight) {
+		this.maximumSize = maximumSize;
+		this.maximumWeight = maximumWeight;
+	}
+
+	/***
+	 * @return configuration from system properties, null if cache isn't enabled
+	 */
+	public static ResultCacheConfig fromSystemProperties() {
+		Integer maximumSize = Integer.getInteger(MAXIMUM_SIZE_PROPERTY);
+		if (maximumSize == null || maximumSize <= 0) {
+			return null;
+		}
+		Long maximumWeight = Long.getLong(MAXIMUM_WEIGHT_PROPERTY, maximumSize * DEFAULT_WEIGHT_PER_ENTRY);
+		return new ResultCacheConfig(maximumSize, maximumWeight);
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+}
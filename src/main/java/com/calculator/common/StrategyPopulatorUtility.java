@@ -1,33 +1,284 @@
 package com.calculator.common;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
+import com.calculator.metrics.CalculationMetrics;
+import com.calculator.metrics.Instrumentation;
+import com.calculator.rules.RuleSet;
 import com.calculator.strategies.AbstractCalculationStrategy;
+import com.calculator.strategies.AdaptiveCalculationStrategy;
+import com.calculator.strategies.ByteCalculationStrategy;
+import com.calculator.strategies.CachingCalculationStrategy;
+import com.calculator.strategies.DispatchProfile;
+import com.calculator.strategies.HeaderDelimiterCalculationStrategy;
+import com.calculator.strategies.InstrumentedCalculationStrategy;
+import com.calculator.strategies.IntCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
 import com.calculator.strategies.StringCalculationStrategy;
+import com.calculator.strategies.VarIntCalculationStrategy;
+import com.delimiter.strategies.ByteCommaSplitter;
+import com.delimiter.strategies.ByteSpaceSplitter;
 import com.delimiter.strategies.Delimiter;
 import com.delimiter.strategies.StringCommaSplitter;
 import com.delimiter.strategies.StringSpaceSplitter;
 
-
+/***
+ * <p>
+ * Populates and exposes calculation strategies through a thread safe
+ * {@link StrategyRegistry}. Populating again, e.g. with another engine or
+ * delimiter list, swaps strategies atomically at runtime. Strategies are
+ * constructed lazily on first use. When instrumentation is enabled, see
+ * {@link Instrumentation}, each strategy records its metrics under the name of
+ * its input type.
+ * 
+ * <p>
+ * Populating and constructing strategies doesn't bootstrap any lambda, so a
+ * cold JVM, e.g. of a short lived job, doesn't pay for the lambda metafactory
+ * before its first result; see the <code>cdsArchive</code> Gradle task for
+ * the class loading part of a cold start.
+ * 
+ * @author gaurav.vishal
+ *
+ */
 public class StrategyPopulatorUtility {
 
-	@SuppressWarnings("rawtypes")
-	private static Map<InputType, AbstractCalculationStrategy> strategy = new EnumMap<>(InputType.class);
+	static final String DISPATCH_PROFILE_PROPERTY = "calculator.dispatch.profile";
+
+	static final String DISPATCH_CALIBRATE_PROPERTY = "calculator.dispatch.calibrate";
+
+	private static final StrategyRegistry registry = new StrategyRegistry();
 
 	private static List<Delimiter<String>> getStringDelimiters() {
 		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
 	}
 
+	private static List<Delimiter<ByteBuffer>> getByteDelimiters() {
+		return Arrays.asList(new ByteCommaSplitter(), new ByteSpaceSplitter());
+	}
+
 	public static void populate() {
-		strategy.put(InputType.STRING, new StringCalculationStrategy(getStringDelimiters()));
+		populate(CalculationEngine.STREAM);
+	}
+
+	/***
+	 * <p>
+	 * Populates strategies backed by given calculation engine. Result cache is
+	 * enabled through system properties, see {@link ResultCacheConfig}.
+	 * 
+	 * @param engine
+	 */
+	public static void populate(CalculationEngine engine) {
+		populate(engine, ResultCacheConfig.fromSystemProperties());
+	}
+
+	/***
+	 * <p>
+	 * Populates strategies backed by given calculation engine, wrapped into a
+	 * result cache if configuration is given.
+	 * 
+	 * @param engine
+	 * @param cacheConfig null to disable result cache
+	 */
+	public static void populate(CalculationEngine engine, ResultCacheConfig cacheConfig) {
+		populate(engine, cacheConfig, getStringDelimiters());
+	}
+
+	/***
+	 * <p>
+	 * Populates strategies backed by given calculation engine and delimiters,
+	 * replacing current ones atomically, so a new delimiter set can be rolled out
+	 * without a restart.
+	 * 
+	 * @param engine
+	 * @param cacheConfig      null to disable result cache
+	 * @param stringDelimiters delimiters of {@link InputType#STRING} strategy
+	 */
+	public static void populate(final CalculationEngine engine, final ResultCacheConfig cacheConfig,
+			final List<Delimiter<String>> stringDelimiters) {
+		EnumMap<InputType, StrategyFactory> factories = new EnumMap<>(InputType.class);
+		for (InputType type : InputType.values()) {
+			factories.put(type, new StrategyFactory(type, engine, cacheConfig, stringDelimiters));
+		}
+		registry.registerAll(factories);
+	}
+
+	/***
+	 * <p>
+	 * Registers given strategy, replacing current one of the input type.
+	 * 
+	 * @param type
+	 * @param strategy
+	 */
+	public static void register(InputType type, AbstractCalculationStrategy<?> strategy) {
+		registry.register(type, strategy);
 	}
 
 	@SuppressWarnings("rawtypes")
 	public static AbstractCalculationStrategy get(InputType type) {
-		return strategy.get(type);
+		return registry.get(type);
+	}
+
+	/***
+	 * <p>
+	 * Typed variant of {@link #get(InputType)}.
+	 * 
+	 * @param type
+	 * @param inputClass
+	 * @return strategy or null if not populated
+	 */
+	public static <T> AbstractCalculationStrategy<T> get(InputType type, Class<T> inputClass) {
+		return registry.get(type, inputClass);
+	}
+
+	public static StrategyRegistry getRegistry() {
+		return registry;
+	}
+
+	private static AbstractCalculationStrategy<String> createStringStrategy(CalculationEngine engine,
+			ResultCacheConfig cacheConfig, List<Delimiter<String>> stringDelimiters) {
+		if (engine == CalculationEngine.ADAPTIVE) {
+			return createAdaptiveStrategy(cacheConfig, stringDelimiters);
+		}
+		AbstractCalculationStrategy<String> stringStrategy;
+		if (engine == CalculationEngine.SCANNER) {
+			stringStrategy = new ScannerCalculationStrategy(stringDelimiters);
+		} else if (engine == CalculationEngine.SWAR) {
+			stringStrategy = new ScannerCalculationStrategy(stringDelimiters, true);
+		} else if (engine == CalculationEngine.HEADER_SCANNER) {
+			stringStrategy = new HeaderDelimiterCalculationStrategy(stringDelimiters);
+		} else if (engine == CalculationEngine.VALIDATING_STREAM) {
+			stringStrategy = new StringCalculationStrategy(stringDelimiters, RuleSet.DEFAULT, true);
+		} else {
+			stringStrategy = new StringCalculationStrategy(stringDelimiters);
+		}
+		if (cacheConfig != null) {
+			stringStrategy = new CachingCalculationStrategy<>(stringStrategy, cacheConfig.getMaximumSize(),
+					cacheConfig.getMaximumWeight(), new InputSizer<String>());
+		}
+		return instrument(InputType.STRING, stringStrategy, new InputSizer<String>());
+	}
+
+	/***
+	 * Adaptive strategy records its chosen paths into same metrics as its
+	 * instrumentation.
+	 */
+	private static AbstractCalculationStrategy<String> createAdaptiveStrategy(ResultCacheConfig cacheConfig,
+			List<Delimiter<String>> stringDelimiters) {
+		CalculationMetrics metrics = Instrumentation.ENABLED ? createMetrics(InputType.STRING) : null;
+		AdaptiveCalculationStrategy.Builder builder = AdaptiveCalculationStrategy.builder(stringDelimiters)
+				.profile(dispatchProfile(stringDelimiters)).metrics(metrics);
+		if (cacheConfig != null) {
+			builder.cache(cacheConfig.getMaximumSize(), cacheConfig.getMaximumWeight());
+		}
+		if (metrics == null) {
+			return builder.build();
+		}
+		return new InstrumentedCalculationStrategy<>(builder.build(), metrics, new InputSizer<String>());
+	}
+
+	/***
+	 * @return profile loaded from the file named by
+	 *         {@link #DISPATCH_PROFILE_PROPERTY} if it exists, calibrated if
+	 *         {@link #DISPATCH_CALIBRATE_PROPERTY} is set, default one otherwise
+	 */
+	private static DispatchProfile dispatchProfile(List<Delimiter<String>> stringDelimiters) {
+		String file = System.getProperty(DISPATCH_PROFILE_PROPERTY);
+		Path path = file != null ? Paths.get(file) : null;
+		try {
+			if (path != null && Files.isRegularFile(path)) {
+				return DispatchProfile.load(path);
+			}
+			if (!Boolean.getBoolean(DISPATCH_CALIBRATE_PROPERTY)) {
+				return DispatchProfile.DEFAULT;
+			}
+			DispatchProfile profile = DispatchProfile.calibrate(new ScannerCalculationStrategy(stringDelimiters),
+					ForkJoinPool.commonPool());
+			if (path != null) {
+				profile.store(path);
+			}
+			return profile;
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static <T> AbstractCalculationStrategy<T> instrument(InputType type, AbstractCalculationStrategy<T> strategy,
+			ToLongFunction<T> sizer) {
+		if (!Instrumentation.ENABLED) {
+			return strategy;
+		}
+		return new InstrumentedCalculationStrategy<>(strategy, createMetrics(type), sizer);
+	}
+
+	private static CalculationMetrics createMetrics(InputType type) {
+		return Instrumentation.getFactory().create(type.name(), RuleSet.DEFAULT.getRuleNames());
+	}
+
+	/***
+	 * Constructs the strategy of an input type on first use.
+	 */
+	private static final class StrategyFactory implements Supplier<AbstractCalculationStrategy<?>> {
+
+		private final InputType type;
+
+		private final CalculationEngine engine;
+
+		private final ResultCacheConfig cacheConfig;
+
+		private final List<Delimiter<String>> stringDelimiters;
+
+		private StrategyFactory(InputType type, CalculationEngine engine, ResultCacheConfig cacheConfig,
+				List<Delimiter<String>> stringDelimiters) {
+			this.type = type;
+			this.engine = engine;
+			this.cacheConfig = cacheConfig;
+			this.stringDelimiters = stringDelimiters;
+		}
+
+		@Override
+		public AbstractCalculationStrategy<?> get() {
+			if (type == InputType.STRING) {
+				return createStringStrategy(engine, cacheConfig, stringDelimiters);
+			} else if (type == InputType.BYTES) {
+				return instrument(InputType.BYTES,
+						new ByteCalculationStrategy(getByteDelimiters(), engine == CalculationEngine.SWAR),
+						new InputSizer<ByteBuffer>());
+			} else if (type == InputType.INTS) {
+				return instrument(InputType.INTS, new IntCalculationStrategy(), new InputSizer<IntBuffer>());
+			} else if (type == InputType.VARINTS) {
+				return instrument(InputType.VARINTS, new VarIntCalculationStrategy(), new InputSizer<ByteBuffer>());
+			}
+			throw new IllegalStateException("No strategy for " + type);
+		}
+
+	}
+
+	/***
+	 * Length of a string, remaining elements of a buffer.
+	 */
+	private static final class InputSizer<T> implements ToLongFunction<T> {
+
+		@Override
+		public long applyAsLong(T input) {
+			if (input instanceof String) {
+				return ((String) input).length();
+			}
+			return ((Buffer) input).remaining();
+		}
+
 	}
 
 }
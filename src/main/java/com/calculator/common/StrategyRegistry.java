@@ -0,0 +1,174 @@
+package com.calculator.common;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import com.calculator.strategies.AbstractCalculationStrategy;
+
+/***
+ * <p>
+ * Thread safe registry of calculation strategies per {@link InputType}.
+ * 
+ * <p>
+ * Registrations are kept in an immutable snapshot which is replaced as a whole
+ * (copy on write) on every change, hence readers never take a lock nor see a
+ * half populated map, while strategies can be registered or swapped at runtime
+ * from any thread. Strategies can also be registered lazily, they are then
+ * constructed once, on first use.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class StrategyRegistry {
+
+	private final AtomicReference<Map<InputType, Registration>> registrations = new AtomicReference<>(
+			Collections.<InputType, Registration>emptyMap());
+
+	/***
+	 * Registers given strategy, replacing previous one of the input type.
+	 * 
+	 * @param type
+	 * @param strategy
+	 */
+	public void register(InputType type, AbstractCalculationStrategy<?> strategy) {
+		if (strategy == null) {
+			throw new IllegalArgumentException("strategy can't be null");
+		}
+		publish(type, new Registration(strategy, null));
+	}
+
+	/***
+	 * Registers a strategy which is constructed by given supplier on first use,
+	 * replacing previous one of the input type.
+	 * 
+	 * @param type
+	 * @param supplier
+	 */
+	public void registerLazily(InputType type, Supplier<? extends AbstractCalculationStrategy<?>> supplier) {
+		if (supplier == null) {
+			throw new IllegalArgumentException("supplier can't be null");
+		}
+		publish(type, new Registration(null, supplier));
+	}
+
+	/***
+	 * <p>
+	 * Registers strategies constructed by given suppliers on first use,
+	 * replacing previous ones of their input types. All of them are published
+	 * at once, so a reader sees either none or all of them.
+	 * 
+	 * @param suppliers per input type
+	 */
+	public void registerAll(
+			Map<InputType, ? extends Supplier<? extends AbstractCalculationStrategy<?>>> suppliers) {
+		if (suppliers == null) {
+			throw new IllegalArgumentException("suppliers can't be null");
+		}
+		EnumMap<InputType, Registration> changes = new EnumMap<>(InputType.class);
+		for (Map.Entry<InputType, ? extends Supplier<? extends AbstractCalculationStrategy<?>>> entry : suppliers
+				.entrySet()) {
+			if (entry.getValue() == null) {
+				throw new IllegalArgumentException("supplier can't be null");
+			}
+			changes.put(entry.getKey(), new Registration(null, entry.getValue()));
+		}
+		publish(changes);
+	}
+
+	public void unregister(InputType type) {
+		publish(type, null);
+	}
+
+	/***
+	 * @param type
+	 * @return strategy registered for given input type, null if none
+	 */
+	public AbstractCalculationStrategy<?> get(InputType type) {
+		Registration registration = registrations.get().get(type);
+		return registration != null ? registration.strategy() : null;
+	}
+
+	/***
+	 * <p>
+	 * Typed variant of {@link #get(InputType)}.
+	 * 
+	 * @param type
+	 * @param inputClass
+	 * @return strategy registered for given input type, null if none
+	 * @throws IllegalArgumentException if input type doesn't accept given class
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> AbstractCalculationStrategy<T> get(InputType type, Class<T> inputClass) {
+		if (type.getInputClass() != inputClass) {
+			throw new IllegalArgumentException(type + " doesn't accept " + inputClass.getName());
+		}
+		return (AbstractCalculationStrategy<T>) get(type);
+	}
+
+	public Set<InputType> getRegisteredTypes() {
+		return registrations.get().keySet();
+	}
+
+	private void publish(InputType type, Registration registration) {
+		publish(Collections.singletonMap(type, registration));
+	}
+
+	/***
+	 * Replaces registrations of given input types with one snapshot.
+	 * 
+	 * @param changes null registration to remove one
+	 */
+	private void publish(Map<InputType, Registration> changes) {
+		Map<InputType, Registration> current;
+		Map<InputType, Registration> next;
+		do {
+			current = registrations.get();
+			EnumMap<InputType, Registration> copy = new EnumMap<>(InputType.class);
+			copy.putAll(current);
+			for (Map.Entry<InputType, Registration> change : changes.entrySet()) {
+				if (change.getValue() != null) {
+					copy.put(change.getKey(), change.getValue());
+				} else {
+					copy.remove(change.getKey());
+				}
+			}
+			next = Collections.unmodifiableMap(copy);
+		} while (!registrations.compareAndSet(current, next));
+	}
+
+	/***
+	 * Registered strategy, or supplier of it until first use.
+	 */
+	private static final class Registration {
+
+		private final Supplier<? extends AbstractCalculationStrategy<?>> supplier;
+
+		private volatile AbstractCalculationStrategy<?> strategy;
+
+		private Registration(AbstractCalculationStrategy<?> strategy,
+				Supplier<? extends AbstractCalculationStrategy<?>> supplier) {
+			this.strategy = strategy;
+			this.supplier = supplier;
+		}
+
+		private AbstractCalculationStrategy<?> strategy() {
+			AbstractCalculationStrategy<?> result = strategy;
+			if (result == null) {
+				synchronized (this) {
+					result = strategy;
+					if (result == null) {
+						result = supplier.get();
+						strategy = result;
+					}
+				}
+			}
+			return result;
+		}
+
+	}
+
+}
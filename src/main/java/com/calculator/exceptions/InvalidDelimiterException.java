@@ -1,5 +1,15 @@
 package com.calculator.exceptions;
 
+/***
+ * <p>
+ * Thrown for an invalid number or delimiter. Exceptions created through
+ * {@link #InvalidDelimiterException(String, long, long, String)}
+ * are stackless, so rejecting malformed input costs no stack walk, and tell
+ * where the number is.
+ * 
+ * @author gaurav.vishal
+ *
+ */
 public class InvalidDelimiterException extends RuntimeException {
 
 	/**
@@ -7,12 +17,83 @@ public class InvalidDelimiterException extends RuntimeException {
 	 */
 	private static final long serialVersionUID = 7070760366965072871L;
 
+	/***
+	 * Character offset of the offending token, -1 if unknown.
+	 */
+	private final long offset;
+
+	/***
+	 * Index of the offending token among non blank tokens, -1 if unknown.
+	 */
+	private final long tokenIndex;
+
+	private final String token;
+
 	public InvalidDelimiterException(String message) {
 		super(message);
+		this.offset = -1;
+		this.tokenIndex = -1;
+		this.token = null;
 	}
 
 	public InvalidDelimiterException(String message, Throwable throwable) {
 		super(message, throwable);
+		this.offset = -1;
+		this.tokenIndex = -1;
+		this.token = null;
+	}
+
+	/***
+	 * <p>
+	 * Creates a stackless exception: no stack trace is captured, nor can one be
+	 * set, and suppression is disabled. Location is appended to the message
+	 * only when the message is read.
+	 * 
+	 * @param message
+	 * @param offset     character offset of the offending token, -1 if unknown
+	 * @param tokenIndex index of the offending token among non blank tokens, -1
+	 *                   if unknown
+	 * @param token      offending token, null if unknown
+	 */
+	public InvalidDelimiterException(String message, long offset, long tokenIndex, String token) {
+		super(message, null, false, false);
+		this.offset = offset;
+		this.tokenIndex = tokenIndex;
+		this.token = token;
+	}
+
+	@Override
+	public String getMessage() {
+		return Locations.describe(super.getMessage(), offset, tokenIndex, token);
+	}
+
+	/***
+	 * @return message without the location, e.g. to locate a copy of this
+	 *         exception elsewhere
+	 */
+	public String getReason() {
+		return super.getMessage();
+	}
+
+	/***
+	 * @return character offset of the offending token, -1 if unknown
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/***
+	 * @return index of the offending token among non blank tokens, -1 if unknown
+	 */
+	public long getTokenIndex() {
+		return tokenIndex;
+	}
+
+	/***
+	 * @return offending token, null if unknown
+	 */
+	public String getToken() {
+		return token;
 	}
 
 }
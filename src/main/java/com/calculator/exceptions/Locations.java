@@ -0,0 +1,42 @@
+package com.calculator.exceptions;
+
+/***
+ * <p>
+ * Describes where in the input an exception was caused.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+final class Locations {
+
+	private Locations() {
+	}
+
+	/***
+	 * @param message    base message
+	 * @param offset     -1 if unknown
+	 * @param tokenIndex -1 if unknown
+	 * @param token      null if unknown
+	 * @return message followed by known parts of the location
+	 */
+	static String describe(String message, long offset, long tokenIndex, String token) {
+		if (offset < 0 && tokenIndex < 0 && token == null) {
+			return message;
+		}
+		StringBuilder description = new StringBuilder(message);
+		String separator = " (";
+		if (offset >= 0) {
+			description.append(separator).append("at offset ").append(offset);
+			separator = ", ";
+		}
+		if (tokenIndex >= 0) {
+			description.append(separator).append("token ").append(tokenIndex);
+			separator = ", ";
+		}
+		if (token != null) {
+			description.append(separator).append('"').append(token).append('"');
+		}
+		return description.append(')').toString();
+	}
+
+}
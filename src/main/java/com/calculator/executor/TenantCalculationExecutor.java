@@ -0,0 +1,479 @@
+package com.calculator.executor;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import com.calculator.strategies.AbstractCalculationStrategy;
+
+/***
+ * <p>
+ * Runs calculations of one shared strategy on behalf of many tenants, so a
+ * tenant sending huge inputs can't starve the others.
+ *
+ * <ul>
+ * <li>Admission - an input larger than the maximum input size, or submitted
+ * while its tenant already has the maximum number or total size of inputs
+ * queued, is rejected at once with a {@link RejectedExecutionException}
+ * instead of being queued.</li>
+ * <li>Fairness - each input costs its size plus a fixed overhead. It is tagged
+ * with a virtual finish time, its tenant's previous finish time, or the
+ * current virtual time if later, plus its cost divided by the tenant's
+ * weight; inputs are run in order of finish time. A small input of a light
+ * tenant therefore overtakes the queue of a heavy tenant, and over time each
+ * backlogged tenant gets processing in proportion to its weight.</li>
+ * <li>Workers - inputs are run on a work stealing {@link ForkJoinPool} sized
+ * to the number of cores, so a strategy forking parallel work, e.g.
+ * {@link com.calculator.strategies.ScannerCalculationStrategy#calculateParallel(String, ForkJoinPool)}
+ * on {@link #getPool()}, has its subtasks stolen by idle workers.</li>
+ * </ul>
+ *
+ * <p>
+ * State of a tenant is dropped once it has nothing queued and its last finish
+ * time is reached, so tenants which come and go, or rotate their names, don't
+ * grow memory; such a tenant starts afresh at the current virtual time.
+ *
+ * <p>
+ * Results are delivered through {@link CompletableFuture}s; an invalid or
+ * rejected number, or any other failure of the strategy, completes the future
+ * exceptionally. It is thread safe.
+ *
+ * @author gaurav.vishal
+ *
+ * @param <T>
+ */
+public final class TenantCalculationExecutor<T> {
+
+	/***
+	 * Cost of an input on top of its size, so empty inputs aren't free.
+	 */
+	static final long TASK_OVERHEAD = 64;
+
+	/***
+	 * Idle tenants aren't swept below this many tenants.
+	 */
+	private static final int MIN_SWEEP_SIZE = 64;
+
+	private final AbstractCalculationStrategy<T> strategy;
+
+	private final ToLongFunction<T> sizer;
+
+	private final ForkJoinPool pool;
+
+	private final int workers;
+
+	private final long maxInputSize;
+
+	private final int maxQueuedPerTenant;
+
+	private final long maxQueuedSizePerTenant;
+
+	private final Map<String, Integer> weights;
+
+	/***
+	 * Guards all fields below.
+	 */
+	private final Object lock = new Object();
+
+	private final Map<String, Tenant> tenants = new HashMap<>();
+
+	private final PriorityQueue<Task<T>> ready = new PriorityQueue<>();
+
+	private double virtualTime;
+
+	/***
+	 * Latest finish time of a dispatched input, virtual time jumps to it when
+	 * nothing is left queued.
+	 */
+	private double maxFinish;
+
+	/***
+	 * Number of tenants at which idle ones are swept, when a new one arrives.
+	 */
+	private int sweepSize = MIN_SWEEP_SIZE;
+
+	private long sequence;
+
+	private int drainers;
+
+	private boolean shutdown;
+
+	private TenantCalculationExecutor(Builder<T> builder) {
+		this.strategy = builder.strategy;
+		this.sizer = builder.sizer;
+		this.workers = builder.workers;
+		this.pool = new ForkJoinPool(workers, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+		this.maxInputSize = builder.maxInputSize;
+		this.maxQueuedPerTenant = builder.maxQueuedPerTenant;
+		this.maxQueuedSizePerTenant = builder.maxQueuedSizePerTenant;
+		this.weights = new HashMap<>(builder.weights);
+	}
+
+	/***
+	 * @param strategy shared by all tenants
+	 * @param sizer    size of an input, e.g. {@link String#length()}
+	 * @return builder
+	 */
+	public static <T> Builder<T> builder(AbstractCalculationStrategy<T> strategy, ToLongFunction<T> sizer) {
+		return new Builder<>(strategy, sizer);
+	}
+
+	/***
+	 * <p>
+	 * Queues calculation of given input on behalf of given tenant.
+	 *
+	 * @param tenant
+	 * @param input
+	 * @return future of the sum, failed with {@link RejectedExecutionException}
+	 *         if the input isn't admitted
+	 */
+	public CompletableFuture<Integer> submit(String tenant, T input) {
+		if (tenant == null) {
+			throw new RuntimeException("tenant can't be null");
+		}
+		long size = input != null ? sizer.applyAsLong(input) : 0;
+		CompletableFuture<Integer> future = new CompletableFuture<>();
+		boolean startDrainer = false;
+		synchronized (lock) {
+			Tenant state = tenants.get(tenant);
+			if (state == null) {
+				if (tenants.size() >= sweepSize) {
+					sweep();
+				}
+				state = new Tenant(tenant, weights.getOrDefault(tenant, 1));
+				tenants.put(tenant, state);
+			}
+			String rejection = admit(state, size);
+			if (rejection != null) {
+				state.rejected++;
+				evictIfIdle(state);
+				future.completeExceptionally(new RejectedExecutionException(rejection + " for tenant " + tenant));
+				return future;
+			}
+			double start = Math.max(virtualTime, state.lastFinish);
+			state.lastFinish = start + (double) (size + TASK_OVERHEAD) / state.weight;
+			state.queued++;
+			state.queuedSize += size;
+			ready.add(new Task<>(state, input, size, future, start, state.lastFinish, sequence++));
+			if (drainers < workers) {
+				drainers++;
+				startDrainer = true;
+			}
+		}
+		if (startDrainer) {
+			pool.execute(new Drainer());
+		}
+		return future;
+	}
+
+	/***
+	 * @return reason of rejection, null if admitted
+	 */
+	private String admit(Tenant state, long size) {
+		if (shutdown) {
+			return "Executor is shut down";
+		}
+		if (size > maxInputSize) {
+			return "Input of size " + size + " exceeds " + maxInputSize;
+		}
+		if (state.queued >= maxQueuedPerTenant || state.queuedSize + size > maxQueuedSizePerTenant) {
+			return "Queue is full";
+		}
+		return null;
+	}
+
+	/***
+	 * Takes input with earliest finish time, null if none is queued, in which
+	 * case calling drainer stops.
+	 */
+	private Task<T> next() {
+		synchronized (lock) {
+			Task<T> task = ready.poll();
+			if (task == null) {
+				// no one waits, so no one's share is lost by moving on
+				virtualTime = Math.max(virtualTime, maxFinish);
+				drainers--;
+				if (shutdown && drainers == 0) {
+					pool.shutdown();
+				}
+				return null;
+			}
+			virtualTime = Math.max(virtualTime, task.start);
+			maxFinish = Math.max(maxFinish, task.finish);
+			task.tenant.queued--;
+			task.tenant.queuedSize -= task.size;
+			evictIfIdle(task.tenant);
+			return task;
+		}
+	}
+
+	/***
+	 * Drops state of given tenant if it is idle, under the lock.
+	 */
+	private void evictIfIdle(Tenant state) {
+		if (state.isIdle(virtualTime)) {
+			tenants.remove(state.name);
+		}
+	}
+
+	/***
+	 * Drops state of all idle tenants, under the lock, and sets the next sweep
+	 * size to twice the remaining tenants, so sweeps cost amortized constant
+	 * time per new tenant.
+	 */
+	private void sweep() {
+		Iterator<Tenant> states = tenants.values().iterator();
+		while (states.hasNext()) {
+			if (states.next().isIdle(virtualTime)) {
+				states.remove();
+			}
+		}
+		sweepSize = Math.max(MIN_SWEEP_SIZE, 2 * tenants.size());
+	}
+
+	/***
+	 * Completes the future of given task, whatever the strategy throws, so
+	 * neither the caller nor the drainer is left hanging.
+	 */
+	private void run(Task<T> task) {
+		if (task.future.isDone()) {
+			return;
+		}
+		try {
+			task.future.complete(strategy.calculate(task.input));
+		} catch (Throwable ex) {
+			task.future.completeExceptionally(ex);
+		}
+	}
+
+	/***
+	 * @param tenant
+	 * @return number of queued inputs of given tenant
+	 */
+	public int getQueuedCount(String tenant) {
+		synchronized (lock) {
+			Tenant state = tenants.get(tenant);
+			return state != null ? state.queued : 0;
+		}
+	}
+
+	/***
+	 * @param tenant
+	 * @return number of inputs of given tenant rejected since it last became
+	 *         active, as state of idle tenants is dropped
+	 */
+	public long getRejectedCount(String tenant) {
+		synchronized (lock) {
+			Tenant state = tenants.get(tenant);
+			return state != null ? state.rejected : 0;
+		}
+	}
+
+	/***
+	 * @return number of tenants whose state is kept
+	 */
+	int getTenantCount() {
+		synchronized (lock) {
+			return tenants.size();
+		}
+	}
+
+	/***
+	 * @return pool running the calculations
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/***
+	 * Rejects further inputs; queued ones are still calculated, then the pool
+	 * is shut down.
+	 */
+	public void shutdown() {
+		synchronized (lock) {
+			shutdown = true;
+			if (drainers == 0) {
+				pool.shutdown();
+			}
+		}
+	}
+
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return pool.awaitTermination(timeout, unit);
+	}
+
+	/***
+	 * Runs queued inputs until none is left; at most one per worker.
+	 */
+	private final class Drainer implements Runnable {
+
+		@Override
+		public void run() {
+			Task<T> task;
+			while ((task = next()) != null) {
+				TenantCalculationExecutor.this.run(task);
+			}
+		}
+
+	}
+
+	private static final class Tenant {
+
+		private final String name;
+
+		private final int weight;
+
+		private double lastFinish;
+
+		private int queued;
+
+		private long queuedSize;
+
+		private long rejected;
+
+		private Tenant(String name, int weight) {
+			this.name = name;
+			this.weight = weight;
+		}
+
+		/***
+		 * @return true if nothing is queued and a new input would start at given
+		 *         virtual time anyway
+		 */
+		private boolean isIdle(double virtualTime) {
+			return queued == 0 && lastFinish <= virtualTime;
+		}
+
+	}
+
+	private static final class Task<T> implements Comparable<Task<T>> {
+
+		private final Tenant tenant;
+
+		private final T input;
+
+		private final long size;
+
+		private final CompletableFuture<Integer> future;
+
+		private final double start;
+
+		private final double finish;
+
+		/***
+		 * Breaks ties in order of submission.
+		 */
+		private final long sequence;
+
+		private Task(Tenant tenant, T input, long size, CompletableFuture<Integer> future, double start, double finish,
+				long sequence) {
+			this.tenant = tenant;
+			this.input = input;
+			this.size = size;
+			this.future = future;
+			this.start = start;
+			this.finish = finish;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Task<T> other) {
+			int byFinish = Double.compare(finish, other.finish);
+			return byFinish != 0 ? byFinish : Long.compare(sequence, other.sequence);
+		}
+
+	}
+
+	/***
+	 * <p>
+	 * Configures a {@link TenantCalculationExecutor}. It is not thread safe.
+	 */
+	public static final class Builder<T> {
+
+		private final AbstractCalculationStrategy<T> strategy;
+
+		private final ToLongFunction<T> sizer;
+
+		private int workers = Runtime.getRuntime().availableProcessors();
+
+		private long maxInputSize = Long.MAX_VALUE;
+
+		private int maxQueuedPerTenant = 1024;
+
+		private long maxQueuedSizePerTenant = Long.MAX_VALUE;
+
+		private final Map<String, Integer> weights = new HashMap<>();
+
+		private Builder(AbstractCalculationStrategy<T> strategy, ToLongFunction<T> sizer) {
+			if (strategy == null || sizer == null) {
+				throw new IllegalArgumentException("strategy and sizer can't be null");
+			}
+			this.strategy = strategy;
+			this.sizer = sizer;
+		}
+
+		/***
+		 * @param workers number of worker threads, number of cores by default
+		 * @return this builder
+		 */
+		public Builder<T> workers(int workers) {
+			if (workers <= 0) {
+				throw new IllegalArgumentException("workers must be positive");
+			}
+			this.workers = workers;
+			return this;
+		}
+
+		/***
+		 * @param maxInputSize larger inputs are rejected, unbounded by default
+		 * @return this builder
+		 */
+		public Builder<T> maxInputSize(long maxInputSize) {
+			if (maxInputSize < 0) {
+				throw new IllegalArgumentException("maxInputSize can't be negative");
+			}
+			this.maxInputSize = maxInputSize;
+			return this;
+		}
+
+		/***
+		 * @param maxQueued     inputs queued per tenant, 1024 by default
+		 * @param maxQueuedSize total size of inputs queued per tenant, unbounded
+		 *                      by default
+		 * @return this builder
+		 */
+		public Builder<T> maxQueued(int maxQueued, long maxQueuedSize) {
+			if (maxQueued <= 0 || maxQueuedSize <= 0) {
+				throw new IllegalArgumentException("maxQueued and maxQueuedSize must be positive");
+			}
+			this.maxQueuedPerTenant = maxQueued;
+			this.maxQueuedSizePerTenant = maxQueuedSize;
+			return this;
+		}
+
+		/***
+		 * @param tenant
+		 * @param weight share of the tenant relative to others, 1 by default
+		 * @return this builder
+		 */
+		public Builder<T> weight(String tenant, int weight) {
+			if (tenant == null || weight <= 0) {
+				throw new IllegalArgumentException("tenant can't be null and weight must be positive");
+			}
+			weights.put(tenant, weight);
+			return this;
+		}
+
+		public TenantCalculationExecutor<T> build() {
+			return new TenantCalculationExecutor<>(this);
+		}
+
+	}
+
+}
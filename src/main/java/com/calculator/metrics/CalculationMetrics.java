@@ -0,0 +1,59 @@
+package com.calculator.metrics;
+
+/***
+ * <p>
+ * Metrics SPI of one calculation strategy. Implementations are called on the
+ * hot path, from many threads at once, so recording should be cheap and non
+ * blocking, e.g. striped counters like
+ * {@link java.util.concurrent.atomic.LongAdder}.
+ * 
+ * <p>
+ * Implementations are created through a {@link MetricsFactory}, see
+ * {@link Instrumentation#getFactory()}.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public interface CalculationMetrics {
+
+	/***
+	 * Records one calculation, failed or not.
+	 * 
+	 * @param latencyNanos
+	 * @param inputSize    e.g. length of the input
+	 */
+	void recordCall(long latencyNanos, long inputSize);
+
+	/***
+	 * Records number of parsed tokens of one calculation.
+	 * 
+	 * @param tokens
+	 */
+	void recordTokens(long tokens);
+
+	/***
+	 * Records number of tokens ignored by a rule in one calculation.
+	 * 
+	 * @param rule  index of the rule in its
+	 *              {@link com.calculator.rules.RuleSet}
+	 * @param count
+	 */
+	void recordFiltered(int rule, long count);
+
+	/***
+	 * Records a calculation failed with given exception.
+	 * 
+	 * @param type
+	 */
+	void recordException(Class<? extends Throwable> type);
+
+	/***
+	 * Records the execution path an adaptive strategy chose for one calculation,
+	 * e.g. <code>PARALLEL</code>. Ignored by default.
+	 * 
+	 * @param path
+	 */
+	default void recordPath(String path) {
+	}
+
+}
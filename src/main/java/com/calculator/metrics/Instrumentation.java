@@ -0,0 +1,46 @@
+package com.calculator.metrics;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/***
+ * <p>
+ * Switch of the instrumentation layer, read once from system property
+ * <code>calculator.metrics.enabled</code>. As {@link #ENABLED} is a constant,
+ * the JIT compiler removes guarded recording code entirely when it is false.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class Instrumentation {
+
+	public static final String ENABLED_PROPERTY = "calculator.metrics.enabled";
+
+	public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	private static volatile MetricsFactory factory;
+
+	private Instrumentation() {
+	}
+
+	/***
+	 * @return first {@link MetricsFactory} found by
+	 *         {@link java.util.ServiceLoader}, {@link JmxMetricsFactory}
+	 *         otherwise
+	 */
+	public static MetricsFactory getFactory() {
+		MetricsFactory current = factory;
+		if (current == null) {
+			synchronized (Instrumentation.class) {
+				current = factory;
+				if (current == null) {
+					Iterator<MetricsFactory> loaded = ServiceLoader.load(MetricsFactory.class).iterator();
+					current = loaded.hasNext() ? loaded.next() : new JmxMetricsFactory();
+					factory = current;
+				}
+			}
+		}
+		return current;
+	}
+
+}
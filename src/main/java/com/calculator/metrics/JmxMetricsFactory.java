@@ -0,0 +1,46 @@
+package com.calculator.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/***
+ * <p>
+ * Default {@link MetricsFactory}, creates {@link StrategyMetrics} and
+ * registers them on the platform MBean server as
+ * <code>com.calculator:type=StrategyMetrics,name=&lt;strategy&gt;</code>. A
+ * strategy created again under the same name replaces the registered one.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class JmxMetricsFactory implements MetricsFactory {
+
+	static final String DOMAIN = "com.calculator";
+
+	@Override
+	public CalculationMetrics create(String strategyName, List<String> ruleNames) {
+		StrategyMetrics metrics = new StrategyMetrics(strategyName, ruleNames);
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName name = objectName(strategyName);
+			synchronized (this) {
+				if (server.isRegistered(name)) {
+					server.unregisterMBean(name);
+				}
+				server.registerMBean(metrics, name);
+			}
+		} catch (JMException ex) {
+			throw new IllegalStateException("Metrics of " + strategyName + " can't be registered", ex);
+		}
+		return metrics;
+	}
+
+	static ObjectName objectName(String strategyName) throws JMException {
+		return new ObjectName(DOMAIN + ":type=StrategyMetrics,name=" + ObjectName.quote(strategyName));
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.calculator.metrics;
+
+import java.util.List;
+
+/***
+ * <p>
+ * Creates {@link CalculationMetrics} of a strategy. Implementations are
+ * plugged in through {@link java.util.ServiceLoader}, by listing them in
+ * <code>META-INF/services/com.calculator.metrics.MetricsFactory</code>;
+ * without one, {@link JmxMetricsFactory} is used.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public interface MetricsFactory {
+
+	/***
+	 * @param strategyName unique name of the strategy, e.g. its input type
+	 * @param ruleNames    rules of the strategy, in order
+	 * @return metrics
+	 */
+	CalculationMetrics create(String strategyName, List<String> ruleNames);
+
+}
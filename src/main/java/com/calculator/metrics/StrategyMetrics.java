@@ -0,0 +1,192 @@
+package com.calculator.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * <p>
+ * Default {@link CalculationMetrics}, recording into {@link LongAdder}s and
+ * {@link Histogram}s and exposed as {@link StrategyMetricsMXBean}.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class StrategyMetrics implements CalculationMetrics, StrategyMetricsMXBean {
+
+	private final String strategyName;
+
+	private final List<String> ruleNames;
+
+	private final LongAdder calls = new LongAdder();
+
+	private final LongAdder tokens = new LongAdder();
+
+	private final Histogram latency = new Histogram();
+
+	private final Histogram inputSize = new Histogram();
+
+	private final LongAdder[] filtered;
+
+	private final ConcurrentMap<Class<? extends Throwable>, LongAdder> exceptions = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, LongAdder> paths = new ConcurrentHashMap<>();
+
+	/***
+	 * @param strategyName
+	 * @param ruleNames    rules of the strategy, in order
+	 */
+	public StrategyMetrics(String strategyName, List<String> ruleNames) {
+		this.strategyName = strategyName;
+		this.ruleNames = new ArrayList<>(ruleNames);
+		this.filtered = new LongAdder[ruleNames.size()];
+		for (int i = 0; i < filtered.length; i++) {
+			filtered[i] = new LongAdder();
+		}
+	}
+
+	@Override
+	public void recordCall(long latencyNanos, long inputSize) {
+		calls.increment();
+		latency.record(latencyNanos);
+		this.inputSize.record(inputSize);
+	}
+
+	@Override
+	public void recordTokens(long tokens) {
+		this.tokens.add(tokens);
+	}
+
+	@Override
+	public void recordFiltered(int rule, long count) {
+		if (rule >= 0 && rule < filtered.length) {
+			filtered[rule].add(count);
+		}
+	}
+
+	@Override
+	public void recordException(Class<? extends Throwable> type) {
+		LongAdder counter = exceptions.get(type);
+		if (counter == null) {
+			counter = exceptions.computeIfAbsent(type, key -> new LongAdder());
+		}
+		counter.increment();
+	}
+
+	@Override
+	public void recordPath(String path) {
+		LongAdder counter = paths.get(path);
+		if (counter == null) {
+			counter = paths.computeIfAbsent(path, key -> new LongAdder());
+		}
+		counter.increment();
+	}
+
+	@Override
+	public String getStrategyName() {
+		return strategyName;
+	}
+
+	@Override
+	public long getCallCount() {
+		return calls.sum();
+	}
+
+	@Override
+	public long getTokenCount() {
+		return tokens.sum();
+	}
+
+	@Override
+	public double getLatencyMeanNanos() {
+		return latency.getMean();
+	}
+
+	@Override
+	public long getLatencyP50Nanos() {
+		return latency.getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getLatencyP99Nanos() {
+		return latency.getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getLatencyP999Nanos() {
+		return latency.getValueAtPercentile(99.9);
+	}
+
+	@Override
+	public long getLatencyMaxNanos() {
+		return latency.getMax();
+	}
+
+	@Override
+	public double getInputSizeMean() {
+		return inputSize.getMean();
+	}
+
+	@Override
+	public long getInputSizeP50() {
+		return inputSize.getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getInputSizeP99() {
+		return inputSize.getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getInputSizeMax() {
+		return inputSize.getMax();
+	}
+
+	@Override
+	public Map<String, Long> getFilteredCounts() {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		for (int i = 0; i < filtered.length; i++) {
+			counts.merge(ruleNames.get(i), filtered[i].sum(), Long::sum);
+		}
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getExceptionCounts() {
+		Map<String, Long> counts = new TreeMap<>();
+		exceptions.forEach((type, counter) -> counts.put(type.getName(), counter.sum()));
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getPathCounts() {
+		Map<String, Long> counts = new TreeMap<>();
+		paths.forEach((path, counter) -> counts.put(path, counter.sum()));
+		return counts;
+	}
+
+	@Override
+	public void reset() {
+		calls.reset();
+		tokens.reset();
+		latency.reset();
+		inputSize.reset();
+		for (LongAdder counter : filtered) {
+			counter.reset();
+		}
+		exceptions.clear();
+		paths.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "StrategyMetrics[" + strategyName + ", calls=" + getCallCount() + ", tokens=" + getTokenCount()
+				+ ", p99=" + getLatencyP99Nanos() + "ns, exceptions=" + getExceptionCounts() + "]";
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.calculator.metrics;
+
+import java.util.Map;
+
+/***
+ * <p>
+ * Management interface of {@link StrategyMetrics}, registered by
+ * {@link JmxMetricsFactory}.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public interface StrategyMetricsMXBean {
+
+	String getStrategyName();
+
+	long getCallCount();
+
+	long getTokenCount();
+
+	double getLatencyMeanNanos();
+
+	long getLatencyP50Nanos();
+
+	long getLatencyP99Nanos();
+
+	long getLatencyP999Nanos();
+
+	long getLatencyMaxNanos();
+
+	double getInputSizeMean();
+
+	long getInputSizeP50();
+
+	long getInputSizeP99();
+
+	long getInputSizeMax();
+
+	/***
+	 * @return number of ignored tokens by rule name
+	 */
+	Map<String, Long> getFilteredCounts();
+
+	/***
+	 * @return number of failed calls by exception class name
+	 */
+	Map<String, Long> getExceptionCounts();
+
+	/***
+	 * @return number of calls by execution path, empty unless the strategy is
+	 *         adaptive
+	 */
+	Map<String, Long> getPathCounts();
+
+	void reset();
+
+}
@@ -0,0 +1,77 @@
+package com.calculator.metrics;
+
+import java.util.Arrays;
+
+/***
+ * <p>
+ * Plain, per thread token counters of the calculation running on the current
+ * thread. Scanners count into them without any synchronization and the
+ * instrumented strategy reports them once per call, so a calculation pays a
+ * few increments per token instead of a shared counter update.
+ * 
+ * <p>
+ * Tokens scanned on other threads, e.g. chunks of a memory mapped file, are
+ * not counted.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class TokenCounters {
+
+	private static final ThreadLocal<TokenCounters> CURRENT = ThreadLocal.withInitial(TokenCounters::new);
+
+	private long tokens;
+
+	private long[] filtered = new long[4];
+
+	private int rules;
+
+	private TokenCounters() {
+	}
+
+	/***
+	 * @return counters of current thread
+	 */
+	public static TokenCounters current() {
+		return CURRENT.get();
+	}
+
+	/***
+	 * Counts a parsed token.
+	 * 
+	 * @param rule index of the rule which ignored it, -1 if it was kept
+	 */
+	public void token(int rule) {
+		tokens++;
+		if (rule >= 0) {
+			if (rule >= filtered.length) {
+				filtered = Arrays.copyOf(filtered, Math.max(rule + 1, filtered.length * 2));
+			}
+			filtered[rule]++;
+			rules = Math.max(rules, rule + 1);
+		}
+	}
+
+	public long getTokens() {
+		return tokens;
+	}
+
+	/***
+	 * @return one more than the highest index of a rule which ignored a token
+	 *         since last reset
+	 */
+	public int getRuleCount() {
+		return rules;
+	}
+
+	public long getFiltered(int rule) {
+		return rule < rules ? filtered[rule] : 0;
+	}
+
+	public void reset() {
+		tokens = 0;
+		Arrays.fill(filtered, 0, rules, 0);
+		rules = 0;
+	}
+
+}
@@ -0,0 +1,521 @@
+package com.calculator.reactive;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.calculator.rules.RuleSet;
+import com.calculator.strategies.NumberScanner;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * Reactive Streams processor which subscribes to a publisher of text chunks,
+ * scans them as one continuous input, so numbers may cross chunk boundaries,
+ * and publishes sums:
+ *
+ * <ul>
+ * <li>running - total of all completed numbers after every chunk, the
+ * default</li>
+ * <li>count windows - sum of the numbers completed within every given number
+ * of chunks</li>
+ * <li>time windows - sum of the numbers completed within every period</li>
+ * </ul>
+ *
+ * <p>
+ * A number belongs to the window in which it is completed. On completion the
+ * pending number is completed and the last window is emitted, unless it is
+ * empty and a window was already emitted.
+ *
+ * <p>
+ * Demand is batched: chunks are requested in batches of three quarters of the
+ * prefetch, and only while fewer sums than the prefetch wait for the
+ * subscriber, so a slow subscriber slows down the publisher. Time windows are
+ * closed regardless of demand; when twice the prefetch of them wait for the
+ * subscriber, the stream fails with an {@link IllegalStateException}.
+ *
+ * <p>
+ * An invalid or rejected number fails the stream with its
+ * {@link com.calculator.exceptions.InvalidDelimiterException} or
+ * {@link com.calculator.exceptions.UnsupportedNumberException}, after the sums
+ * preceding it; with {@link Builder#skipInvalid()} it is skipped and counted
+ * instead. A total which doesn't fit into a long fails the stream with an
+ * {@link ArithmeticException}.
+ *
+ * <p>
+ * Reactive Streams interfaces are same as {@link java.util.concurrent.Flow} of
+ * Java 9, which this library doesn't require; <code>FlowAdapters</code> of
+ * Reactive Streams turns the processor into a <code>Flow.Processor</code>. It
+ * accepts one subscriber.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class CalculationProcessor implements Processor<String, Long> {
+
+	static final int DEFAULT_PREFETCH = 128;
+
+	private final NumberScanner scanner;
+
+	/***
+	 * Chunks per window, 1 when running, 0 for time windows.
+	 */
+	private final int windowChunks;
+
+	/***
+	 * True to emit totals instead of sums of windows.
+	 */
+	private final boolean running;
+
+	private final ScheduledExecutorService scheduler;
+
+	private final long period;
+
+	private final TimeUnit unit;
+
+	private final int prefetch;
+
+	/***
+	 * Number of received chunks which triggers the next request.
+	 */
+	private final int limit;
+
+	/***
+	 * Guards scanner and window state, chunks and timer ticks arrive on
+	 * different threads.
+	 */
+	private final Object lock = new Object();
+
+	private int chunks;
+
+	private long windowStart;
+
+	private boolean closedAny;
+
+	private boolean finished;
+
+	private final Queue<Long> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final AtomicLong requested = new AtomicLong();
+
+	private final AtomicInteger consumed = new AtomicInteger();
+
+	private final AtomicInteger wip = new AtomicInteger();
+
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	private volatile Subscription upstream;
+
+	private volatile Subscriber<? super Long> downstream;
+
+	private volatile ScheduledFuture<?> tick;
+
+	private volatile boolean done;
+
+	private volatile boolean cancelled;
+
+	private volatile Throwable error;
+
+	/***
+	 * Set once subscriber got its terminal signal, only touched by drain.
+	 */
+	private boolean terminated;
+
+	private CalculationProcessor(Builder builder) {
+		this.scanner = new NumberScanner(builder.delimiterSet, builder.rules, false, builder.skipInvalid);
+		this.running = builder.scheduler == null && builder.windowChunks == 0;
+		this.windowChunks = builder.scheduler != null ? 0 : running ? 1 : builder.windowChunks;
+		this.scheduler = builder.scheduler;
+		this.period = builder.period;
+		this.unit = builder.unit;
+		this.prefetch = builder.prefetch;
+		this.limit = Math.max(1, prefetch - (prefetch >> 2));
+	}
+
+	/***
+	 * @param delimiters delimiters exposing their separator
+	 * @return builder of a processor emitting running totals
+	 * @throws UnsupportedOperationException if delimiters can't be compiled
+	 */
+	public static Builder builder(List<Delimiter<String>> delimiters) {
+		return new Builder(delimiters);
+	}
+
+	@Override
+	public void onSubscribe(Subscription subscription) {
+		Objects.requireNonNull(subscription, "subscription can't be null");
+		if (upstream != null || cancelled || done) {
+			subscription.cancel();
+			return;
+		}
+		upstream = subscription;
+		if (scheduler != null) {
+			tick = scheduler.scheduleAtFixedRate(this::closeTimeWindow, period, period, unit);
+		}
+		subscription.request(prefetch);
+	}
+
+	@Override
+	public void onNext(String chunk) {
+		Objects.requireNonNull(chunk, "chunk can't be null");
+		try {
+			synchronized (lock) {
+				if (finished) {
+					return;
+				}
+				scanner.scan(chunk);
+				if (windowChunks > 0 && ++chunks == windowChunks) {
+					closeWindow();
+				}
+			}
+		} catch (RuntimeException ex) {
+			fail(ex);
+			return;
+		}
+		consumed.incrementAndGet();
+		drain();
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		Objects.requireNonNull(throwable, "throwable can't be null");
+		fail(throwable);
+	}
+
+	@Override
+	public void onComplete() {
+		try {
+			synchronized (lock) {
+				if (finished) {
+					return;
+				}
+				scanner.separate();
+				long total = scanner.getSum().longValueExact();
+				if (scheduler != null || chunks > 0 || total != windowStart || !closedAny) {
+					closeWindow();
+				}
+				finished = true;
+			}
+		} catch (RuntimeException ex) {
+			fail(ex);
+			return;
+		}
+		cancelTick();
+		done = true;
+		drain();
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super Long> subscriber) {
+		Objects.requireNonNull(subscriber, "subscriber can't be null");
+		if (!subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new Subscription() {
+
+				@Override
+				public void request(long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+
+			});
+			subscriber.onError(new IllegalStateException("CalculationProcessor allows only one subscriber"));
+			return;
+		}
+		subscriber.onSubscribe(new Downstream());
+		downstream = subscriber;
+		drain();
+	}
+
+	/***
+	 * @return number of invalid and rejected numbers skipped so far
+	 */
+	public long getSkippedCount() {
+		synchronized (lock) {
+			return scanner.getSkippedCount();
+		}
+	}
+
+	private void closeTimeWindow() {
+		try {
+			synchronized (lock) {
+				if (finished) {
+					return;
+				}
+				closeWindow();
+			}
+		} catch (RuntimeException ex) {
+			fail(ex);
+			return;
+		}
+		drain();
+	}
+
+	/***
+	 * Queues sum of current window, or total when running. Called with lock
+	 * held.
+	 */
+	private void closeWindow() {
+		long total = scanner.getSum().longValueExact();
+		if (scheduler != null && queued.get() >= 2 * prefetch) {
+			throw new IllegalStateException("Subscriber can't keep up with time windows");
+		}
+		queue.offer(running ? total : total - windowStart);
+		queued.incrementAndGet();
+		windowStart = total;
+		chunks = 0;
+		closedAny = true;
+	}
+
+	private void fail(Throwable throwable) {
+		synchronized (lock) {
+			if (finished) {
+				return;
+			}
+			finished = true;
+		}
+		error = throwable;
+		cancelTick();
+		Subscription subscription = upstream;
+		if (subscription != null) {
+			subscription.cancel();
+		}
+		done = true;
+		drain();
+	}
+
+	private void cancelTick() {
+		ScheduledFuture<?> future = tick;
+		if (future != null) {
+			future.cancel(false);
+		}
+	}
+
+	/***
+	 * Emits queued sums as far as demand allows, then the terminal signal, and
+	 * requests next batch of chunks. Runs on one thread at a time, whichever
+	 * signal triggered it; signals arriving meanwhile make it loop again.
+	 */
+	private void drain() {
+		if (wip.getAndIncrement() != 0) {
+			return;
+		}
+		int missed = 1;
+		do {
+			Subscriber<? super Long> subscriber = downstream;
+			if (subscriber != null && !terminated) {
+				long demand = requested.get();
+				long emitted = 0;
+				while (emitted != demand) {
+					if (cancelled) {
+						queue.clear();
+						return;
+					}
+					boolean isDone = done;
+					Long sum = queue.poll();
+					if (sum == null) {
+						if (isDone) {
+							terminate(subscriber);
+							return;
+						}
+						break;
+					}
+					queued.decrementAndGet();
+					subscriber.onNext(sum);
+					emitted++;
+				}
+				if (cancelled) {
+					queue.clear();
+					return;
+				}
+				if (done && queue.isEmpty()) {
+					terminate(subscriber);
+					return;
+				}
+				if (emitted != 0 && demand != Long.MAX_VALUE) {
+					requested.addAndGet(-emitted);
+				}
+			}
+			replenish();
+			missed = wip.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+	private void terminate(Subscriber<? super Long> subscriber) {
+		terminated = true;
+		Throwable throwable = error;
+		if (throwable != null) {
+			subscriber.onError(throwable);
+		} else {
+			subscriber.onComplete();
+		}
+	}
+
+	private void replenish() {
+		Subscription subscription = upstream;
+		if (subscription == null || done || cancelled || queued.get() >= prefetch) {
+			return;
+		}
+		int received = consumed.get();
+		if (received >= limit) {
+			consumed.addAndGet(-received);
+			subscription.request(received);
+		}
+	}
+
+	/***
+	 * Subscription handed to the subscriber of sums.
+	 */
+	private final class Downstream implements Subscription {
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				fail(new IllegalArgumentException("Requested number of sums must be positive"));
+				return;
+			}
+			long current;
+			long next;
+			do {
+				current = requested.get();
+				next = current + n < 0 ? Long.MAX_VALUE : current + n;
+			} while (!requested.compareAndSet(current, next));
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			cancelTick();
+			Subscription subscription = upstream;
+			if (subscription != null) {
+				subscription.cancel();
+			}
+			drain();
+		}
+
+	}
+
+	/***
+	 * <p>
+	 * Configures a processor. It is not thread safe.
+	 */
+	public static final class Builder {
+
+		private final DelimiterSet delimiterSet;
+
+		private RuleSet rules = RuleSet.DEFAULT;
+
+		private int windowChunks;
+
+		private ScheduledExecutorService scheduler;
+
+		private long period;
+
+		private TimeUnit unit;
+
+		private boolean skipInvalid;
+
+		private int prefetch = DEFAULT_PREFETCH;
+
+		private Builder(List<Delimiter<String>> delimiters) {
+			if (delimiters == null || delimiters.isEmpty()) {
+				throw new RuntimeException("delimiters can't be null or empty");
+			}
+			if (!DelimiterSet.canCompile(delimiters)) {
+				throw new UnsupportedOperationException("Reactive calculation needs delimiters exposing their separator");
+			}
+			this.delimiterSet = DelimiterSet.compile(delimiters);
+		}
+
+		/***
+		 * @param rules applied to every number, {@link RuleSet#DEFAULT} if not set
+		 * @return this builder
+		 */
+		public Builder rules(RuleSet rules) {
+			this.rules = Objects.requireNonNull(rules);
+			return this;
+		}
+
+		/***
+		 * Emits sum of every given number of chunks instead of running totals.
+		 *
+		 * @param chunks positive
+		 * @return this builder
+		 */
+		public Builder windowByCount(int chunks) {
+			if (chunks <= 0) {
+				throw new IllegalArgumentException("chunks must be positive");
+			}
+			this.windowChunks = chunks;
+			this.scheduler = null;
+			return this;
+		}
+
+		/***
+		 * Emits sum of every period instead of running totals.
+		 *
+		 * @param period    positive
+		 * @param unit
+		 * @param scheduler closes the windows, owned by the caller
+		 * @return this builder
+		 */
+		public Builder windowByTime(long period, TimeUnit unit, ScheduledExecutorService scheduler) {
+			if (period <= 0) {
+				throw new IllegalArgumentException("period must be positive");
+			}
+			this.period = period;
+			this.unit = Objects.requireNonNull(unit);
+			this.scheduler = Objects.requireNonNull(scheduler);
+			this.windowChunks = 0;
+			return this;
+		}
+
+		/***
+		 * Skips and counts invalid and rejected numbers instead of failing the
+		 * stream, see {@link CalculationProcessor#getSkippedCount()}.
+		 *
+		 * @return this builder
+		 */
+		public Builder skipInvalid() {
+			this.skipInvalid = true;
+			return this;
+		}
+
+		/***
+		 * @param prefetch number of chunks requested ahead, positive
+		 * @return this builder
+		 */
+		public Builder prefetch(int prefetch) {
+			if (prefetch <= 0) {
+				throw new IllegalArgumentException("prefetch must be positive");
+			}
+			this.prefetch = prefetch;
+			return this;
+		}
+
+		public CalculationProcessor build() {
+			return new CalculationProcessor(this);
+		}
+
+	}
+
+}
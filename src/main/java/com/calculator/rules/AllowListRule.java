@@ -0,0 +1,33 @@
+package com.calculator.rules;
+
+import java.util.Arrays;
+
+/***
+ * <p>
+ * Keeps only the listed numbers, every other number is ignored.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+final class AllowListRule implements NumberRule {
+
+	/***
+	 * Sorted, distinct numbers.
+	 */
+	private final int[] allowed;
+
+	AllowListRule(int... allowed) {
+		this.allowed = Arrays.stream(allowed).sorted().distinct().toArray();
+	}
+
+	@Override
+	public boolean accept(int number) {
+		return Arrays.binarySearch(allowed, number) >= 0;
+	}
+
+	@Override
+	public String toString() {
+		return "allow(" + allowed.length + " numbers)";
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.calculator.rules;
+
+/***
+ * <p>
+ * Keeps numbers whose floor modulus by the divisor equals the remainder, every
+ * other number is ignored. A power of two divisor is tested with a bit mask.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+final class ModulusRule implements NumberRule {
+
+	private final int divisor;
+
+	private final int remainder;
+
+	/***
+	 * divisor - 1 if divisor is a power of two, -1 otherwise.
+	 */
+	private final int mask;
+
+	ModulusRule(int divisor, int remainder) {
+		if (divisor <= 0) {
+			throw new IllegalArgumentException("divisor must be positive");
+		}
+		if (remainder < 0 || remainder >= divisor) {
+			throw new IllegalArgumentException("remainder must be in range [0, divisor)");
+		}
+		this.divisor = divisor;
+		this.remainder = remainder;
+		this.mask = Integer.bitCount(divisor) == 1 ? divisor - 1 : -1;
+	}
+
+	@Override
+	public boolean accept(int number) {
+		if (mask >= 0) {
+			return (number & mask) == remainder;
+		}
+		return Math.floorMod(number, divisor) == remainder;
+	}
+
+	@Override
+	public String toString() {
+		return "modulus(" + divisor + ", " + remainder + ")";
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.calculator.rules;
+
+/***
+ * <p>
+ * A business rule applied to every parsed number before it is summed. A rule
+ * keeps a number, ignores it or rejects the whole input by throwing
+ * {@link com.calculator.exceptions.UnsupportedNumberException}.
+ * 
+ * <p>
+ * Rules are composed and compiled through {@link RuleSet#builder()};
+ * implementations must be thread safe.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+@FunctionalInterface
+public interface NumberRule {
+
+	/***
+	 * @param number
+	 * @return true to keep the number, false to ignore it
+	 * @throws com.calculator.exceptions.UnsupportedNumberException to reject it
+	 */
+	boolean accept(int number);
+
+}
@@ -0,0 +1,72 @@
+package com.calculator.rules;
+
+import com.calculator.exceptions.UnsupportedNumberException;
+
+/***
+ * <p>
+ * Keeps numbers of range [low, high], numbers outside of it are ignored or
+ * rejected. Range rules of a {@link RuleSet} are folded into one range.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+final class RangeRule implements NumberRule {
+
+	private final int low;
+
+	private final int high;
+
+	/***
+	 * Message of the thrown exception, null to ignore numbers out of range.
+	 */
+	private final String rejectMessage;
+
+	RangeRule(int low, int high, String rejectMessage) {
+		this.low = low;
+		this.high = high;
+		this.rejectMessage = rejectMessage;
+	}
+
+	@Override
+	public boolean accept(int number) {
+		if (number >= low && number <= high) {
+			return true;
+		}
+		if (rejectMessage != null) {
+			throw new UnsupportedNumberException(rejectMessage);
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		String action = rejectMessage != null ? "reject" : "ignore";
+		if (low == Integer.MIN_VALUE) {
+			return action + "Above(" + high + ")";
+		}
+		if (high == Integer.MAX_VALUE) {
+			return action + "Below(" + low + ")";
+		}
+		return action + "Outside(" + low + ", " + high + ")";
+	}
+
+	/***
+	 * @return true if given number is outside of the range and rejected
+	 */
+	boolean rejects(int number) {
+		return rejectMessage != null && (number < low || number > high);
+	}
+
+	String getRejectMessage() {
+		return rejectMessage;
+	}
+
+	int getLow() {
+		return low;
+	}
+
+	int getHigh() {
+		return high;
+	}
+
+}
@@ -0,0 +1,318 @@
+package com.calculator.rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/***
+ * <p>
+ * Ordered rules compiled into one fused check. Numbers are tested by rules in
+ * the order they were added; the first rule ignoring or rejecting a number
+ * decides, same as a chain of {@link java.util.stream.IntStream#filter}
+ * stages.
+ *
+ * <p>
+ * All range rules, e.g. ignore above N or reject below M, are folded into one
+ * range tested by a single unsigned comparison. A number inside of it passes
+ * every range rule, so only the remaining rules, if any, are tested. A number
+ * outside of it goes through the whole chain in order, hence the rule deciding
+ * to ignore or reject it is same as without folding. With range rules only,
+ * the cost per number doesn't grow with the number of rules.
+ *
+ * <p>
+ * A set is immutable and thread safe, so one compiled set can be shared, e.g.
+ * per tenant through {@link RuleSetCache}.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class RuleSet implements NumberRule {
+
+	public static final String NEGATIVE_NUMBER_MESSAGE = "Negative numbers are not supported";
+
+	/***
+	 * Returned by {@link #check(int)} for a number rejected by a range rule.
+	 */
+	public static final int REJECTED = -2;
+
+	/***
+	 * Rules of {@link com.calculator.strategies.StringCalculationStrategy}:
+	 * numbers greater than 100 are ignored and negative numbers are rejected.
+	 */
+	public static final RuleSet DEFAULT = builder().ignoreAbove(100).rejectBelow(0).build();
+
+	private final NumberRule[] rules;
+
+	/***
+	 * Rules which aren't folded into the range.
+	 */
+	private final NumberRule[] residual;
+
+	/***
+	 * Index of each residual rule in {@link #rules}.
+	 */
+	private final int[] residualIndexes;
+
+	private final int low;
+
+	/***
+	 * high - low, compared unsigned.
+	 */
+	private final int span;
+
+	/***
+	 * True if folded range has no number, all numbers go through the chain.
+	 */
+	private final boolean emptyRange;
+
+	private RuleSet(List<NumberRule> rules) {
+		this.rules = rules.toArray(new NumberRule[0]);
+		List<NumberRule> residual = new ArrayList<>();
+		int[] residualIndexes = new int[this.rules.length];
+		int low = Integer.MIN_VALUE;
+		int high = Integer.MAX_VALUE;
+		for (int i = 0; i < this.rules.length; i++) {
+			NumberRule rule = this.rules[i];
+			if (rule instanceof RangeRule) {
+				low = Math.max(low, ((RangeRule) rule).getLow());
+				high = Math.min(high, ((RangeRule) rule).getHigh());
+			} else {
+				residualIndexes[residual.size()] = i;
+				residual.add(rule);
+			}
+		}
+		this.residual = residual.toArray(new NumberRule[0]);
+		// no stream here, DEFAULT is built on the cold start path
+		this.residualIndexes = Arrays.copyOf(residualIndexes, residual.size());
+		this.emptyRange = low > high;
+		this.low = low;
+		this.span = high - low;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public boolean accept(int number) {
+		return decide(number) < 0;
+	}
+
+	/***
+	 * <p>
+	 * Same as {@link #accept(int)}, but tells which rule ignored the number.
+	 * 
+	 * @param number
+	 * @return -1 to keep the number, index of the rule ignoring it otherwise
+	 * @throws com.calculator.exceptions.UnsupportedNumberException if a rule
+	 *                                                              rejects it
+	 */
+	public int decide(int number) {
+		if (!emptyRange && Integer.compareUnsigned(number - low, span) <= 0) {
+			return decideResidual(number);
+		}
+		for (int i = 0; i < rules.length; i++) {
+			if (!rules[i].accept(number)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/***
+	 * <p>
+	 * Same as {@link #decide(int)}, but a number rejected by a range rule is
+	 * reported by returning {@link #REJECTED} instead of throwing, so a caller
+	 * which knows where the number is can throw a located, stackless exception
+	 * with {@link #getRejectMessage(int)}. Custom rules may still throw.
+	 * 
+	 * @param number
+	 * @return -1 to keep the number, {@link #REJECTED} if a range rule rejects
+	 *         it, index of the rule ignoring it otherwise
+	 */
+	public int check(int number) {
+		if (!emptyRange && Integer.compareUnsigned(number - low, span) <= 0) {
+			return decideResidual(number);
+		}
+		for (int i = 0; i < rules.length; i++) {
+			NumberRule rule = rules[i];
+			if (rule instanceof RangeRule && ((RangeRule) rule).rejects(number)) {
+				return REJECTED;
+			}
+			if (!rule.accept(number)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/***
+	 * @param number
+	 * @return message of the first range rule rejecting given number, null if
+	 *         none does
+	 */
+	public String getRejectMessage(int number) {
+		for (NumberRule rule : rules) {
+			if (rule instanceof RangeRule && ((RangeRule) rule).rejects(number)) {
+				return ((RangeRule) rule).getRejectMessage();
+			}
+		}
+		return null;
+	}
+
+	/***
+	 * Rules of a number within the folded range.
+	 */
+	private int decideResidual(int number) {
+		for (int i = 0; i < residual.length; i++) {
+			if (!residual[i].accept(number)) {
+				return residualIndexes[i];
+			}
+		}
+		return -1;
+	}
+
+	/***
+	 * @return true if every rule is a range rule and some number passes them
+	 *         all, so {@link #decide(int)} keeps exactly the numbers in
+	 *         [{@link #getLow()}, {@link #getHigh()}]
+	 */
+	public boolean isRangeOnly() {
+		return residual.length == 0 && !emptyRange;
+	}
+
+	/***
+	 * @return lower bound of the folded range, inclusive
+	 */
+	public int getLow() {
+		return low;
+	}
+
+	/***
+	 * @return upper bound of the folded range, inclusive
+	 */
+	public int getHigh() {
+		return low + span;
+	}
+
+	/***
+	 * @return number of composed rules
+	 */
+	public int size() {
+		return rules.length;
+	}
+
+	/***
+	 * @return description of each rule, in order
+	 */
+	public List<String> getRuleNames() {
+		List<String> names = new ArrayList<>(rules.length);
+		for (NumberRule rule : rules) {
+			names.add(rule.toString());
+		}
+		return Collections.unmodifiableList(names);
+	}
+
+	/***
+	 * <p>
+	 * Composes rules in order of the calls. It is not thread safe.
+	 */
+	public static final class Builder {
+
+		private final List<NumberRule> rules = new ArrayList<>();
+
+		private Builder() {
+		}
+
+		public Builder ignoreAbove(int max) {
+			return range(Integer.MIN_VALUE, max, null);
+		}
+
+		public Builder ignoreBelow(int min) {
+			return range(min, Integer.MAX_VALUE, null);
+		}
+
+		public Builder ignoreOutside(int min, int max) {
+			return range(min, max, null);
+		}
+
+		public Builder rejectAbove(int max) {
+			return rejectAbove(max, "Numbers greater than " + max + " are not supported");
+		}
+
+		/***
+		 * @param max
+		 * @param message of the thrown
+		 *                {@link com.calculator.exceptions.UnsupportedNumberException}
+		 * @return this builder
+		 */
+		public Builder rejectAbove(int max, String message) {
+			return range(Integer.MIN_VALUE, max, Objects.requireNonNull(message));
+		}
+
+		public Builder rejectBelow(int min) {
+			return rejectBelow(min, min == 0 ? NEGATIVE_NUMBER_MESSAGE : "Numbers less than " + min + " are not supported");
+		}
+
+		/***
+		 * @param min
+		 * @param message of the thrown
+		 *                {@link com.calculator.exceptions.UnsupportedNumberException}
+		 * @return this builder
+		 */
+		public Builder rejectBelow(int min, String message) {
+			return range(min, Integer.MAX_VALUE, Objects.requireNonNull(message));
+		}
+
+		/***
+		 * Ignores every number which isn't given.
+		 *
+		 * @param numbers
+		 * @return this builder
+		 */
+		public Builder allow(int... numbers) {
+			rules.add(new AllowListRule(numbers));
+			return this;
+		}
+
+		/***
+		 * Ignores every number whose floor modulus by divisor isn't given remainder,
+		 * e.g. <code>modulus(2, 0)</code> keeps even numbers.
+		 *
+		 * @param divisor   positive
+		 * @param remainder in range [0, divisor)
+		 * @return this builder
+		 */
+		public Builder modulus(int divisor, int remainder) {
+			rules.add(new ModulusRule(divisor, remainder));
+			return this;
+		}
+
+		/***
+		 * Adds a custom rule, tested in order with the other rules.
+		 *
+		 * @param rule
+		 * @return this builder
+		 */
+		public Builder add(NumberRule rule) {
+			rules.add(Objects.requireNonNull(rule));
+			return this;
+		}
+
+		public RuleSet build() {
+			return new RuleSet(rules);
+		}
+
+		private Builder range(int min, int max, String rejectMessage) {
+			if (min > max) {
+				throw new IllegalArgumentException("min can't be greater than max");
+			}
+			rules.add(new RangeRule(min, max, rejectMessage));
+			return this;
+		}
+
+	}
+
+}
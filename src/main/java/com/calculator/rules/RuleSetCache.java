@@ -0,0 +1,60 @@
+package com.calculator.rules;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/***
+ * <p>
+ * Compiled {@link RuleSet}s keyed by tenant, so a tenant's rules are composed
+ * and compiled once and every later call only pays for the fused check.
+ *
+ * <p>
+ * It is thread safe; a rule set is compiled at most once per tenant until it
+ * is invalidated, e.g. when the tenant's configuration changes.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class RuleSetCache {
+
+	private final ConcurrentMap<String, RuleSet> cache = new ConcurrentHashMap<>();
+
+	/***
+	 * <p>
+	 * Returns cached rule set of given tenant, compiling and caching it on a miss.
+	 *
+	 * @param tenant
+	 * @param compiler builds rule set of a tenant
+	 * @return compiled rule set
+	 */
+	public RuleSet get(String tenant, Function<String, RuleSet> compiler) {
+		RuleSet ruleSet = cache.get(tenant);
+		if (ruleSet != null) {
+			return ruleSet;
+		}
+		return cache.computeIfAbsent(tenant, key -> Objects.requireNonNull(compiler.apply(key)));
+	}
+
+	/***
+	 * @param tenant
+	 * @return cached rule set or null
+	 */
+	public RuleSet get(String tenant) {
+		return cache.get(tenant);
+	}
+
+	public void put(String tenant, RuleSet ruleSet) {
+		cache.put(tenant, Objects.requireNonNull(ruleSet));
+	}
+
+	public void invalidate(String tenant) {
+		cache.remove(tenant);
+	}
+
+	public int size() {
+		return cache.size();
+	}
+
+}
@@ -0,0 +1,377 @@
+package com.calculator.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.calculator.common.CalculationEngine;
+import com.calculator.common.InputType;
+import com.calculator.common.StrategyPopulatorUtility;
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.strategies.AbstractCalculationStrategy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/***
+ * <p>
+ * Serves calculations of the registered {@link InputType#STRING} strategy
+ * over two front ends:
+ *
+ * <ul>
+ * <li>TCP - line oriented, each request line is an input and gets one response
+ * line, <code>OK &lt;sum&gt;</code> or <code>ERR &lt;message&gt;</code>.
+ * Requests may be pipelined; responses are flushed once no more requests are
+ * buffered.</li>
+ * <li>HTTP - <code>POST /calculate</code> with the input as UTF-8 body,
+ * answered with the sum as plain text, or status 400 and the message.</li>
+ * </ul>
+ *
+ * <p>
+ * Every connection, or HTTP exchange, runs on its own virtual thread when the
+ * JDK has them, see {@link ServerExecutors}. Back-pressure is applied at two
+ * points: connections beyond the limit wait in the accept backlog, and
+ * requests beyond the concurrency limit wait for a permit. A waiting TCP
+ * client simply isn't read from, so TCP flow control pushes back on it; an
+ * HTTP request which doesn't get a permit within a second is answered with
+ * status 503. Requests longer than the configured limit are refused, with
+ * status 413 over HTTP, and the TCP connection is closed.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class CalculationServer implements Closeable {
+
+	static final String CONTEXT_PATH = "/calculate";
+
+	static final String TOO_LONG_MESSAGE = "Request too long";
+
+	private static final long PERMIT_TIMEOUT_MILLIS = 1000;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Supplier<AbstractCalculationStrategy<String>> strategy;
+
+	private final ServerConfig config;
+
+	private final Semaphore connectionPermits;
+
+	private final Semaphore requestPermits;
+
+	private final ExecutorService executor;
+
+	private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+
+	private ServerSocket serverSocket;
+
+	private HttpServer httpServer;
+
+	private volatile boolean running;
+
+	/***
+	 * @param strategy looked up per request, so a re-populated strategy is picked
+	 *                 up without a restart
+	 * @param config
+	 */
+	public CalculationServer(Supplier<AbstractCalculationStrategy<String>> strategy, ServerConfig config) {
+		if (strategy == null || config == null) {
+			throw new RuntimeException("strategy and config can't be null");
+		}
+		this.strategy = strategy;
+		this.config = config;
+		this.connectionPermits = new Semaphore(config.getMaxConnections());
+		this.requestPermits = new Semaphore(config.getMaxConcurrentRequests());
+		this.executor = ServerExecutors.perTask(config.getMaxConnections());
+	}
+
+	public synchronized void start() throws IOException {
+		if (running) {
+			return;
+		}
+		running = true;
+		if (config.getTcpPort() >= 0) {
+			serverSocket = new ServerSocket(config.getTcpPort(), config.getMaxConnections());
+			Thread acceptor = new Thread(this::accept, "calculator-tcp-acceptor");
+			acceptor.setDaemon(true);
+			acceptor.start();
+		}
+		if (config.getHttpPort() >= 0) {
+			httpServer = HttpServer.create(new InetSocketAddress(config.getHttpPort()), config.getMaxConnections());
+			httpServer.createContext(CONTEXT_PATH, this::exchange);
+			httpServer.setExecutor(executor);
+			httpServer.start();
+		}
+	}
+
+	/***
+	 * @return bound TCP port, -1 if disabled or not started
+	 */
+	public int getTcpPort() {
+		return serverSocket != null ? serverSocket.getLocalPort() : -1;
+	}
+
+	/***
+	 * @return bound HTTP port, -1 if disabled or not started
+	 */
+	public int getHttpPort() {
+		return httpServer != null ? httpServer.getAddress().getPort() : -1;
+	}
+
+	/***
+	 * @return true if connections run on virtual threads
+	 */
+	public boolean isVirtualThreads() {
+		return ServerExecutors.isVirtual(executor);
+	}
+
+	@Override
+	public synchronized void close() {
+		running = false;
+		if (serverSocket != null) {
+			closeQuietly(serverSocket);
+		}
+		if (httpServer != null) {
+			httpServer.stop(0);
+		}
+		for (Socket socket : sockets) {
+			closeQuietly(socket);
+		}
+		executor.shutdownNow();
+	}
+
+	private void accept() {
+		while (running) {
+			Socket socket = null;
+			try {
+				connectionPermits.acquire();
+				socket = serverSocket.accept();
+				sockets.add(socket);
+				final Socket connection = socket;
+				executor.execute(() -> serve(connection));
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (IOException | RuntimeException ex) {
+				if (socket != null) {
+					sockets.remove(socket);
+					closeQuietly(socket);
+				}
+				connectionPermits.release();
+			}
+		}
+	}
+
+	/***
+	 * Serves request lines of one TCP connection till it is closed.
+	 */
+	private void serve(Socket socket) {
+		try {
+			socket.setTcpNoDelay(true);
+			InputStream in = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+			OutputStream out = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+			LineReader reader = new LineReader(in, config.getMaxRequestLength());
+			String line;
+			while (running && (line = reader.readLine()) != null) {
+				if (reader.isTooLong()) {
+					out.write(("ERR " + TOO_LONG_MESSAGE + "\n").getBytes(StandardCharsets.US_ASCII));
+					out.flush();
+					return;
+				}
+				out.write(respond(line).getBytes(StandardCharsets.UTF_8));
+				if (in.available() == 0) {
+					out.flush();
+				}
+			}
+			out.flush();
+		} catch (IOException ex) {
+			// connection reset by the client
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			sockets.remove(socket);
+			closeQuietly(socket);
+			connectionPermits.release();
+		}
+	}
+
+	private String respond(String input) throws InterruptedException {
+		requestPermits.acquire();
+		try {
+			return "OK " + strategy.get().calculate(input) + "\n";
+		} catch (InvalidDelimiterException | UnsupportedNumberException ex) {
+			return "ERR " + reason(ex) + "\n";
+		} finally {
+			requestPermits.release();
+		}
+	}
+
+	private void exchange(HttpExchange exchange) throws IOException {
+		try {
+			if (!"POST".equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", "POST");
+				send(exchange, 405, "Method not allowed");
+				return;
+			}
+			String length = exchange.getRequestHeaders().getFirst("Content-Length");
+			if (length != null && Long.parseLong(length.trim()) > config.getMaxRequestLength()) {
+				send(exchange, 413, TOO_LONG_MESSAGE);
+				return;
+			}
+			byte[] body = readBody(exchange.getRequestBody(), config.getMaxRequestLength());
+			if (body == null) {
+				send(exchange, 413, TOO_LONG_MESSAGE);
+				return;
+			}
+			if (!requestPermits.tryAcquire(PERMIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+				exchange.getResponseHeaders().set("Retry-After", "1");
+				send(exchange, 503, "Server busy");
+				return;
+			}
+			int status;
+			String response;
+			try {
+				response = String.valueOf(strategy.get().calculate(new String(body, StandardCharsets.UTF_8)));
+				status = 200;
+			} catch (InvalidDelimiterException | UnsupportedNumberException ex) {
+				response = reason(ex);
+				status = 400;
+			} finally {
+				requestPermits.release();
+			}
+			send(exchange, status, response);
+		} catch (NumberFormatException ex) {
+			send(exchange, 400, "Invalid Content-Length");
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/***
+	 * @return message of given rejection without its location, which is
+	 *         relative to the request
+	 */
+	private static String reason(RuntimeException ex) {
+		return ex instanceof UnsupportedNumberException ? ((UnsupportedNumberException) ex).getReason()
+				: ((InvalidDelimiterException) ex).getReason();
+	}
+
+	/***
+	 * @return body, null if it is longer than given limit
+	 */
+	private static byte[] readBody(InputStream in, int limit) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream(Math.min(limit, BUFFER_SIZE));
+		byte[] chunk = new byte[BUFFER_SIZE];
+		int read;
+		while ((read = in.read(chunk)) != -1) {
+			if (body.size() + read > limit) {
+				return null;
+			}
+			body.write(chunk, 0, read);
+		}
+		return body.toByteArray();
+	}
+
+	private static void send(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException ex) {
+			// nothing to do
+		}
+	}
+
+	/***
+	 * <p>
+	 * Starts a server on the ports given by system properties, see
+	 * {@link ServerConfig}, backed by the scanner engine.
+	 *
+	 * @param args
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws IOException {
+		StrategyPopulatorUtility.populate(CalculationEngine.SCANNER);
+		final CalculationServer server = new CalculationServer(
+				() -> StrategyPopulatorUtility.get(InputType.STRING, String.class), ServerConfig.fromSystemProperties());
+		server.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+		System.out.println("Calculator listening on tcp port " + server.getTcpPort() + ", http port "
+				+ server.getHttpPort() + (server.isVirtualThreads() ? " with virtual threads" : ""));
+	}
+
+	/***
+	 * Reads UTF-8 lines of at most a given number of bytes, without a trailing
+	 * carriage return.
+	 */
+	static final class LineReader {
+
+		private final InputStream in;
+
+		private final int limit;
+
+		private byte[] line = new byte[128];
+
+		private boolean tooLong;
+
+		LineReader(InputStream in, int limit) {
+			this.in = in;
+			this.limit = limit;
+		}
+
+		/***
+		 * @return next line, null at end of stream; when the line is longer than
+		 *         the limit, reading stops and {@link #isTooLong()} is set
+		 */
+		String readLine() throws IOException {
+			int length = 0;
+			int b;
+			while ((b = in.read()) != -1 && b != '\n') {
+				if (length == limit) {
+					tooLong = true;
+					return "";
+				}
+				if (length == line.length) {
+					line = Arrays.copyOf(line, Math.min(limit, line.length * 2));
+				}
+				line[length++] = (byte) b;
+			}
+			if (b == -1 && length == 0) {
+				return null;
+			}
+			if (length > 0 && line[length - 1] == '\r') {
+				length--;
+			}
+			return new String(line, 0, length, StandardCharsets.UTF_8);
+		}
+
+		boolean isTooLong() {
+			return tooLong;
+		}
+
+	}
+
+}
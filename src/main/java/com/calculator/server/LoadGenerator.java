@@ -0,0 +1,161 @@
+package com.calculator.server;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.calculator.metrics.Histogram;
+
+/***
+ * <p>
+ * Closed loop load generator for the TCP front end of a
+ * {@link CalculationServer}. Each connection sends one request line, waits for
+ * its response and sends the next one; latency of every request is recorded
+ * into a {@link Histogram}, so throughput and p99 latency can be measured on
+ * localhost.
+ *
+ * <p>
+ * Usage: <code>LoadGenerator [host] [port] [connections] [requests per
+ * connection] [tokens per request]</code>
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class LoadGenerator {
+
+	private final String host;
+
+	private final int port;
+
+	private final int connections;
+
+	private final int requests;
+
+	private final byte[] request;
+
+	private final Histogram latency = new Histogram();
+
+	private final LongAdder errors = new LongAdder();
+
+	/***
+	 * @param host
+	 * @param port        TCP port of the server
+	 * @param connections concurrent connections
+	 * @param requests    requests per connection
+	 * @param tokens      numbers per request
+	 */
+	public LoadGenerator(String host, int port, int connections, int requests, int tokens) {
+		this.host = host;
+		this.port = port;
+		this.connections = connections;
+		this.requests = requests;
+		this.request = (input(tokens) + "\n").getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/***
+	 * Runs all connections to completion.
+	 *
+	 * @return elapsed nanoseconds
+	 * @throws IOException          if a connection fails
+	 * @throws InterruptedException
+	 */
+	public long run() throws IOException, InterruptedException {
+		ExecutorService executor = ServerExecutors.perTask(connections);
+		try {
+			long start = System.nanoTime();
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < connections; i++) {
+				futures.add(executor.submit(() -> {
+					connection();
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException ex) {
+					throw new IOException(ex.getCause());
+				}
+			}
+			return System.nanoTime() - start;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	public Histogram getLatency() {
+		return latency;
+	}
+
+	/***
+	 * @return number of <code>ERR</code> responses
+	 */
+	public long getErrorCount() {
+		return errors.sum();
+	}
+
+	private void connection() throws IOException {
+		try (Socket socket = new Socket(host, port)) {
+			socket.setTcpNoDelay(true);
+			OutputStream out = socket.getOutputStream();
+			InputStream in = new BufferedInputStream(socket.getInputStream());
+			CalculationServer.LineReader reader = new CalculationServer.LineReader(in, 1024);
+			for (int i = 0; i < requests; i++) {
+				long start = System.nanoTime();
+				out.write(request);
+				out.flush();
+				String response = reader.readLine();
+				latency.record(System.nanoTime() - start);
+				if (response == null) {
+					throw new IOException("Connection closed by server");
+				}
+				if (!response.startsWith("OK")) {
+					errors.increment();
+				}
+			}
+		}
+	}
+
+	/***
+	 * Numbers from 0 to 150, so some are ignored, separated by commas and
+	 * spaces.
+	 */
+	private static String input(int tokens) {
+		Random random = new Random(42);
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < tokens; i++) {
+			if (i > 0) {
+				input.append(random.nextBoolean() ? ',' : ' ');
+			}
+			input.append(random.nextInt(151));
+		}
+		return input.toString();
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		String host = args.length > 0 ? args[0] : "localhost";
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : ServerConfig.DEFAULT_TCP_PORT;
+		int connections = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+		int requests = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+		int tokens = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+		LoadGenerator generator = new LoadGenerator(host, port, connections, requests, tokens);
+		long elapsed = generator.run();
+		Histogram latency = generator.getLatency();
+		System.out.printf("%d requests in %.2f s, %.0f requests/s, %d errors%n", latency.getCount(), elapsed / 1e9,
+				latency.getCount() * 1e9 / elapsed, generator.getErrorCount());
+		System.out.printf("latency us: p50 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+				latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+				latency.getValueAtPercentile(99.9) / 1e3, latency.getMax() / 1e3);
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.calculator.server;
+
+/***
+ * <p>
+ * Limits and ports of a {@link CalculationServer}. It can be given
+ * explicitly, or read from system properties
+ * <code>calculator.server.tcpPort</code>,
+ * <code>calculator.server.httpPort</code>,
+ * <code>calculator.server.maxRequestLength</code>,
+ * <code>calculator.server.maxConnections</code> and
+ * <code>calculator.server.maxConcurrentRequests</code>.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class ServerConfig {
+
+	static final String TCP_PORT_PROPERTY = "calculator.server.tcpPort";
+
+	static final String HTTP_PORT_PROPERTY = "calculator.server.httpPort";
+
+	static final String MAX_REQUEST_LENGTH_PROPERTY = "calculator.server.maxRequestLength";
+
+	static final String MAX_CONNECTIONS_PROPERTY = "calculator.server.maxConnections";
+
+	static final String MAX_CONCURRENT_REQUESTS_PROPERTY = "calculator.server.maxConcurrentRequests";
+
+	public static final int DEFAULT_TCP_PORT = 7070;
+
+	public static final int DEFAULT_HTTP_PORT = 8080;
+
+	public static final int DEFAULT_MAX_REQUEST_LENGTH = 1 << 16;
+
+	public static final int DEFAULT_MAX_CONNECTIONS = 1024;
+
+	private final int tcpPort;
+
+	private final int httpPort;
+
+	private final int maxRequestLength;
+
+	private final int maxConnections;
+
+	private final int maxConcurrentRequests;
+
+	/***
+	 * @param tcpPort               0 for any free port, -1 to disable
+	 * @param httpPort              0 for any free port, -1 to disable
+	 * @param maxRequestLength      maximum bytes of one request
+	 * @param maxConnections        maximum open connections, further clients
+	 *                              wait in the accept backlog
+	 * @param maxConcurrentRequests maximum requests calculated at once, further
+	 *                              requests wait
+	 */
+	public ServerConfig(int tcpPort, int httpPort, int maxRequestLength, int maxConnections,
+			int maxConcurrentRequests) {
+		if (maxRequestLength <= 0 || maxConnections <= 0 || maxConcurrentRequests <= 0) {
+			throw new RuntimeException("maxRequestLength, maxConnections and maxConcurrentRequests must be positive");
+		}
+		this.tcpPort = tcpPort;
+		this.httpPort = httpPort;
+		this.maxRequestLength = maxRequestLength;
+		this.maxConnections = maxConnections;
+		this.maxConcurrentRequests = maxConcurrentRequests;
+	}
+
+	public static ServerConfig fromSystemProperties() {
+		return new ServerConfig(Integer.getInteger(TCP_PORT_PROPERTY, DEFAULT_TCP_PORT),
+				Integer.getInteger(HTTP_PORT_PROPERTY, DEFAULT_HTTP_PORT),
+				Integer.getInteger(MAX_REQUEST_LENGTH_PROPERTY, DEFAULT_MAX_REQUEST_LENGTH),
+				Integer.getInteger(MAX_CONNECTIONS_PROPERTY, DEFAULT_MAX_CONNECTIONS),
+				Integer.getInteger(MAX_CONCURRENT_REQUESTS_PROPERTY, Runtime.getRuntime().availableProcessors() * 2));
+	}
+
+	public int getTcpPort() {
+		return tcpPort;
+	}
+
+	public int getHttpPort() {
+		return httpPort;
+	}
+
+	public int getMaxRequestLength() {
+		return maxRequestLength;
+	}
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public int getMaxConcurrentRequests() {
+		return maxConcurrentRequests;
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.calculator.server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/***
+ * <p>
+ * Creates the executor running one task per connection. On a JDK with virtual
+ * threads, <code>Executors.newVirtualThreadPerTaskExecutor()</code> is looked
+ * up reflectively, since this project is compiled for Java 8; otherwise a
+ * pool of daemon platform threads bounded by the connection limit is used.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+final class ServerExecutors {
+
+	private ServerExecutors() {
+	}
+
+	/***
+	 * @param maxThreads bound of the platform thread fallback
+	 * @return executor
+	 */
+	static ExecutorService perTask(int maxThreads) {
+		ExecutorService virtual = virtualThreadPerTask();
+		if (virtual != null) {
+			return virtual;
+		}
+		final AtomicInteger count = new AtomicInteger();
+		ThreadFactory factory = task -> {
+			Thread thread = new Thread(task, "calculator-worker-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		// a saturated pool runs the task on the submitting thread, which stalls
+		// accepting further work
+		return new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), factory,
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/***
+	 * @return true if tasks run on virtual threads
+	 */
+	static boolean isVirtual(ExecutorService executor) {
+		return !(executor instanceof ThreadPoolExecutor);
+	}
+
+	private static ExecutorService virtualThreadPerTask() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException ex) {
+			return null;
+		}
+	}
+
+}
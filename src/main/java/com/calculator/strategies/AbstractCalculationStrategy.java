@@ -1,9 +1,14 @@
 package com.calculator.strategies;
 
+import java.math.BigInteger;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
 import com.delimiter.strategies.Delimiter;
 
 /***
@@ -17,6 +22,11 @@ import com.delimiter.strategies.Delimiter;
  */
 public abstract class AbstractCalculationStrategy<T> {
 
+	/***
+	 * Minimum number of inputs handled by one worker of a parallel batch.
+	 */
+	private static final int MIN_BATCH_RANGE = 64;
+
 	/**
 	 * <p>
 	 * Abstract method, parties can define logic to go through stream, perform
@@ -27,6 +37,20 @@ public abstract class AbstractCalculationStrategy<T> {
 	 */
 	protected abstract int calculateUsingStream(Stream<T> stream);
 
+	/***
+	 * <p>
+	 * Same as {@link #calculateUsingStream(Stream)}, but returns the exact sum.
+	 * Default implementation relies on {@link #calculateUsingStream(Stream)},
+	 * hence wraps around {@link Integer#MAX_VALUE}; implementors should override
+	 * it.
+	 * 
+	 * @param stream
+	 * @return sum
+	 */
+	protected ExactSum sumUsingStream(Stream<T> stream) {
+		return ExactSum.of(calculateUsingStream(stream));
+	}
+
 	/***
 	 * <p>
 	 * This method takes {@link String} input, converts into {@link Stream} and
@@ -41,6 +65,146 @@ public abstract class AbstractCalculationStrategy<T> {
 		return calculateUsingStream(passThroughDelimiters(stream));
 	}
 
+	/***
+	 * <p>
+	 * Calculates given input and returns the sum as per given accumulation mode.
+	 * 
+	 * @param t
+	 * @param mode
+	 * @return {@link Integer}, {@link Long} or {@link BigInteger} sum
+	 * @throws ArithmeticException if mode is {@link AccumulationMode#LONG} and sum
+	 *                             doesn't fit into a long
+	 */
+	public Number calculate(T t, AccumulationMode mode) {
+		if (mode == AccumulationMode.INT) {
+			return calculate(t);
+		}
+		return calculateExact(t).value(mode);
+	}
+
+	/***
+	 * @param t
+	 * @return sum
+	 * @throws ArithmeticException if sum doesn't fit into a long
+	 */
+	public long calculateAsLong(T t) {
+		return calculateExact(t).longValueExact();
+	}
+
+	public BigInteger calculateAsBigInteger(T t) {
+		return calculateExact(t).bigIntegerValue();
+	}
+
+	/***
+	 * <p>
+	 * Same as {@link #calculate(Object)}, but returns the exact sum.
+	 * 
+	 * @param t
+	 * @return sum
+	 */
+	protected ExactSum calculateExact(T t) {
+		Stream<T> stream = t != null ? Stream.of(t) : Stream.empty();
+		return sumUsingStream(passThroughDelimiters(stream));
+	}
+
+	/***
+	 * <p>
+	 * Gathers statistics of given input in one pass: count, sum, minimum,
+	 * maximum and mean of the kept numbers, the number of ignored numbers and,
+	 * if bucket bounds are given, a histogram of the kept numbers.
+	 * 
+	 * @param t
+	 * @param bucketBounds ascending upper bounds of histogram buckets, none for
+	 *                     no histogram
+	 * @return statistics
+	 * @throws InvalidDelimiterException   same as {@link #calculate(Object)}
+	 * @throws UnsupportedNumberException same as {@link #calculate(Object)}
+	 */
+	public CalculationStatistics statistics(T t, int... bucketBounds) {
+		CalculationStatistics statistics = new CalculationStatistics(bucketBounds);
+		collectStatistics(t, statistics);
+		return statistics;
+	}
+
+	/***
+	 * <p>
+	 * Records numbers of given input into given statistics.
+	 * 
+	 * @param t
+	 * @param statistics
+	 */
+	protected void collectStatistics(T t, CalculationStatistics statistics) {
+		Stream<T> stream = t != null ? Stream.of(t) : Stream.empty();
+		statisticsUsingStream(passThroughDelimiters(stream), statistics);
+	}
+
+	/***
+	 * <p>
+	 * Abstract method, parties record numbers of given stream into given
+	 * statistics, applying same rules as {@link #calculateUsingStream(Stream)}
+	 * to tell kept numbers from ignored ones.
+	 * 
+	 * @param stream
+	 * @param statistics
+	 */
+	protected abstract void statisticsUsingStream(Stream<T> stream, CalculationStatistics statistics);
+
+	/***
+	 * <p>
+	 * Calculates all given inputs sequentially. An input failing with
+	 * {@link InvalidDelimiterException} or {@link UnsupportedNumberException}
+	 * doesn't abort the batch, its exception is reported in {@link BatchResult}.
+	 * 
+	 * @param inputs
+	 * @return result per input
+	 */
+	public BatchResult calculateAll(List<T> inputs) {
+		return calculateAll(inputs, false);
+	}
+
+	/***
+	 * <p>
+	 * Calculates all given inputs, optionally fanning out ranges of inputs across
+	 * the common {@link ForkJoinPool}.
+	 * 
+	 * @param inputs
+	 * @param parallel
+	 * @return result per input
+	 */
+	public BatchResult calculateAll(List<T> inputs, boolean parallel) {
+		int size = inputs != null ? inputs.size() : 0;
+		BatchResult result = new BatchResult(size);
+		int ranges = parallel ? Math.min(size / MIN_BATCH_RANGE, ForkJoinPool.getCommonPoolParallelism() * 4) : 1;
+		if (ranges <= 1) {
+			calculateRange(inputs, 0, size, result);
+		} else {
+			IntStream.range(0, ranges).parallel().forEach(range -> calculateRange(inputs, (int) ((long) size * range / ranges),
+					(int) ((long) size * (range + 1) / ranges), result));
+		}
+		return result;
+	}
+
+	/***
+	 * <p>
+	 * Calculates inputs of range [from, to) into given result. Implementors can
+	 * override it to share scratch state between the inputs of a range, a range
+	 * is always handled by a single thread.
+	 * 
+	 * @param inputs
+	 * @param from   inclusive
+	 * @param to     exclusive
+	 * @param result
+	 */
+	protected void calculateRange(List<T> inputs, int from, int to, BatchResult result) {
+		for (int i = from; i < to; i++) {
+			try {
+				result.success(i, calculate(inputs.get(i)));
+			} catch (InvalidDelimiterException | UnsupportedNumberException ex) {
+				result.failure(i, ex);
+			}
+		}
+	}
+
 	/***
 	 * <p>
 	 * This method takes input stream and passes it through all
@@ -0,0 +1,23 @@
+package com.calculator.strategies;
+
+/***
+ * <p>
+ * Accumulation modes available through
+ * {@link AbstractCalculationStrategy#calculate(Object, AccumulationMode)}.
+ * 
+ * <ul>
+ * <li>INT - wraps around {@link Integer#MAX_VALUE}, same as
+ * {@link AbstractCalculationStrategy#calculate(Object)}.</li>
+ * <li>LONG - throws {@link ArithmeticException} if sum doesn't fit into a
+ * long.</li>
+ * <li>BIG_INTEGER - never overflows.</li>
+ * </ul>
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public enum AccumulationMode {
+
+	INT, LONG, BIG_INTEGER
+
+}
@@ -0,0 +1,282 @@
+package com.calculator.strategies;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import com.calculator.metrics.CalculationMetrics;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.Delimiter;
+
+/***
+ * <p>
+ * String strategy which chooses, for each call, the path best suited to the
+ * input, see {@link ExecutionPath}:
+ *
+ * <ul>
+ * <li>STREAM - delimiters don't expose their separator, so input is split
+ * by the {@link java.util.stream.Stream} pipeline of
+ * {@link StringCalculationStrategy}.</li>
+ * <li>PARALLEL - input is at least {@link DispatchProfile#getParallelThreshold()}
+ * characters long and can be split at separators, see
+ * {@link ScannerCalculationStrategy#calculateParallel(String, ForkJoinPool)}.</li>
+ * <li>CACHED - a result cache is configured and input is at most
+ * {@link DispatchProfile#getCacheMaxLength()} characters long, as short inputs
+ * are the ones repeated.</li>
+ * <li>SEQUENTIAL - otherwise, input is scanned once by
+ * {@link ScannerCalculationStrategy}.</li>
+ * </ul>
+ *
+ * <p>
+ * Thresholds come from a {@link DispatchProfile}, either loaded from a file or
+ * calibrated on the running machine. Chosen paths are counted, and recorded
+ * into {@link CalculationMetrics#recordPath(String)} when metrics are given.
+ * All paths apply same rules, so they give same results and exception types.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class AdaptiveCalculationStrategy extends AbstractCalculationStrategy<String> {
+
+	/***
+	 * Paths a calculation can take.
+	 */
+	public enum ExecutionPath {
+		SEQUENTIAL, PARALLEL, STREAM, CACHED
+	}
+
+	private final List<Delimiter<String>> delimiterList;
+
+	private final ScannerCalculationStrategy scanner;
+
+	/***
+	 * Null when the scanner can compile the delimiters.
+	 */
+	private final StringCalculationStrategy streaming;
+
+	/***
+	 * Null without result cache.
+	 */
+	private final CachingCalculationStrategy<String> cache;
+
+	private final ForkJoinPool pool;
+
+	private final DispatchProfile profile;
+
+	private final CalculationMetrics metrics;
+
+	private final LongAdder[] pathCounts = new LongAdder[ExecutionPath.values().length];
+
+	private AdaptiveCalculationStrategy(Builder builder) {
+		this.delimiterList = builder.delimiterList;
+		this.scanner = new ScannerCalculationStrategy(builder.delimiterList, builder.rules);
+		this.streaming = scanner.getDelimiterSet() == null
+				? new StringCalculationStrategy(builder.delimiterList, builder.rules, false)
+				: null;
+		this.cache = builder.cacheMaximumSize > 0
+				? new CachingCalculationStrategy<>(streaming != null ? streaming : scanner, builder.cacheMaximumSize,
+						builder.cacheMaximumWeight, new StringLength())
+				: null;
+		this.pool = builder.pool;
+		this.profile = builder.profile;
+		this.metrics = builder.metrics;
+		for (int i = 0; i < pathCounts.length; i++) {
+			pathCounts[i] = new LongAdder();
+		}
+	}
+
+	public static Builder builder(List<Delimiter<String>> delimiterList) {
+		return new Builder(delimiterList);
+	}
+
+	/***
+	 * @param input
+	 * @return path a calculation of given input takes
+	 */
+	public ExecutionPath choosePath(String input) {
+		int length = input != null ? input.length() : 0;
+		if (cache != null && length <= profile.getCacheMaxLength()) {
+			return ExecutionPath.CACHED;
+		}
+		if (streaming != null) {
+			return ExecutionPath.STREAM;
+		}
+		if (length >= profile.getParallelThreshold() && scanner.canSplit(pool)) {
+			return ExecutionPath.PARALLEL;
+		}
+		return ExecutionPath.SEQUENTIAL;
+	}
+
+	@Override
+	public int calculate(String input) {
+		return calculateExact(input).intValue();
+	}
+
+	@Override
+	protected ExactSum calculateExact(String input) {
+		ExecutionPath path = choosePath(input);
+		pathCounts[path.ordinal()].increment();
+		if (metrics != null) {
+			metrics.recordPath(path.name());
+		}
+		switch (path) {
+		case CACHED:
+			return cache.calculateExact(input);
+		case STREAM:
+			return streaming.calculateExact(input);
+		case PARALLEL:
+			return scanner.sumParallel(input, pool);
+		default:
+			return scanner.calculateExact(input);
+		}
+	}
+
+	@Override
+	protected void collectStatistics(String input, CalculationStatistics statistics) {
+		sequentialStrategy().collectStatistics(input, statistics);
+	}
+
+	/***
+	 * @param path
+	 * @return number of calculations which took given path
+	 */
+	public long getPathCount(ExecutionPath path) {
+		return pathCounts[path.ordinal()].sum();
+	}
+
+	public DispatchProfile getProfile() {
+		return profile;
+	}
+
+	@Override
+	protected int calculateUsingStream(Stream<String> stream) {
+		return sequentialStrategy().calculateUsingStream(stream);
+	}
+
+	@Override
+	protected void statisticsUsingStream(Stream<String> stream, CalculationStatistics statistics) {
+		sequentialStrategy().statisticsUsingStream(stream, statistics);
+	}
+
+	@Override
+	protected List<Delimiter<String>> getAllDelimiters() {
+		return delimiterList;
+	}
+
+	@Override
+	protected Predicate<String> nullOrEmptyPredicate() {
+		return sequentialStrategy().nullOrEmptyPredicate();
+	}
+
+	private AbstractCalculationStrategy<String> sequentialStrategy() {
+		return streaming != null ? streaming : scanner;
+	}
+
+	@Override
+	public String toString() {
+		return "AdaptiveCalculationStrategy[" + profile + ", cache=" + (cache != null) + ", streaming="
+				+ (streaming != null) + "]";
+	}
+
+	/***
+	 * Weight of a cached input.
+	 */
+	private static final class StringLength implements ToLongFunction<String> {
+
+		@Override
+		public long applyAsLong(String input) {
+			return input.length();
+		}
+
+	}
+
+	/***
+	 * <p>
+	 * Configures an {@link AdaptiveCalculationStrategy}. It is not thread safe.
+	 */
+	public static final class Builder {
+
+		private final List<Delimiter<String>> delimiterList;
+
+		private RuleSet rules = RuleSet.DEFAULT;
+
+		private DispatchProfile profile = DispatchProfile.DEFAULT;
+
+		private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+		private int cacheMaximumSize;
+
+		private long cacheMaximumWeight;
+
+		private CalculationMetrics metrics;
+
+		private Builder(List<Delimiter<String>> delimiterList) {
+			if (delimiterList == null || delimiterList.isEmpty()) {
+				throw new IllegalArgumentException("delimiterList can't be null or empty");
+			}
+			this.delimiterList = delimiterList;
+		}
+
+		public Builder rules(RuleSet rules) {
+			if (rules == null) {
+				throw new IllegalArgumentException("rules can't be null");
+			}
+			this.rules = rules;
+			return this;
+		}
+
+		public Builder profile(DispatchProfile profile) {
+			if (profile == null) {
+				throw new IllegalArgumentException("profile can't be null");
+			}
+			this.profile = profile;
+			return this;
+		}
+
+		/***
+		 * @param pool of parallel calculations, common pool by default
+		 * @return this builder
+		 */
+		public Builder pool(ForkJoinPool pool) {
+			if (pool == null) {
+				throw new IllegalArgumentException("pool can't be null");
+			}
+			this.pool = pool;
+			return this;
+		}
+
+		/***
+		 * Enables the CACHED path, see {@link CachingCalculationStrategy}.
+		 *
+		 * @param maximumSize   maximum number of cached inputs
+		 * @param maximumWeight maximum total length of cached inputs
+		 * @return this builder
+		 */
+		public Builder cache(int maximumSize, long maximumWeight) {
+			if (maximumSize <= 0 || maximumWeight <= 0) {
+				throw new IllegalArgumentException("maximumSize and maximumWeight must be positive");
+			}
+			this.cacheMaximumSize = maximumSize;
+			this.cacheMaximumWeight = maximumWeight;
+			return this;
+		}
+
+		/***
+		 * @param metrics chosen paths are recorded into, none by default
+		 * @return this builder
+		 */
+		public Builder metrics(CalculationMetrics metrics) {
+			this.metrics = metrics;
+			return this;
+		}
+
+		public AdaptiveCalculationStrategy build() {
+			return new AdaptiveCalculationStrategy(this);
+		}
+
+	}
+
+}
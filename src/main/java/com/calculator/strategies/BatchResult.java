@@ -0,0 +1,80 @@
+package com.calculator.strategies;
+
+/***
+ * <p>
+ * Outcome of {@link AbstractCalculationStrategy#calculateAll(java.util.List)}
+ * holding, per input, either its sum or the exception its calculation failed
+ * with.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class BatchResult {
+
+	private final int[] results;
+
+	private final RuntimeException[] errors;
+
+	BatchResult(int size) {
+		this.results = new int[size];
+		this.errors = new RuntimeException[size];
+	}
+
+	void success(int index, int result) {
+		results[index] = result;
+	}
+
+	void failure(int index, RuntimeException error) {
+		errors[index] = error;
+	}
+
+	public int size() {
+		return results.length;
+	}
+
+	public boolean isSuccess(int index) {
+		return errors[index] == null;
+	}
+
+	/***
+	 * @param index
+	 * @return sum of input at given index
+	 * @throws RuntimeException the exception calculation of the input failed with
+	 */
+	public int getResult(int index) {
+		if (errors[index] != null) {
+			throw errors[index];
+		}
+		return results[index];
+	}
+
+	/***
+	 * @param index
+	 * @return exception calculation of the input failed with, null if succeeded
+	 */
+	public RuntimeException getError(int index) {
+		return errors[index];
+	}
+
+	/***
+	 * <p>
+	 * Sums of all inputs in input order, 0 for failed ones. Returned array is
+	 * backed by this result and must not be modified.
+	 * 
+	 * @return sums
+	 */
+	public int[] getResults() {
+		return results;
+	}
+
+	public int getErrorCount() {
+		int count = 0;
+		for (RuntimeException error : errors) {
+			if (error != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
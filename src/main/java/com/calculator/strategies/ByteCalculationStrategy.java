@@ -0,0 +1,151 @@
+package com.calculator.strategies;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.ByteDelimiter;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * This is a calculation strategy class, which accepts ASCII bytes held by a
+ * heap or direct {@link ByteBuffer} and parses numbers straight out of them,
+ * without decoding the input into a {@link String}. Remaining bytes of the
+ * buffer, from position to limit, are calculated; position and limit are left
+ * untouched.
+ * 
+ * <p>
+ * Rules are same as {@link StringCalculationStrategy}; every byte outside of
+ * ASCII is an invalid character, and numbers pass through a {@link RuleSet}.
+ * Input may be classified a word of eight bytes at a time, see
+ * {@link NumberScanner#NumberScanner(DelimiterSet, RuleSet, boolean)}.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class ByteCalculationStrategy extends AbstractCalculationStrategy<ByteBuffer> {
+
+	private static final DelimiterSet NO_SEPARATORS = DelimiterSet.of();
+
+	private final List<Delimiter<ByteBuffer>> delimiterList;
+
+	/***
+	 * Compiled separators, null when a delimiter isn't an ASCII
+	 * {@link ByteDelimiter}.
+	 */
+	private final DelimiterSet delimiterSet;
+
+	private final RuleSet rules;
+
+	private final boolean wordAtATime;
+
+	public ByteCalculationStrategy(List<Delimiter<ByteBuffer>> delimiterList) {
+		this(delimiterList, RuleSet.DEFAULT, false);
+	}
+
+	public ByteCalculationStrategy(List<Delimiter<ByteBuffer>> delimiterList, boolean wordAtATime) {
+		this(delimiterList, RuleSet.DEFAULT, wordAtATime);
+	}
+
+	/***
+	 * @param delimiterList
+	 * @param rules         applied to every number
+	 * @param wordAtATime   scan a word at a time when delimiters support it,
+	 *                      byte by byte otherwise
+	 */
+	public ByteCalculationStrategy(List<Delimiter<ByteBuffer>> delimiterList, RuleSet rules, boolean wordAtATime) {
+		if (delimiterList == null || delimiterList.isEmpty()) {
+			throw new RuntimeException("delimiterList can't be null or empty");
+		}
+		if (rules == null) {
+			throw new RuntimeException("rules can't be null");
+		}
+		this.delimiterList = delimiterList;
+		this.delimiterSet = compile(delimiterList);
+		this.rules = rules;
+		this.wordAtATime = wordAtATime;
+	}
+
+	@Override
+	public int calculate(ByteBuffer input) {
+		if (delimiterSet == null) {
+			return super.calculate(input);
+		}
+		return calculateExact(input).intValue();
+	}
+
+	public int calculate(byte[] input) {
+		return calculate(input != null ? ByteBuffer.wrap(input) : null);
+	}
+
+	@Override
+	protected ExactSum calculateExact(ByteBuffer input) {
+		if (delimiterSet == null) {
+			return super.calculateExact(input);
+		}
+		if (input == null) {
+			return new ExactSum();
+		}
+		return new NumberScanner(delimiterSet, rules, wordAtATime).scan(input, input.position(), input.limit()).finishExact();
+	}
+
+	@Override
+	protected void collectStatistics(ByteBuffer input, CalculationStatistics statistics) {
+		if (delimiterSet == null) {
+			super.collectStatistics(input, statistics);
+		} else if (input != null) {
+			new NumberScanner(delimiterSet, rules, wordAtATime).collectInto(statistics)
+					.scan(input, input.position(), input.limit()).separate();
+		}
+	}
+
+	/***
+	 * <p>
+	 * Accepts {@link Stream} of already split tokens and returns sum of all
+	 * numbers, used only when delimiters can't be compiled.
+	 */
+	@Override
+	protected int calculateUsingStream(Stream<ByteBuffer> stream) {
+		return sumUsingStream(stream).intValue();
+	}
+
+	@Override
+	protected ExactSum sumUsingStream(Stream<ByteBuffer> stream) {
+		NumberScanner scanner = new NumberScanner(NO_SEPARATORS, rules, false);
+		stream.forEachOrdered(token -> scanner.scan(token, token.position(), token.limit()).separate());
+		return scanner.finishExact();
+	}
+
+	@Override
+	protected void statisticsUsingStream(Stream<ByteBuffer> stream, CalculationStatistics statistics) {
+		NumberScanner scanner = new NumberScanner(NO_SEPARATORS, rules, false).collectInto(statistics);
+		stream.forEachOrdered(token -> scanner.scan(token, token.position(), token.limit()).separate());
+	}
+
+	@Override
+	protected List<Delimiter<ByteBuffer>> getAllDelimiters() {
+		return delimiterList;
+	}
+
+	@Override
+	protected Predicate<ByteBuffer> nullOrEmptyPredicate() {
+		return buffer -> buffer != null && buffer.hasRemaining();
+	}
+
+	private static DelimiterSet compile(List<Delimiter<ByteBuffer>> delimiterList) {
+		String[] separators = new String[delimiterList.size()];
+		for (int i = 0; i < separators.length; i++) {
+			Delimiter<ByteBuffer> delimiter = delimiterList.get(i);
+			if (!(delimiter instanceof ByteDelimiter) || ((ByteDelimiter) delimiter).getSeparator() < 0) {
+				return null;
+			}
+			separators[i] = String.valueOf((char) ((ByteDelimiter) delimiter).getSeparator());
+		}
+		return DelimiterSet.of(separators);
+	}
+
+}
@@ -0,0 +1,242 @@
+package com.calculator.strategies;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.delimiter.strategies.Delimiter;
+
+/***
+ * <p>
+ * Decorator which memoizes results of another strategy, so identical inputs
+ * are calculated once. Inputs failing with {@link InvalidDelimiterException}
+ * or {@link UnsupportedNumberException} are cached as well and the same
+ * exception is thrown again.
+ * 
+ * <p>
+ * Cache is bounded by number of entries and by total weight, where weight of
+ * an entry is the weight of its input (e.g. its length) plus a fixed overhead.
+ * Entries are spread over independently locked segments, each evicting its
+ * least recently used entries, so there is no global lock. Inputs heavier than
+ * a segment can hold are never cached.
+ * 
+ * @author gaurav.vishal
+ *
+ * @param <T>
+ */
+public class CachingCalculationStrategy<T> extends AbstractCalculationStrategy<T> {
+
+	private static final int SEGMENTS = 16;
+
+	private static final long ENTRY_OVERHEAD = 64;
+
+	private final AbstractCalculationStrategy<T> delegate;
+
+	private final ToLongFunction<T> weigher;
+
+	private final List<Segment> segments;
+
+	private final int segmentMaximumSize;
+
+	private final long segmentMaximumWeight;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	/***
+	 * @param delegate      strategy whose results are cached
+	 * @param maximumSize   maximum number of cached inputs
+	 * @param maximumWeight maximum total weight of cached inputs
+	 * @param weigher       weight of an input, e.g. {@link String#length()}
+	 */
+	public CachingCalculationStrategy(AbstractCalculationStrategy<T> delegate, int maximumSize, long maximumWeight,
+			ToLongFunction<T> weigher) {
+		if (delegate == null || weigher == null) {
+			throw new RuntimeException("delegate and weigher can't be null");
+		}
+		if (maximumSize <= 0 || maximumWeight <= 0) {
+			throw new RuntimeException("maximumSize and maximumWeight must be positive");
+		}
+		this.delegate = delegate;
+		this.weigher = weigher;
+		this.segmentMaximumSize = Math.max(1, (maximumSize + SEGMENTS - 1) / SEGMENTS);
+		this.segmentMaximumWeight = Math.max(1, (maximumWeight + SEGMENTS - 1) / SEGMENTS);
+		this.segments = new ArrayList<>(SEGMENTS);
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments.add(new Segment());
+		}
+	}
+
+	@Override
+	public int calculate(T t) {
+		return cached(t).intValue();
+	}
+
+	@Override
+	protected ExactSum calculateExact(T t) {
+		return cached(t).copy();
+	}
+
+	/***
+	 * Statistics aren't cached, they are gathered by the delegate.
+	 */
+	@Override
+	protected void collectStatistics(T t, CalculationStatistics statistics) {
+		delegate.collectStatistics(t, statistics);
+	}
+
+	private ExactSum cached(T t) {
+		if (t == null) {
+			return delegate.calculateExact(t);
+		}
+		Segment segment = segmentFor(t);
+		Entry entry = segment.get(t);
+		if (entry != null) {
+			hitCount.increment();
+		} else {
+			missCount.increment();
+			try {
+				entry = new Entry(delegate.calculateExact(t), null);
+			} catch (InvalidDelimiterException | UnsupportedNumberException ex) {
+				entry = new Entry(null, ex);
+			}
+			long weight = weigher.applyAsLong(t) + ENTRY_OVERHEAD;
+			if (weight <= segmentMaximumWeight) {
+				segment.put(t, entry, weight);
+			}
+		}
+		if (entry.error != null) {
+			throw entry.error;
+		}
+		return entry.sum;
+	}
+
+	private Segment segmentFor(T t) {
+		int hash = t.hashCode();
+		hash ^= hash >>> 16;
+		return segments.get(hash & (SEGMENTS - 1));
+	}
+
+	AbstractCalculationStrategy<T> getDelegate() {
+		return delegate;
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	public long weight() {
+		long weight = 0;
+		for (Segment segment : segments) {
+			weight += segment.weight();
+		}
+		return weight;
+	}
+
+	@Override
+	protected int calculateUsingStream(Stream<T> stream) {
+		return delegate.calculateUsingStream(stream);
+	}
+
+	@Override
+	protected void statisticsUsingStream(Stream<T> stream, CalculationStatistics statistics) {
+		delegate.statisticsUsingStream(stream, statistics);
+	}
+
+	@Override
+	protected List<Delimiter<T>> getAllDelimiters() {
+		return delegate.getAllDelimiters();
+	}
+
+	@Override
+	protected Predicate<T> nullOrEmptyPredicate() {
+		return delegate.nullOrEmptyPredicate();
+	}
+
+	@Override
+	public String toString() {
+		return "CachingCalculationStrategy[size=" + size() + ", weight=" + weight() + ", hits=" + getHitCount()
+				+ ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+	}
+
+	/***
+	 * Cached sum or exception of an input.
+	 */
+	private static final class Entry {
+
+		private final ExactSum sum;
+
+		private final RuntimeException error;
+
+		private long weight;
+
+		private Entry(ExactSum sum, RuntimeException error) {
+			this.sum = sum;
+			this.error = error;
+		}
+
+	}
+
+	/***
+	 * Least recently used part of the cache, guarded by its own lock.
+	 */
+	private final class Segment {
+
+		private final Map<T, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+		private long weight;
+
+		private synchronized Entry get(T key) {
+			return entries.get(key);
+		}
+
+		private synchronized void put(T key, Entry entry, long entryWeight) {
+			entry.weight = entryWeight;
+			Entry previous = entries.put(key, entry);
+			weight += entryWeight - (previous != null ? previous.weight : 0);
+			Iterator<Entry> eldest = entries.values().iterator();
+			while (weight > segmentMaximumWeight || entries.size() > segmentMaximumSize) {
+				weight -= eldest.next().weight;
+				eldest.remove();
+				evictionCount.increment();
+			}
+		}
+
+		private synchronized int size() {
+			return entries.size();
+		}
+
+		private synchronized long weight() {
+			return weight;
+		}
+
+	}
+
+}
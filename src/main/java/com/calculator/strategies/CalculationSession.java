@@ -0,0 +1,261 @@
+package com.calculator.strategies;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * Running calculation over input which arrives in fragments. Each appended
+ * fragment is scanned once, continuing from the state left by the previous
+ * one, so a number or separator cut at a fragment boundary is completed by the
+ * next fragment. {@link #total()} returns, in constant time, same result as
+ * calculating the concatenation of all fragments appended so far with the
+ * strategy the session is built from.
+ *
+ * <p>
+ * Once an appended fragment completes an invalid or negative number, the
+ * session has failed, same as any longer input would, and every further call
+ * throws that exception again. A pending number which can't be completed yet,
+ * e.g. a trailing <code>+</code>, only fails {@link #total()}.
+ *
+ * <p>
+ * State can be captured with {@link #snapshot()}, serialized through
+ * {@link Snapshot#toBytes()} and restored on another node with
+ * {@link #restore(AbstractCalculationStrategy, Snapshot)}. It is not thread
+ * safe.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class CalculationSession {
+
+	private final DelimiterSet delimiterSet;
+
+	private final NumberScanner scanner;
+
+	private RuntimeException failure;
+
+	/***
+	 * @param strategy a {@link StringCalculationStrategy}, possibly decorated,
+	 *                 whose delimiters expose their separator
+	 * @throws UnsupportedOperationException if the strategy can't be scanned
+	 *                                       incrementally
+	 */
+	public CalculationSession(AbstractCalculationStrategy<String> strategy) {
+		StringCalculationStrategy stringStrategy = unwrap(strategy);
+		this.delimiterSet = delimiterSetOf(stringStrategy);
+		this.scanner = new NumberScanner(delimiterSet, stringStrategy.getRules(), false);
+	}
+
+	/***
+	 * <p>
+	 * Restores a session from its snapshot.
+	 *
+	 * @param strategy same configuration as the strategy of the captured session
+	 * @param snapshot
+	 * @return session
+	 * @throws IllegalArgumentException if the strategy has other delimiters
+	 */
+	public static CalculationSession restore(AbstractCalculationStrategy<String> strategy, Snapshot snapshot) {
+		CalculationSession session = new CalculationSession(strategy);
+		if (!session.delimiterSet.getSeparators().equals(snapshot.separators)) {
+			throw new IllegalArgumentException("Snapshot was captured with other delimiters");
+		}
+		session.scanner.restore(snapshot.state);
+		return session;
+	}
+
+	/***
+	 * <p>
+	 * Appends given fragment.
+	 *
+	 * @param fragment null is ignored
+	 * @return this session
+	 * @throws InvalidDelimiterException   if an invalid number is completed
+	 * @throws UnsupportedNumberException if a rejected number is completed
+	 */
+	public CalculationSession append(String fragment) {
+		checkNotFailed();
+		if (fragment != null) {
+			try {
+				scanner.scan(fragment);
+			} catch (RuntimeException ex) {
+				failure = ex;
+				throw ex;
+			}
+		}
+		return this;
+	}
+
+	/***
+	 * @return sum of all appended fragments, wrapped around
+	 *         {@link Integer#MAX_VALUE}
+	 */
+	public int total() {
+		return totalExact().intValue();
+	}
+
+	/***
+	 * @return sum of all appended fragments
+	 * @throws ArithmeticException if sum doesn't fit into a long
+	 */
+	public long totalAsLong() {
+		return totalExact().longValueExact();
+	}
+
+	public Number total(AccumulationMode mode) {
+		return totalExact().value(mode);
+	}
+
+	/***
+	 * @return number of appended characters
+	 */
+	public long length() {
+		return scanner.getPosition();
+	}
+
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	/***
+	 * @return state of this session
+	 * @throws IllegalStateException if session has failed
+	 */
+	public Snapshot snapshot() {
+		if (failure != null) {
+			throw new IllegalStateException("Failed session can't be captured", failure);
+		}
+		return new Snapshot(delimiterSet.getSeparators(), scanner.snapshot());
+	}
+
+	/***
+	 * Completes pending number on the scanner and puts its state back, so the
+	 * pending number can still be continued by the next fragment.
+	 */
+	private ExactSum totalExact() {
+		checkNotFailed();
+		NumberScanner.State state = scanner.snapshot();
+		try {
+			return scanner.finishExact().copy();
+		} finally {
+			scanner.restore(state);
+		}
+	}
+
+	private void checkNotFailed() {
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private static StringCalculationStrategy unwrap(AbstractCalculationStrategy<String> strategy) {
+		while (true) {
+			if (strategy instanceof CachingCalculationStrategy) {
+				strategy = ((CachingCalculationStrategy<String>) strategy).getDelegate();
+			} else if (strategy instanceof InstrumentedCalculationStrategy) {
+				strategy = ((InstrumentedCalculationStrategy<String>) strategy).getDelegate();
+			} else {
+				break;
+			}
+		}
+		if (strategy instanceof HeaderDelimiterCalculationStrategy) {
+			throw new UnsupportedOperationException("Sessions don't support delimiter headers");
+		}
+		if (!(strategy instanceof StringCalculationStrategy)) {
+			throw new UnsupportedOperationException("Sessions need a StringCalculationStrategy");
+		}
+		return (StringCalculationStrategy) strategy;
+	}
+
+	private static DelimiterSet delimiterSetOf(StringCalculationStrategy strategy) {
+		List<Delimiter<String>> delimiters = strategy.getAllDelimiters();
+		if (delimiters.size() != 1 || !(delimiters.get(0) instanceof DelimiterSet)) {
+			throw new UnsupportedOperationException("Sessions need delimiters exposing their separator");
+		}
+		return (DelimiterSet) delimiters.get(0);
+	}
+
+	/***
+	 * <p>
+	 * Immutable state of a session. Rules aren't part of it, a session has to be
+	 * restored with a strategy of the same rules.
+	 */
+	public static final class Snapshot {
+
+		private static final int VERSION = 2;
+
+		private final List<String> separators;
+
+		private final NumberScanner.State state;
+
+		private Snapshot(List<String> separators, NumberScanner.State state) {
+			this.separators = Collections.unmodifiableList(new ArrayList<>(separators));
+			this.state = state;
+		}
+
+		/***
+		 * @return number of appended characters
+		 */
+		public long length() {
+			return state.getPosition();
+		}
+
+		public byte[] toBytes() {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				out.writeByte(VERSION);
+				out.writeInt(separators.size());
+				for (String separator : separators) {
+					out.writeUTF(separator);
+				}
+				state.writeTo(out);
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			return bytes.toByteArray();
+		}
+
+		/***
+		 * @param bytes written by {@link #toBytes()}
+		 * @return snapshot
+		 * @throws IllegalArgumentException if bytes aren't a valid snapshot
+		 */
+		public static Snapshot fromBytes(byte[] bytes) {
+			try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+				if (in.readByte() != VERSION) {
+					throw new IllegalArgumentException("Unknown snapshot version");
+				}
+				int count = in.readInt();
+				if (count <= 0 || count > bytes.length) {
+					throw new IllegalArgumentException("Invalid snapshot");
+				}
+				List<String> separators = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					separators.add(in.readUTF());
+				}
+				NumberScanner.State state = NumberScanner.State.readFrom(in);
+				if (in.read() != -1) {
+					throw new IllegalArgumentException("Invalid snapshot");
+				}
+				return new Snapshot(separators, state);
+			} catch (IOException ex) {
+				throw new IllegalArgumentException("Invalid snapshot", ex);
+			}
+		}
+
+	}
+
+}
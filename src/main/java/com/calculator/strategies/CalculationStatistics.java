@@ -0,0 +1,186 @@
+package com.calculator.strategies;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/***
+ * <p>
+ * Statistics of the numbers of an input, gathered in the same pass as the sum:
+ * count, exact sum, minimum, maximum and mean of the kept numbers, the number
+ * of numbers ignored by the rules and, optionally, a histogram of the kept
+ * numbers over fixed buckets.
+ *
+ * <p>
+ * Buckets are given by ascending upper bounds <code>b0 &lt; b1 &lt; ... &lt;
+ * bn</code>, bucket <code>i</code> counts numbers in <code>(b(i-1), bi]</code>
+ * and one more bucket counts numbers greater than <code>bn</code>.
+ *
+ * <p>
+ * Statistics of parallel chunks can be merged with
+ * {@link #combine(CalculationStatistics)}, provided they have same buckets. It
+ * is not thread safe.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class CalculationStatistics {
+
+	private static final int[] NO_BUCKETS = new int[0];
+
+	private final ExactSum sum = new ExactSum();
+
+	private long count;
+
+	private int min = Integer.MAX_VALUE;
+
+	private int max = Integer.MIN_VALUE;
+
+	private long ignored;
+
+	private final int[] bucketBounds;
+
+	/***
+	 * One count per bucket, empty without buckets.
+	 */
+	private final long[] bucketCounts;
+
+	/***
+	 * @param bucketBounds ascending upper bounds of the histogram buckets, none
+	 *                     for no histogram
+	 */
+	public CalculationStatistics(int... bucketBounds) {
+		if (bucketBounds == null || bucketBounds.length == 0) {
+			this.bucketBounds = NO_BUCKETS;
+			this.bucketCounts = new long[0];
+			return;
+		}
+		for (int i = 1; i < bucketBounds.length; i++) {
+			if (bucketBounds[i - 1] >= bucketBounds[i]) {
+				throw new IllegalArgumentException("bucketBounds must be ascending");
+			}
+		}
+		this.bucketBounds = bucketBounds.clone();
+		this.bucketCounts = new long[bucketBounds.length + 1];
+	}
+
+	/***
+	 * Records a number kept by the rules.
+	 *
+	 * @param number
+	 */
+	public void accept(int number) {
+		sum.add(number);
+		count++;
+		if (number < min) {
+			min = number;
+		}
+		if (number > max) {
+			max = number;
+		}
+		if (bucketCounts.length > 0) {
+			bucketCounts[bucketOf(number)]++;
+		}
+	}
+
+	/***
+	 * Records a number ignored by the rules.
+	 */
+	public void ignore() {
+		ignored++;
+	}
+
+	/***
+	 * Adds statistics of another chunk to this one.
+	 *
+	 * @param other
+	 * @return this statistics
+	 * @throws IllegalArgumentException if buckets differ
+	 */
+	public CalculationStatistics combine(CalculationStatistics other) {
+		if (!Arrays.equals(bucketBounds, other.bucketBounds)) {
+			throw new IllegalArgumentException("Statistics with other buckets can't be combined");
+		}
+		sum.combine(other.sum);
+		count += other.count;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		ignored += other.ignored;
+		for (int i = 0; i < bucketCounts.length; i++) {
+			bucketCounts[i] += other.bucketCounts[i];
+		}
+		return this;
+	}
+
+	/***
+	 * @return number of kept numbers
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/***
+	 * @return sum of kept numbers
+	 * @throws ArithmeticException if sum doesn't fit into a long
+	 */
+	public long getSum() {
+		return sum.longValueExact();
+	}
+
+	public BigInteger getSumAsBigInteger() {
+		return sum.bigIntegerValue();
+	}
+
+	/***
+	 * @return smallest kept number, {@link Integer#MAX_VALUE} if none, same as
+	 *         {@link java.util.IntSummaryStatistics}
+	 */
+	public int getMin() {
+		return min;
+	}
+
+	/***
+	 * @return greatest kept number, {@link Integer#MIN_VALUE} if none
+	 */
+	public int getMax() {
+		return max;
+	}
+
+	/***
+	 * @return mean of kept numbers, 0 if none
+	 */
+	public double getAverage() {
+		return count > 0 ? sum.bigIntegerValue().doubleValue() / count : 0;
+	}
+
+	/***
+	 * @return number of numbers ignored by the rules
+	 */
+	public long getIgnoredCount() {
+		return ignored;
+	}
+
+	public int[] getBucketBounds() {
+		return bucketBounds.clone();
+	}
+
+	/***
+	 * @return count of each bucket, one more than the bounds; empty without
+	 *         buckets
+	 */
+	public long[] getBucketCounts() {
+		return bucketCounts.clone();
+	}
+
+	private int bucketOf(int number) {
+		int index = Arrays.binarySearch(bucketBounds, number);
+		return index >= 0 ? index : -index - 1;
+	}
+
+	@Override
+	public String toString() {
+		return "CalculationStatistics[count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max
+				+ ", average=" + getAverage() + ", ignored=" + ignored + ", buckets=" + Arrays.toString(bucketCounts)
+				+ "]";
+	}
+
+}
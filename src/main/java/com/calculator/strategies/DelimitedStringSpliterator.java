@@ -0,0 +1,174 @@
+package com.calculator.strategies;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * Splits a range of a string at separator boundaries, so no number is shared
+ * between two ranges, and yields one {@link RangeSum} per range. Splitting
+ * stops at a given minimum range length; ranges are scanned by a
+ * {@link NumberScanner} of their own.
+ *
+ * <p>
+ * A range is only cut right after a single character separator, which always
+ * completes the pending number; input with separators longer than one
+ * character isn't split. Size estimate is the number of characters, so
+ * parallel streams split it in proportion to its length.
+ *
+ * @author gaurav.vishal
+ *
+ */
+final class DelimitedStringSpliterator implements Spliterator<DelimitedStringSpliterator.RangeSum> {
+
+	private final String input;
+
+	private final DelimiterSet delimiters;
+
+	private final RuleSet rules;
+
+	private final int minRange;
+
+	private int from;
+
+	private final int to;
+
+	private boolean consumed;
+
+	/***
+	 * @param input
+	 * @param delimiters
+	 * @param rules
+	 * @param from       inclusive
+	 * @param to         exclusive
+	 * @param minRange   ranges shorter than twice of it aren't split
+	 */
+	DelimitedStringSpliterator(String input, DelimiterSet delimiters, RuleSet rules, int from, int to, int minRange) {
+		this.input = input;
+		this.delimiters = delimiters;
+		this.rules = rules;
+		this.from = from;
+		this.to = to;
+		this.minRange = Math.max(1, minRange);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super RangeSum> action) {
+		if (consumed) {
+			return false;
+		}
+		consumed = true;
+		action.accept(scan());
+		return true;
+	}
+
+	@Override
+	public Spliterator<RangeSum> trySplit() {
+		if (consumed || to - from < 2 * minRange || !delimiters.isSingleCharacter()) {
+			return null;
+		}
+		int cut = nextBoundary(from + (to - from) / 2);
+		if (cut >= to) {
+			return null;
+		}
+		DelimitedStringSpliterator prefix = new DelimitedStringSpliterator(input, delimiters, rules, from, cut,
+				minRange);
+		from = cut;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return consumed ? 0 : to - from;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+
+	/***
+	 * @return index right after the first separator at or after given index, or
+	 *         end of range
+	 */
+	private int nextBoundary(int index) {
+		for (int i = index; i < to; i++) {
+			if (delimiters.isSeparator(input.charAt(i))) {
+				return i + 1;
+			}
+		}
+		return to;
+	}
+
+	private RangeSum scan() {
+		NumberScanner scanner = new NumberScanner(delimiters, rules, false);
+		try {
+			return new RangeSum(scanner.scan(input, from, to).finishExact(), null, -1, 0);
+		} catch (RuntimeException ex) {
+			return new RangeSum(null, ex, from + scanner.getErrorOffset(), scanner.getErrorLength());
+		}
+	}
+
+	/***
+	 * <p>
+	 * Sum of a range, or first error of that range along with its offset in the
+	 * whole input.
+	 */
+	static final class RangeSum {
+
+		static final RangeSum EMPTY = new RangeSum(new ExactSum(), null, -1, 0);
+
+		private final ExactSum sum;
+
+		private final RuntimeException error;
+
+		private final long errorOffset;
+
+		private final int errorLength;
+
+		private RangeSum(ExactSum sum, RuntimeException error, long errorOffset, int errorLength) {
+			this.sum = sum;
+			this.error = error;
+			this.errorOffset = errorOffset;
+			this.errorLength = errorLength;
+		}
+
+		/***
+		 * @param right range following this one
+		 * @return sum of both ranges, or the first error in input order
+		 */
+		RangeSum combine(RangeSum right) {
+			if (error != null) {
+				return this;
+			}
+			if (right.error != null || this == EMPTY) {
+				return right;
+			}
+			if (right == EMPTY) {
+				return this;
+			}
+			return new RangeSum(sum.copy().combine(right.sum), null, -1, 0);
+		}
+
+		ExactSum getSum() {
+			return sum;
+		}
+
+		RuntimeException getError() {
+			return error;
+		}
+
+		long getErrorOffset() {
+			return errorOffset;
+		}
+
+		int getErrorLength() {
+			return errorLength;
+		}
+
+	}
+
+}
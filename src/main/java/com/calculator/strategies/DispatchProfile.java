@@ -0,0 +1,189 @@
+package com.calculator.strategies;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * Thresholds of {@link AdaptiveCalculationStrategy}: strings at least
+ * {@link #getParallelThreshold()} characters long are summed in parallel and
+ * strings at most {@link #getCacheMaxLength()} characters long go through the
+ * result cache.
+ *
+ * <p>
+ * A profile is either the default one, loaded from a properties file written
+ * by {@link #store(Path)}, or calibrated on the running machine by
+ * {@link #calibrate(ScannerCalculationStrategy, ForkJoinPool)}. Only the
+ * parallel threshold is measured. The cache cutoff is static: whether caching
+ * pays depends on how often inputs repeat, which timing can't tell, so it is
+ * kept from {@link #DEFAULT} unless set in a profile file. It is immutable.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class DispatchProfile {
+
+	static final String PARALLEL_THRESHOLD_KEY = "parallelThreshold";
+
+	static final String CACHE_MAX_LENGTH_KEY = "cacheMaxLength";
+
+	/***
+	 * Parallel threshold of {@link ScannerCalculationStrategy} and inputs of
+	 * about a thousand characters cached.
+	 */
+	public static final DispatchProfile DEFAULT = new DispatchProfile(ScannerCalculationStrategy.PARALLEL_THRESHOLD,
+			1024);
+
+	/***
+	 * Input lengths tried by calibration, doubling from the smallest one.
+	 */
+	private static final int MIN_CALIBRATION_LENGTH = 1 << 14;
+
+	private static final int MAX_CALIBRATION_LENGTH = 1 << 22;
+
+	private static final int CALIBRATION_ROUNDS = 5;
+
+	/***
+	 * Parallel sum has to be at least this much faster than sequential sum.
+	 */
+	private static final double MIN_SPEEDUP = 1.25;
+
+	private final int parallelThreshold;
+
+	private final int cacheMaxLength;
+
+	/***
+	 * @param parallelThreshold {@link Integer#MAX_VALUE} to never sum in
+	 *                          parallel
+	 * @param cacheMaxLength    -1 to never cache
+	 */
+	public DispatchProfile(int parallelThreshold, int cacheMaxLength) {
+		if (parallelThreshold < 0) {
+			throw new IllegalArgumentException("parallelThreshold can't be negative");
+		}
+		if (cacheMaxLength < -1) {
+			throw new IllegalArgumentException("cacheMaxLength can't be less than -1");
+		}
+		this.parallelThreshold = parallelThreshold;
+		this.cacheMaxLength = cacheMaxLength;
+	}
+
+	/***
+	 * <p>
+	 * Loads a profile written by {@link #store(Path)}; missing thresholds are
+	 * taken from {@link #DEFAULT}.
+	 *
+	 * @param path
+	 * @return profile
+	 * @throws IOException
+	 * @throws IllegalArgumentException if a threshold isn't a valid number
+	 */
+	public static DispatchProfile load(Path path) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(path)) {
+			properties.load(in);
+		}
+		try {
+			return new DispatchProfile(
+					Integer.parseInt(properties.getProperty(PARALLEL_THRESHOLD_KEY,
+							String.valueOf(DEFAULT.parallelThreshold))),
+					Integer.parseInt(
+							properties.getProperty(CACHE_MAX_LENGTH_KEY, String.valueOf(DEFAULT.cacheMaxLength))));
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid dispatch profile " + path, ex);
+		}
+	}
+
+	public void store(Path path) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty(PARALLEL_THRESHOLD_KEY, String.valueOf(parallelThreshold));
+		properties.setProperty(CACHE_MAX_LENGTH_KEY, String.valueOf(cacheMaxLength));
+		try (OutputStream out = Files.newOutputStream(path)) {
+			properties.store(out, "Calculator dispatch profile");
+		}
+	}
+
+	/***
+	 * <p>
+	 * Measures sequential and parallel sums of generated strings of doubling
+	 * lengths, from 16K to 4M characters, with given strategy and pool. Parallel
+	 * threshold is the shortest length from which parallel sums are faster by a
+	 * margin, at every longer length too; if there is none, e.g. on a single
+	 * core, parallel sums are disabled. Cache cutoff is kept from
+	 * {@link #DEFAULT}. Takes up to about a second.
+	 *
+	 * @param strategy
+	 * @param pool
+	 * @return calibrated profile
+	 */
+	public static DispatchProfile calibrate(ScannerCalculationStrategy strategy, ForkJoinPool pool) {
+		DelimiterSet delimiters = strategy.getDelimiterSet();
+		if (delimiters == null || !strategy.canSplit(pool)) {
+			return new DispatchProfile(Integer.MAX_VALUE, DEFAULT.cacheMaxLength);
+		}
+		String input = generate(MAX_CALIBRATION_LENGTH, delimiters.getSeparators());
+		int threshold = Integer.MAX_VALUE;
+		for (int length = MAX_CALIBRATION_LENGTH; length >= MIN_CALIBRATION_LENGTH; length /= 2) {
+			String prefix = input.substring(0, length);
+			if (bestNanos(strategy, pool, prefix, false) < MIN_SPEEDUP * bestNanos(strategy, pool, prefix, true)) {
+				break;
+			}
+			threshold = length;
+		}
+		return new DispatchProfile(threshold, DEFAULT.cacheMaxLength);
+	}
+
+	/***
+	 * @return best time of a few rounds, after an untimed one
+	 */
+	private static long bestNanos(ScannerCalculationStrategy strategy, ForkJoinPool pool, String input,
+			boolean parallel) {
+		long best = Long.MAX_VALUE;
+		for (int round = 0; round <= CALIBRATION_ROUNDS; round++) {
+			long start = System.nanoTime();
+			if (parallel) {
+				strategy.sumParallel(input, pool);
+			} else {
+				strategy.calculateExact(input);
+			}
+			long elapsed = System.nanoTime() - start;
+			if (round > 0) {
+				best = Math.min(best, elapsed);
+			}
+		}
+		return best;
+	}
+
+	/***
+	 * Numbers of one or two digits, separated by each separator in turn.
+	 */
+	private static String generate(int length, List<String> separators) {
+		StringBuilder builder = new StringBuilder(length + 16);
+		for (int i = 0; builder.length() < length; i++) {
+			builder.append((i * 37) % 100).append(separators.get(i % separators.size()));
+		}
+		return builder.toString();
+	}
+
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	public int getCacheMaxLength() {
+		return cacheMaxLength;
+	}
+
+	@Override
+	public String toString() {
+		return "DispatchProfile[parallelThreshold=" + parallelThreshold + ", cacheMaxLength=" + cacheMaxLength + "]";
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.calculator.strategies;
+
+import java.math.BigInteger;
+
+/***
+ * <p>
+ * Mutable sum which never loses precision. Values are added to a plain long
+ * and every overflow is counted as a carry of 2<sup>64</sup>, so the common
+ * case costs one addition and a well predicted branch, while the exact value
+ * is still available as {@link BigInteger}.
+ * 
+ * <p>
+ * Partial sums, e.g. of parallel chunks, can be merged with
+ * {@link #combine(ExactSum)}. It is not thread safe.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class ExactSum {
+
+	private long sum;
+
+	private long carry;
+
+	public static ExactSum of(long value) {
+		ExactSum exactSum = new ExactSum();
+		exactSum.add(value);
+		return exactSum;
+	}
+
+	public void add(long value) {
+		long result = sum + value;
+		if (((sum ^ result) & (value ^ result)) < 0) {
+			carry += value < 0 ? -1 : 1;
+		}
+		sum = result;
+	}
+
+	public ExactSum combine(ExactSum other) {
+		add(other.sum);
+		carry += other.carry;
+		return this;
+	}
+
+	public ExactSum copy() {
+		ExactSum copy = new ExactSum();
+		copy.sum = sum;
+		copy.carry = carry;
+		return copy;
+	}
+
+	public void reset() {
+		sum = 0;
+		carry = 0;
+	}
+
+	/***
+	 * Low 64 bits of the sum.
+	 */
+	long getLow() {
+		return sum;
+	}
+
+	/***
+	 * Number of 2<sup>64</sup> carries, negative for borrows.
+	 */
+	long getCarry() {
+		return carry;
+	}
+
+	void set(long low, long carry) {
+		this.sum = low;
+		this.carry = carry;
+	}
+
+	/***
+	 * @return sum wrapped around {@link Integer#MAX_VALUE}, same as
+	 *         {@link java.util.stream.IntStream#sum()} does
+	 */
+	public int intValue() {
+		return (int) sum;
+	}
+
+	/***
+	 * @return sum
+	 * @throws ArithmeticException if sum doesn't fit into a long
+	 */
+	public long longValueExact() {
+		if (carry != 0) {
+			throw new ArithmeticException("long overflow");
+		}
+		return sum;
+	}
+
+	public BigInteger bigIntegerValue() {
+		BigInteger value = BigInteger.valueOf(sum);
+		return carry == 0 ? value : value.add(BigInteger.valueOf(carry).shiftLeft(Long.SIZE));
+	}
+
+	/***
+	 * @param mode
+	 * @return sum as {@link Integer}, {@link Long} or {@link BigInteger}
+	 */
+	public Number value(AccumulationMode mode) {
+		switch (mode) {
+		case LONG:
+			return longValueExact();
+		case BIG_INTEGER:
+			return bigIntegerValue();
+		default:
+			return intValue();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return bigIntegerValue().toString();
+	}
+
+}
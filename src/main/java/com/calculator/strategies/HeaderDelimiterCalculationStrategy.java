@@ -0,0 +1,131 @@
+package com.calculator.strategies;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+import com.delimiter.strategies.DelimiterSetCache;
+
+/***
+ * <p>
+ * Scanner calculation strategy which additionally accepts delimiters declared
+ * by the input itself in a header line, e.g. <code>//;\n1;2;3</code> or
+ * <code>//[***][%]\n1***2%3</code>. Declared delimiters are used along with the
+ * configured ones.
+ * 
+ * <p>
+ * Each distinct header is compiled into a {@link DelimiterSet} once and kept in
+ * a bounded {@link DelimiterSetCache}, so repeated headers don't pay the
+ * compile cost and unique headers can't grow memory without bound.
+ * 
+ * <p>
+ * An invalid or rejected number following a header is reported with its
+ * offset in the given input, header included, its index and its token.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class HeaderDelimiterCalculationStrategy extends ScannerCalculationStrategy {
+
+	static final String HEADER_PREFIX = "//";
+
+	static final String INVALID_HEADER_MESSAGE = "Invalid delimiter header";
+
+	private static final int DEFAULT_CACHE_CAPACITY = 1024;
+
+	private static final int MAX_SPEC_LENGTH = 256;
+
+	private final DelimiterSetCache cache;
+
+	public HeaderDelimiterCalculationStrategy(List<Delimiter<String>> delimiterList) {
+		this(delimiterList, DEFAULT_CACHE_CAPACITY);
+	}
+
+	public HeaderDelimiterCalculationStrategy(List<Delimiter<String>> delimiterList, int cacheCapacity) {
+		this(delimiterList, RuleSet.DEFAULT, cacheCapacity);
+	}
+
+	public HeaderDelimiterCalculationStrategy(List<Delimiter<String>> delimiterList, RuleSet rules,
+			int cacheCapacity) {
+		super(delimiterList, rules);
+		if (getDelimiterSet() == null) {
+			throw new IllegalArgumentException("Header delimiters need delimiters exposing their separator");
+		}
+		this.cache = new DelimiterSetCache(cacheCapacity);
+	}
+
+	/***
+	 * <p>
+	 * Input with a delimiter header is summed sequentially.
+	 */
+	@Override
+	public long calculateParallel(String input, ForkJoinPool pool) {
+		if (input != null && input.startsWith(HEADER_PREFIX)) {
+			return calculateAsLong(input);
+		}
+		return super.calculateParallel(input, pool);
+	}
+
+	/***
+	 * <p>
+	 * Scans input after the header line, if any, with configured delimiters plus
+	 * the declared ones.
+	 * 
+	 * @throws InvalidDelimiterException if header is malformed
+	 */
+	@Override
+	protected ExactSum scan(NumberScanner scanner, String input) {
+		if (!input.startsWith(HEADER_PREFIX)) {
+			return super.scan(scanner, input);
+		}
+		int newLine = input.indexOf('\n', HEADER_PREFIX.length());
+		if (newLine < 0 || newLine - HEADER_PREFIX.length() > MAX_SPEC_LENGTH) {
+			throw new InvalidDelimiterException(INVALID_HEADER_MESSAGE);
+		}
+		DelimiterSet delimiterSet = cache.get(input.substring(HEADER_PREFIX.length(), newLine), this::compile);
+		return new NumberScanner(delimiterSet, getRules(), false).collectInto(scanner.getStatistics())
+				.locateErrors(input, newLine + 1).scan(input, newLine + 1, input.length()).finishExact();
+	}
+
+	public DelimiterSetCache getCache() {
+		return cache;
+	}
+
+	private DelimiterSet compile(String spec) {
+		return DelimiterSet.compile(Arrays.asList(getDelimiterSet(), DelimiterSet.of(parse(spec))));
+	}
+
+	/***
+	 * <p>
+	 * Parses a delimiter spec, either a list of bracketed delimiters like
+	 * <code>[***][%]</code> or a single delimiter like <code>;</code>.
+	 * 
+	 * @param spec
+	 * @return declared separators
+	 */
+	private static String[] parse(String spec) {
+		if (spec.isEmpty()) {
+			throw new InvalidDelimiterException(INVALID_HEADER_MESSAGE);
+		}
+		if (spec.charAt(0) != '[') {
+			return new String[] { spec };
+		}
+		List<String> separators = new ArrayList<>();
+		int index = 0;
+		while (index < spec.length()) {
+			int close = spec.indexOf(']', index + 1);
+			if (spec.charAt(index) != '[' || close < 0 || close == index + 1) {
+				throw new InvalidDelimiterException(INVALID_HEADER_MESSAGE);
+			}
+			separators.add(spec.substring(index + 1, close));
+			index = close + 1;
+		}
+		return separators.toArray(new String[separators.size()]);
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.calculator.strategies;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * Rejects malformed input with a single scan, before it is split into tokens.
+ * Input is checked with the same grammar and rules as calculation, so an input
+ * passing validation can't fail calculation with
+ * {@link InvalidDelimiterException} or {@link UnsupportedNumberException}.
+ * 
+ * <p>
+ * The first offending number is reported with a stackless exception carrying
+ * its character offset, its index among non blank tokens and the token
+ * itself, so rejecting a flood of invalid input costs about as much as
+ * scanning it. It is immutable and thread safe.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class InputValidator {
+
+	/***
+	 * Longer offending tokens are cut to this many characters.
+	 */
+	static final int MAX_TOKEN_LENGTH = 64;
+
+	private final DelimiterSet delimiters;
+
+	private final RuleSet rules;
+
+	public InputValidator(DelimiterSet delimiters, RuleSet rules) {
+		if (delimiters == null || rules == null) {
+			throw new RuntimeException("delimiters and rules can't be null");
+		}
+		this.delimiters = delimiters;
+		this.rules = rules;
+	}
+
+	/***
+	 * @param input null is valid
+	 * @throws InvalidDelimiterException   for the first invalid number
+	 * @throws UnsupportedNumberException for the first rejected number
+	 */
+	public void validate(String input) {
+		if (input == null) {
+			return;
+		}
+		new NumberScanner(delimiters, rules, false).locateErrors(input, 0).scan(input).separate();
+	}
+
+	/***
+	 * <p>
+	 * Copies given exception into a stackless one of the same type, located in
+	 * given input.
+	 * 
+	 * @param ex
+	 * @param input
+	 * @param offset     of the offending token
+	 * @param length     of the offending token
+	 * @param tokenIndex -1 if unknown
+	 * @return located exception, or given one if its type is unknown
+	 */
+	static RuntimeException locate(RuntimeException ex, String input, long offset, int length, long tokenIndex) {
+		String token = input.substring((int) offset, (int) offset + Math.min(length, MAX_TOKEN_LENGTH));
+		if (ex instanceof InvalidDelimiterException) {
+			return new InvalidDelimiterException(((InvalidDelimiterException) ex).getReason(), offset, tokenIndex,
+					token);
+		}
+		if (ex instanceof UnsupportedNumberException) {
+			return new UnsupportedNumberException(((UnsupportedNumberException) ex).getReason(), offset, tokenIndex,
+					token);
+		}
+		return ex;
+	}
+
+}
@@ -0,0 +1,150 @@
+package com.calculator.strategies;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import com.calculator.metrics.CalculationMetrics;
+import com.calculator.metrics.Instrumentation;
+import com.calculator.metrics.TokenCounters;
+import com.delimiter.strategies.Delimiter;
+
+/***
+ * <p>
+ * Decorator which records latency, input size and exceptions of every
+ * calculation of another strategy into a {@link CalculationMetrics}.
+ *
+ * <p>
+ * Token counts and tokens ignored by each rule are collected by scanners into
+ * per thread {@link TokenCounters} and reported once per call. They are only
+ * collected while {@link Instrumentation#ENABLED} is set; otherwise the
+ * counting code is removed by the JIT compiler and only calls, latencies,
+ * sizes and exceptions are recorded.
+ *
+ * @author gaurav.vishal
+ *
+ * @param <T>
+ */
+public class InstrumentedCalculationStrategy<T> extends AbstractCalculationStrategy<T> {
+
+	private final AbstractCalculationStrategy<T> delegate;
+
+	private final CalculationMetrics metrics;
+
+	private final ToLongFunction<T> sizer;
+
+	/***
+	 * @param delegate strategy to instrument
+	 * @param metrics
+	 * @param sizer    size of an input, e.g. {@link String#length()}
+	 */
+	public InstrumentedCalculationStrategy(AbstractCalculationStrategy<T> delegate, CalculationMetrics metrics,
+			ToLongFunction<T> sizer) {
+		if (delegate == null || metrics == null || sizer == null) {
+			throw new RuntimeException("delegate, metrics and sizer can't be null");
+		}
+		this.delegate = delegate;
+		this.metrics = metrics;
+		this.sizer = sizer;
+	}
+
+	@Override
+	public int calculate(T t) {
+		TokenCounters counters = begin();
+		long start = System.nanoTime();
+		try {
+			return delegate.calculate(t);
+		} catch (RuntimeException ex) {
+			metrics.recordException(ex.getClass());
+			throw ex;
+		} finally {
+			end(t, start, counters);
+		}
+	}
+
+	@Override
+	protected ExactSum calculateExact(T t) {
+		TokenCounters counters = begin();
+		long start = System.nanoTime();
+		try {
+			return delegate.calculateExact(t);
+		} catch (RuntimeException ex) {
+			metrics.recordException(ex.getClass());
+			throw ex;
+		} finally {
+			end(t, start, counters);
+		}
+	}
+
+	@Override
+	protected void collectStatistics(T t, CalculationStatistics statistics) {
+		TokenCounters counters = begin();
+		long start = System.nanoTime();
+		try {
+			delegate.collectStatistics(t, statistics);
+		} catch (RuntimeException ex) {
+			metrics.recordException(ex.getClass());
+			throw ex;
+		} finally {
+			end(t, start, counters);
+		}
+	}
+
+	AbstractCalculationStrategy<T> getDelegate() {
+		return delegate;
+	}
+
+	public CalculationMetrics getMetrics() {
+		return metrics;
+	}
+
+	private static TokenCounters begin() {
+		if (!Instrumentation.ENABLED) {
+			return null;
+		}
+		TokenCounters counters = TokenCounters.current();
+		counters.reset();
+		return counters;
+	}
+
+	private void end(T t, long start, TokenCounters counters) {
+		metrics.recordCall(System.nanoTime() - start, t != null ? sizer.applyAsLong(t) : 0);
+		if (Instrumentation.ENABLED) {
+			metrics.recordTokens(counters.getTokens());
+			for (int rule = 0; rule < counters.getRuleCount(); rule++) {
+				long filtered = counters.getFiltered(rule);
+				if (filtered > 0) {
+					metrics.recordFiltered(rule, filtered);
+				}
+			}
+			counters.reset();
+		}
+	}
+
+	@Override
+	protected int calculateUsingStream(Stream<T> stream) {
+		return delegate.calculateUsingStream(stream);
+	}
+
+	@Override
+	protected void statisticsUsingStream(Stream<T> stream, CalculationStatistics statistics) {
+		delegate.statisticsUsingStream(stream, statistics);
+	}
+
+	@Override
+	protected List<Delimiter<T>> getAllDelimiters() {
+		return delegate.getAllDelimiters();
+	}
+
+	@Override
+	protected Predicate<T> nullOrEmptyPredicate() {
+		return delegate.nullOrEmptyPredicate();
+	}
+
+	@Override
+	public String toString() {
+		return "InstrumentedCalculationStrategy[" + delegate + ", " + metrics + "]";
+	}
+
+}
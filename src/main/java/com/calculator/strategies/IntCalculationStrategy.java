@@ -0,0 +1,287 @@
+package com.calculator.strategies;
+
+import java.nio.IntBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.Delimiter;
+
+/***
+ * <p>
+ * This is a calculation strategy class, which accepts numbers already held by
+ * an <code>int[]</code> or by a heap or direct {@link IntBuffer}, e.g. a view
+ * of an off-heap column, and sums them without formatting them into a
+ * delimited {@link String}. Remaining numbers of the buffer, from position to
+ * limit, are calculated; position and limit are left untouched.
+ *
+ * <p>
+ * Numbers pass through a {@link RuleSet}, same as
+ * {@link StringCalculationStrategy}. With range rules only, numbers are summed
+ * four at a time into independent accumulators and only a group holding a
+ * number outside of the range goes through the rules. Direct buffers are
+ * copied into a scratch array chunk by chunk first. Very large inputs can be
+ * summed in parallel, see {@link #calculateParallel(IntBuffer, ForkJoinPool)}.
+ *
+ * <p>
+ * A rejected number is reported with its index, relative to the position of
+ * the buffer, as token index of the {@link UnsupportedNumberException}.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class IntCalculationStrategy extends AbstractCalculationStrategy<IntBuffer> {
+
+	private static final int CHUNK_SIZE = 4096;
+
+	/***
+	 * Parallel ranges aren't split below this many numbers.
+	 */
+	private static final int MIN_PARALLEL_RANGE = 1 << 16;
+
+	private static final int RANGES_PER_THREAD = 4;
+
+	private final RuleSet rules;
+
+	private final boolean rangeOnly;
+
+	private final int low;
+
+	/***
+	 * high - low with sign bit flipped, so a signed comparison of a flipped
+	 * difference is an unsigned one.
+	 */
+	private final int flippedSpan;
+
+	public IntCalculationStrategy() {
+		this(RuleSet.DEFAULT);
+	}
+
+	/***
+	 * @param rules applied to every number
+	 */
+	public IntCalculationStrategy(RuleSet rules) {
+		if (rules == null) {
+			throw new RuntimeException("rules can't be null");
+		}
+		this.rules = rules;
+		this.rangeOnly = rules.isRangeOnly();
+		this.low = rules.getLow();
+		this.flippedSpan = (rules.getHigh() - rules.getLow()) ^ Integer.MIN_VALUE;
+	}
+
+	@Override
+	public int calculate(IntBuffer input) {
+		return calculateExact(input).intValue();
+	}
+
+	public int calculate(int[] input) {
+		return calculate(input != null ? IntBuffer.wrap(input) : null);
+	}
+
+	@Override
+	protected ExactSum calculateExact(IntBuffer input) {
+		if (input == null) {
+			return new ExactSum();
+		}
+		// at most 2^31 ints, their sum can't overflow a long
+		return ExactSum.of(sum(input, input.position(), input.limit(), new int[scratchSize(input)]));
+	}
+
+	/***
+	 * <p>
+	 * Sums given buffer in parallel on the common {@link ForkJoinPool}.
+	 *
+	 * @param input
+	 * @return sum, which doesn't wrap around {@link Integer#MAX_VALUE}
+	 */
+	public long calculateParallel(IntBuffer input) {
+		return calculateParallel(input, ForkJoinPool.commonPool());
+	}
+
+	/***
+	 * <p>
+	 * Splits remaining numbers of given buffer into ranges and sums them with a
+	 * parallel stream running on given pool. Buffers shorter than two ranges are
+	 * summed sequentially. If the buffer holds more than one rejected number,
+	 * the first one is reported.
+	 *
+	 * @param input
+	 * @param pool
+	 * @return sum, which doesn't wrap around {@link Integer#MAX_VALUE}
+	 */
+	public long calculateParallel(IntBuffer input, ForkJoinPool pool) {
+		if (input == null) {
+			return 0;
+		}
+		int from = input.position();
+		int size = input.remaining();
+		int ranges = Math.min(size / MIN_PARALLEL_RANGE, pool.getParallelism() * RANGES_PER_THREAD);
+		if (ranges <= 1 || pool.getParallelism() <= 1) {
+			return calculateAsLong(input);
+		}
+		long[] sums = new long[ranges];
+		RuntimeException[] errors = new RuntimeException[ranges];
+		pool.submit(() -> IntStream.range(0, ranges).parallel().forEach(range -> {
+			int start = from + (int) ((long) size * range / ranges);
+			int end = from + (int) ((long) size * (range + 1) / ranges);
+			try {
+				sums[range] = sum(input, start, end, new int[scratchSize(input)]);
+			} catch (UnsupportedNumberException ex) {
+				errors[range] = ex;
+			}
+		})).join();
+		long sum = 0;
+		for (int range = 0; range < ranges; range++) {
+			if (errors[range] != null) {
+				throw errors[range];
+			}
+			sum += sums[range];
+		}
+		return sum;
+	}
+
+	@Override
+	protected void collectStatistics(IntBuffer input, CalculationStatistics statistics) {
+		if (input == null) {
+			return;
+		}
+		int from = input.position();
+		for (int i = from; i < input.limit(); i++) {
+			int number = input.get(i);
+			if (decide(number, i - from) < 0) {
+				statistics.accept(number);
+			} else {
+				statistics.ignore();
+			}
+		}
+	}
+
+	/***
+	 * <p>
+	 * Accepts {@link Stream} of buffers and returns sum of all their numbers.
+	 */
+	@Override
+	protected int calculateUsingStream(Stream<IntBuffer> stream) {
+		return sumUsingStream(stream).intValue();
+	}
+
+	@Override
+	protected ExactSum sumUsingStream(Stream<IntBuffer> stream) {
+		ExactSum sum = new ExactSum();
+		stream.forEachOrdered(buffer -> sum.combine(calculateExact(buffer)));
+		return sum;
+	}
+
+	@Override
+	protected void statisticsUsingStream(Stream<IntBuffer> stream, CalculationStatistics statistics) {
+		stream.forEachOrdered(buffer -> collectStatistics(buffer, statistics));
+	}
+
+	/***
+	 * Numbers aren't delimited.
+	 */
+	@Override
+	protected List<Delimiter<IntBuffer>> getAllDelimiters() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	protected Predicate<IntBuffer> nullOrEmptyPredicate() {
+		return buffer -> buffer != null && buffer.hasRemaining();
+	}
+
+	public RuleSet getRules() {
+		return rules;
+	}
+
+	/***
+	 * Sums range [from, to) of given buffer, through its backing array if it
+	 * has one, through given scratch array otherwise.
+	 */
+	private long sum(IntBuffer input, int from, int to, int[] scratch) {
+		int origin = input.position();
+		if (input.hasArray()) {
+			int offset = input.arrayOffset();
+			return sum(input.array(), offset + from, offset + to, from - origin);
+		}
+		// bulk copy, position of the given buffer is left untouched
+		IntBuffer source = input.duplicate();
+		source.position(from);
+		long sum = 0;
+		for (int start = from; start < to; start += scratch.length) {
+			int length = Math.min(scratch.length, to - start);
+			source.get(scratch, 0, length);
+			sum += sum(scratch, 0, length, start - origin);
+		}
+		return sum;
+	}
+
+	/***
+	 * @param index of the number at from, for exceptions only
+	 */
+	private long sum(int[] numbers, int from, int to, long index) {
+		if (!rangeOnly) {
+			long sum = 0;
+			for (int i = from; i < to; i++) {
+				if (decide(numbers[i], index + i - from) < 0) {
+					sum += numbers[i];
+				}
+			}
+			return sum;
+		}
+		long sum0 = 0;
+		long sum1 = 0;
+		long sum2 = 0;
+		long sum3 = 0;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			int a = numbers[i];
+			int b = numbers[i + 1];
+			int c = numbers[i + 2];
+			int d = numbers[i + 3];
+			if (outside(a) | outside(b) | outside(c) | outside(d)) {
+				long at = index + i - from;
+				sum0 += kept(a, at) + kept(b, at + 1) + kept(c, at + 2) + kept(d, at + 3);
+			} else {
+				sum0 += a;
+				sum1 += b;
+				sum2 += c;
+				sum3 += d;
+			}
+		}
+		for (; i < to; i++) {
+			sum0 += outside(numbers[i]) ? kept(numbers[i], index + i - from) : numbers[i];
+		}
+		return sum0 + sum1 + sum2 + sum3;
+	}
+
+	private boolean outside(int number) {
+		return ((number - low) ^ Integer.MIN_VALUE) > flippedSpan;
+	}
+
+	/***
+	 * @return given number if rules keep it, 0 otherwise
+	 */
+	private long kept(int number, long index) {
+		return decide(number, index) < 0 ? number : 0;
+	}
+
+	private int decide(int number, long index) {
+		try {
+			return rules.decide(number);
+		} catch (UnsupportedNumberException ex) {
+			throw new UnsupportedNumberException(ex.getReason(), -1, index, Integer.toString(number));
+		}
+	}
+
+	private static int scratchSize(IntBuffer input) {
+		return input.hasArray() ? 0 : Math.min(CHUNK_SIZE, Math.max(1, input.remaining()));
+	}
+
+}
@@ -0,0 +1,264 @@
+package com.calculator.strategies;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * Sums a delimited ASCII file in parallel. File is cut into chunks whose
+ * boundaries are moved forward to the next separator, so no number is shared
+ * between two chunks. Each chunk is memory mapped on its own, hence files
+ * larger than 2 GB are supported, and scanned by a {@link NumberScanner} on a
+ * {@link ForkJoinPool}.
+ * 
+ * <p>
+ * When more than one chunk fails, the exception of the first chunk in file
+ * order is thrown, so the reported error is same as a sequential scan would
+ * report. It is located at the byte offset of the offending number.
+ * 
+ * <p>
+ * Statistics of the file are gathered the same way, per chunk in the same pass
+ * as the sum, and merged.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+final class MappedFileCalculation {
+
+	private static final long MIN_CHUNK_SIZE = 1L << 20;
+
+	private static final long MAX_CHUNK_SIZE = 1L << 28;
+
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private static final int PROBE_SIZE = 4096;
+
+	private final DelimiterSet delimiters;
+
+	private final RuleSet rules;
+
+	private final boolean wordAtATime;
+
+	private final FileChannel channel;
+
+	/***
+	 * Histogram buckets of gathered statistics, null to sum only.
+	 */
+	private final int[] bucketBounds;
+
+	private MappedFileCalculation(DelimiterSet delimiters, RuleSet rules, boolean wordAtATime, FileChannel channel,
+			int[] bucketBounds) {
+		this.delimiters = delimiters;
+		this.rules = rules;
+		this.wordAtATime = wordAtATime;
+		this.channel = channel;
+		this.bucketBounds = bucketBounds;
+	}
+
+	static long calculate(DelimiterSet delimiters, RuleSet rules, boolean wordAtATime, Path path,
+			ForkJoinPool pool) throws IOException {
+		return run(delimiters, rules, wordAtATime, path, pool, null).sum.longValueExact();
+	}
+
+	/***
+	 * <p>
+	 * Gathers statistics of given file in parallel.
+	 * 
+	 * @param delimiters   single character separators
+	 * @param rules
+	 * @param wordAtATime
+	 * @param path
+	 * @param pool
+	 * @param bucketBounds ascending upper bounds of histogram buckets
+	 * @return statistics
+	 * @throws IOException
+	 */
+	static CalculationStatistics statistics(DelimiterSet delimiters, RuleSet rules, boolean wordAtATime, Path path,
+			ForkJoinPool pool, int[] bucketBounds) throws IOException {
+		// validates bounds before any chunk is scanned
+		int[] bounds = new CalculationStatistics(bucketBounds).getBucketBounds();
+		return run(delimiters, rules, wordAtATime, path, pool, bounds).statistics;
+	}
+
+	private static ChunkResult run(DelimiterSet delimiters, RuleSet rules, boolean wordAtATime, Path path,
+			ForkJoinPool pool, int[] bucketBounds) throws IOException {
+		if (!delimiters.isSingleCharacter()) {
+			throw new UnsupportedOperationException("Parallel calculation needs single character separators");
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			MappedFileCalculation calculation = new MappedFileCalculation(delimiters, rules, wordAtATime, channel,
+					bucketBounds);
+			long[] boundaries = calculation.boundaries(channel.size(), pool.getParallelism());
+			ChunkResult result;
+			try {
+				result = pool.invoke(calculation.new ChunkTask(boundaries, 0, boundaries.length - 1));
+			} catch (UncheckedIOException ex) {
+				throw ex.getCause();
+			}
+			if (result.error != null) {
+				throw locate(result.error, result.errorOffset);
+			}
+			return result;
+		}
+	}
+
+	/***
+	 * <p>
+	 * Computes chunk boundaries, every inner boundary points at a separator.
+	 * 
+	 * @param size        file size
+	 * @param parallelism
+	 * @return ascending offsets, first is 0 and last is size
+	 * @throws IOException
+	 */
+	private long[] boundaries(long size, int parallelism) throws IOException {
+		long chunkSize = size / ((long) parallelism * CHUNKS_PER_THREAD);
+		chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, chunkSize));
+		List<Long> boundaries = new ArrayList<>();
+		boundaries.add(0L);
+		long boundary = 0;
+		while (boundary < size) {
+			boundary = nextSeparator(boundary + chunkSize, size);
+			boundaries.add(boundary);
+		}
+		long[] result = new long[boundaries.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = boundaries.get(i);
+		}
+		return result;
+	}
+
+	private long nextSeparator(long from, long size) throws IOException {
+		ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+		long position = from;
+		while (position < size) {
+			probe.clear();
+			int read = channel.read(probe, position);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				byte b = probe.get(i);
+				if (b >= 0 && delimiters.isSeparator((char) b)) {
+					return position + i;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	private ChunkResult scan(long from, long to) {
+		CalculationStatistics statistics = newStatistics();
+		NumberScanner scanner = new NumberScanner(delimiters, rules, wordAtATime).collectInto(statistics);
+		try {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+			return new ChunkResult(scanner.scan(buffer, 0, buffer.limit()).finishExact(), statistics, null, -1);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		} catch (InvalidDelimiterException | UnsupportedNumberException ex) {
+			return new ChunkResult(null, null, ex, from + scanner.getErrorOffset());
+		}
+	}
+
+	private CalculationStatistics newStatistics() {
+		return bucketBounds != null ? new CalculationStatistics(bucketBounds) : null;
+	}
+
+	/***
+	 * Copies the error of a chunk into an exception located at given file
+	 * offset; its token index is relative to the chunk, hence unknown.
+	 */
+	private static RuntimeException locate(RuntimeException ex, long offset) {
+		if (ex instanceof UnsupportedNumberException) {
+			return new UnsupportedNumberException(((UnsupportedNumberException) ex).getReason(), offset, -1, null);
+		}
+		return new InvalidDelimiterException(((InvalidDelimiterException) ex).getReason(), offset, -1, null);
+	}
+
+	/***
+	 * Sum of a range of chunks, or first error of that range.
+	 */
+	private static final class ChunkResult {
+
+		private final ExactSum sum;
+
+		/***
+		 * Null unless statistics are gathered.
+		 */
+		private final CalculationStatistics statistics;
+
+		private final RuntimeException error;
+
+		private final long errorOffset;
+
+		private ChunkResult(ExactSum sum, CalculationStatistics statistics, RuntimeException error,
+				long errorOffset) {
+			this.sum = sum;
+			this.statistics = statistics;
+			this.error = error;
+			this.errorOffset = errorOffset;
+		}
+
+		private ChunkResult combine(ChunkResult right) {
+			if (error != null) {
+				return this;
+			}
+			if (right.error != null) {
+				return right;
+			}
+			return new ChunkResult(sum.combine(right.sum),
+					statistics != null ? statistics.combine(right.statistics) : null, null, -1);
+		}
+
+	}
+
+	/***
+	 * Splits chunk range [from, to) in halves till a single chunk is left.
+	 */
+	private final class ChunkTask extends RecursiveTask<ChunkResult> {
+
+		private static final long serialVersionUID = -3402470624004117011L;
+
+		private final long[] boundaries;
+
+		private final int from;
+
+		private final int to;
+
+		private ChunkTask(long[] boundaries, int from, int to) {
+			this.boundaries = boundaries;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected ChunkResult compute() {
+			if (to - from <= 1) {
+				return from == to ? new ChunkResult(new ExactSum(), newStatistics(), null, -1)
+						: scan(boundaries[from], boundaries[to]);
+			}
+			int middle = (from + to) >>> 1;
+			ChunkTask left = new ChunkTask(boundaries, from, middle);
+			left.fork();
+			ChunkResult right = new ChunkTask(boundaries, middle, to).compute();
+			return left.join().combine(right);
+		}
+
+	}
+
+}
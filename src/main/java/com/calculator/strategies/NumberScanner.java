@@ -0,0 +1,951 @@
+package com.calculator.strategies;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.IntConsumer;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.metrics.Instrumentation;
+import com.calculator.metrics.TokenCounters;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * Single pass, character level scanner which recognises separators of a
+ * {@link DelimiterSet}, builds
+ * each number in place and applies a {@link RuleSet}, by default the same rules
+ * as {@link StringCalculationStrategy}: numbers greater than 100 are ignored
+ * and negative numbers are rejected.
+ * 
+ * <p>
+ * Tokens are parsed with exactly the same grammar as
+ * {@link Integer#valueOf(String)}, tokens made of white space only are
+ * skipped, and the first offending token in input order decides the thrown
+ * exception, so results match the {@link java.util.stream.Stream} pipeline.
+ * 
+ * <p>
+ * Scanner keeps its state between calls of {@link #scan(char[], int, int)},
+ * hence input can be fed in chunks and numbers may cross chunk boundaries. It
+ * is not thread safe, but can be {@link #reset()} and reused. Its state can be
+ * captured with {@link #snapshot()} and put back with {@link #restore(State)},
+ * both in constant time.
+ * 
+ * <p>
+ * Byte input is read as ASCII, every byte outside of it is an invalid
+ * character. Optionally, byte input is classified a word of eight bytes at a
+ * time by a {@link WordClassifier}, so runs of digits and separators are
+ * scanned without a branch per byte; other words fall back to the scalar loop.
+ * 
+ * <p>
+ * A scanner may skip invalid and rejected numbers instead of throwing, e.g. to
+ * keep a long running stream alive; skipped numbers are counted.
+ * 
+ * <p>
+ * Exceptions are same as {@link StringCalculationStrategy} by default, the
+ * location of the offending number is only kept by the scanner, see
+ * {@link #getErrorOffset()}. Once asked to {@link #locateErrors(String, long)},
+ * it throws stackless exceptions carrying the location instead, e.g. to
+ * validate input.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class NumberScanner {
+
+	static final String INVALID_DELIMITER_MESSAGE = "Invalid Delimiter found between valid numbers";
+
+	private static final int BUFFER_SIZE = 2048;
+
+	/***
+	 * Shared, stackless placeholder, never leaves the scanner.
+	 */
+	private static final RuntimeException UNLOCATED = new RuntimeException(null, null, false, false) {
+
+		private static final long serialVersionUID = 6012853410782930874L;
+
+	};
+
+	private static final int[] POWERS_OF_TEN = { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000 };
+
+	private final DelimiterSet delimiters;
+
+	private final RuleSet rules;
+
+	/***
+	 * Counters of the thread running current scan, looked up once per call as a
+	 * scanner may be fed by several threads in turn, null unless
+	 * instrumentation is enabled.
+	 */
+	private TokenCounters counters;
+
+	/***
+	 * Word classifier of byte input, null to scan byte by byte.
+	 */
+	private final WordClassifier words;
+
+	/***
+	 * True to skip invalid and rejected numbers instead of throwing.
+	 */
+	private final boolean skipInvalid;
+
+	private long skipped;
+
+	/***
+	 * Statistics kept numbers are also recorded into, null if none.
+	 */
+	private CalculationStatistics statistics;
+
+	/***
+	 * Consumer kept numbers are passed to, in input order, null if none.
+	 */
+	private IntConsumer numbers;
+
+	/***
+	 * True to throw located, stackless exceptions.
+	 */
+	private boolean locating;
+
+	/***
+	 * Offset of the first scanned character in reported locations.
+	 */
+	private long origin;
+
+	/***
+	 * Scanned text offending tokens are cut from, null if unknown.
+	 */
+	private String source;
+
+	/***
+	 * Reason of the pending located exception.
+	 */
+	private String errorReason;
+
+	/***
+	 * True if the pending located exception rejects a number, false if the
+	 * number is invalid.
+	 */
+	private boolean errorRejected;
+
+	private char[] buffer;
+
+	private final ExactSum sum = new ExactSum();
+
+	/***
+	 * Number of characters scanned before current chunk.
+	 */
+	private long position;
+
+	/***
+	 * Offset of the token which caused last exception, -1 if none.
+	 */
+	private long errorOffset = -1;
+
+	/***
+	 * Index of the token which caused last exception, -1 if none.
+	 */
+	private long errorTokenIndex = -1;
+
+	/***
+	 * Length of the token which caused last exception.
+	 */
+	private int errorLength;
+
+	/***
+	 * Number of non blank tokens completed or failed since creation or last
+	 * reset.
+	 */
+	private long tokenCount;
+
+	private int tokenLength;
+
+	private int digits;
+
+	/***
+	 * Token value accumulated negatively, same as {@link Integer#parseInt(String)}
+	 * does, to cover {@link Integer#MIN_VALUE}.
+	 */
+	private int value;
+
+	private boolean negative;
+
+	private boolean blank;
+
+	private boolean invalid;
+
+	/***
+	 * Automaton state of {@link DelimiterSet}, its characters aren't consumed yet
+	 * as they may be part of a separator.
+	 */
+	private int state;
+
+	/***
+	 * Number of separator characters before current one when a separator
+	 * longer than one character completes a number.
+	 */
+	private int matchTail;
+
+	public NumberScanner(DelimiterSet delimiters) {
+		this(delimiters, RuleSet.DEFAULT, false);
+	}
+
+	public NumberScanner(DelimiterSet delimiters, boolean wordAtATime) {
+		this(delimiters, RuleSet.DEFAULT, wordAtATime);
+	}
+
+	/***
+	 * @param delimiters
+	 * @param rules       applied to every number
+	 * @param wordAtATime scan byte input a word at a time, ignored when
+	 *                    delimiters aren't a few single character ASCII
+	 *                    separators
+	 */
+	public NumberScanner(DelimiterSet delimiters, RuleSet rules, boolean wordAtATime) {
+		this(delimiters, rules, wordAtATime, false);
+	}
+
+	/***
+	 * @param delimiters
+	 * @param rules       applied to every number
+	 * @param wordAtATime scan byte input a word at a time
+	 * @param skipInvalid skip and count invalid and rejected numbers instead of
+	 *                    throwing
+	 */
+	public NumberScanner(DelimiterSet delimiters, RuleSet rules, boolean wordAtATime, boolean skipInvalid) {
+		this.delimiters = delimiters;
+		this.rules = rules;
+		this.words = wordAtATime ? WordClassifier.of(delimiters) : null;
+		this.skipInvalid = skipInvalid;
+	}
+
+	/***
+	 * <p>
+	 * Records every number completed from now on into given statistics too, in
+	 * the same pass as the sum.
+	 * 
+	 * @param statistics null to stop recording
+	 * @return this scanner
+	 */
+	public NumberScanner collectInto(CalculationStatistics statistics) {
+		this.statistics = statistics;
+		return this;
+	}
+
+	/***
+	 * <p>
+	 * Passes every number kept from now on to given consumer too, in input
+	 * order, e.g. to convert delimited text into another format. With rules
+	 * keeping every number, the consumer receives all valid numbers.
+	 * 
+	 * @param numbers null to stop forwarding
+	 * @return this scanner
+	 */
+	public NumberScanner forwardTo(IntConsumer numbers) {
+		this.numbers = numbers;
+		return this;
+	}
+
+	/***
+	 * <p>
+	 * Throws, from now on, stackless exceptions carrying the offset, index and
+	 * text of the offending token, in place of exceptions of
+	 * {@link StringCalculationStrategy}.
+	 * 
+	 * @param source text being scanned, from which offending tokens are cut,
+	 *               null to leave them out
+	 * @param origin offset, in source, of the first scanned character
+	 * @return this scanner
+	 */
+	public NumberScanner locateErrors(String source, long origin) {
+		this.locating = true;
+		this.source = source;
+		this.origin = origin;
+		return this;
+	}
+
+	CalculationStatistics getStatistics() {
+		return statistics;
+	}
+
+	/***
+	 * @return true if byte input is scanned a word at a time
+	 */
+	public boolean isWordAtATime() {
+		return words != null;
+	}
+
+	/***
+	 * <p>
+	 * Scans given string, chunk by chunk through an internal buffer so the hot
+	 * loop runs over a plain char array.
+	 * 
+	 * @param string
+	 * @return this scanner
+	 */
+	public NumberScanner scan(String string) {
+		return scan(string, 0, string.length());
+	}
+
+	/***
+	 * <p>
+	 * Scans given range of a string, without copying it into a new string.
+	 * 
+	 * @param string
+	 * @param from   inclusive
+	 * @param to     exclusive
+	 * @return this scanner
+	 */
+	public NumberScanner scan(String string, int from, int to) {
+		int length = to - from;
+		if (buffer == null || buffer.length < Math.min(length, BUFFER_SIZE)) {
+			buffer = new char[Math.min(Math.max(length, 16), BUFFER_SIZE)];
+		}
+		for (int start = from; start < to; start += buffer.length) {
+			int end = Math.min(to, start + buffer.length);
+			string.getChars(start, end, buffer, 0);
+			scan(buffer, 0, end - start);
+		}
+		return this;
+	}
+
+	/***
+	 * <p>
+	 * Scans characters of given range, a number which isn't terminated by a
+	 * separator is kept open until next call or {@link #finish()}.
+	 * 
+	 * @param chars
+	 * @param from  inclusive
+	 * @param to    exclusive
+	 * @return this scanner
+	 */
+	public NumberScanner scan(char[] chars, int from, int to) {
+		bindCounters();
+		DelimiterSet set = delimiters;
+		int i = from;
+		try {
+			if (set.isSingleCharacter()) {
+				for (; i < to; i++) {
+					char c = chars[i];
+					if (set.isSeparator(c)) {
+						completeToken();
+					} else {
+						consume(c);
+					}
+				}
+			} else {
+				for (; i < to; i++) {
+					match(chars[i]);
+				}
+			}
+		} catch (RuntimeException ex) {
+			throw fail(position + (i - from) - matchTail, ex);
+		}
+		position += to - from;
+		return this;
+	}
+
+	/***
+	 * <p>
+	 * Scans bytes of given range using absolute reads, so position and limit of
+	 * the buffer are left untouched. Heap buffers are scanned through their
+	 * backing array.
+	 * 
+	 * @param bytes
+	 * @param from  inclusive
+	 * @param to    exclusive
+	 * @return this scanner
+	 */
+	public NumberScanner scan(ByteBuffer bytes, int from, int to) {
+		if (bytes.hasArray()) {
+			return scan(bytes.array(), bytes.arrayOffset() + from, bytes.arrayOffset() + to);
+		}
+		bindCounters();
+		if (words != null) {
+			return scanWords(bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN), from, to);
+		}
+		DelimiterSet set = delimiters;
+		int i = from;
+		try {
+			if (set.isSingleCharacter()) {
+				for (; i < to; i++) {
+					char c = ascii(bytes.get(i));
+					if (set.isSeparator(c)) {
+						completeToken();
+					} else {
+						consume(c);
+					}
+				}
+			} else {
+				for (; i < to; i++) {
+					match(ascii(bytes.get(i)));
+				}
+			}
+		} catch (RuntimeException ex) {
+			throw fail(position + (i - from) - matchTail, ex);
+		}
+		position += to - from;
+		return this;
+	}
+
+	/***
+	 * <p>
+	 * Scans ASCII bytes of given range.
+	 * 
+	 * @param bytes
+	 * @param from  inclusive
+	 * @param to    exclusive
+	 * @return this scanner
+	 */
+	public NumberScanner scan(byte[] bytes, int from, int to) {
+		bindCounters();
+		if (words != null) {
+			return scanWords(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN), from, to);
+		}
+		DelimiterSet set = delimiters;
+		int i = from;
+		try {
+			if (set.isSingleCharacter()) {
+				for (; i < to; i++) {
+					char c = ascii(bytes[i]);
+					if (set.isSeparator(c)) {
+						completeToken();
+					} else {
+						consume(c);
+					}
+				}
+			} else {
+				for (; i < to; i++) {
+					match(ascii(bytes[i]));
+				}
+			}
+		} catch (RuntimeException ex) {
+			throw fail(position + (i - from) - matchTail, ex);
+		}
+		position += to - from;
+		return this;
+	}
+
+	/***
+	 * <p>
+	 * Scans given range a word at a time. A word made of digits and separators
+	 * only is split on its separator mask, each run of digits is appended to the
+	 * current number at once. Any other word, e.g. one holding a sign, white
+	 * space or an invalid character, and the trailing bytes are scanned byte by
+	 * byte, so results and exceptions are same as the scalar loop.
+	 * 
+	 * @param bytes little endian view
+	 * @param from  inclusive
+	 * @param to    exclusive
+	 * @return this scanner
+	 */
+	private NumberScanner scanWords(ByteBuffer bytes, int from, int to) {
+		WordClassifier classifier = words;
+		DelimiterSet set = delimiters;
+		int i = from;
+		int at = from;
+		try {
+			for (; i <= to - WordClassifier.WORD_SIZE; i += WordClassifier.WORD_SIZE) {
+				long word = bytes.getLong(i);
+				long separators = classifier.separators(word);
+				if ((separators | WordClassifier.digits(word)) != WordClassifier.HIGH_BITS) {
+					for (at = i; at < i + WordClassifier.WORD_SIZE; at++) {
+						char c = ascii(bytes.get(at));
+						if (set.isSeparator(c)) {
+							completeToken();
+						} else {
+							consume(c);
+						}
+					}
+					continue;
+				}
+				int start = 0;
+				while (separators != 0) {
+					int end = Long.numberOfTrailingZeros(separators) >>> 3;
+					if (end > start) {
+						appendDigits(word, start, end);
+					}
+					at = i + end;
+					completeToken();
+					start = end + 1;
+					separators &= separators - 1;
+				}
+				if (start < WordClassifier.WORD_SIZE) {
+					appendDigits(word, start, WordClassifier.WORD_SIZE);
+				}
+			}
+			for (at = i; at < to; at++) {
+				char c = ascii(bytes.get(at));
+				if (set.isSeparator(c)) {
+					completeToken();
+				} else {
+					consume(c);
+				}
+			}
+		} catch (RuntimeException ex) {
+			throw fail(position + (at - from), ex);
+		}
+		position += to - from;
+		return this;
+	}
+
+	/***
+	 * Same as consuming digit bytes [from, to) of given word one by one.
+	 */
+	private void appendDigits(long word, int from, int to) {
+		int count = to - from;
+		tokenLength += count;
+		blank = false;
+		if (invalid) {
+			return;
+		}
+		if (digits + count <= 9) {
+			// at most 9 digits can't overflow
+			int run = 0;
+			for (int k = from; k < to; k++) {
+				run = run * 10 + WordClassifier.digitAt(word, k);
+			}
+			value = value * POWERS_OF_TEN[count] - run;
+			digits += count;
+			return;
+		}
+		for (int k = from; k < to && !invalid; k++) {
+			accumulate((char) ('0' + WordClassifier.digitAt(word, k)));
+		}
+	}
+
+	/***
+	 * <p>
+	 * Completes pending number, if any, as if a separator was scanned. Useful
+	 * when input is already split into tokens.
+	 * 
+	 * @return this scanner
+	 */
+	public NumberScanner separate() {
+		bindCounters();
+		try {
+			release(state, delimiters.isSingleCharacter() ? 0 : delimiters.depth(state));
+			state = 0;
+			completeToken();
+		} catch (RuntimeException ex) {
+			throw fail(position, ex);
+		}
+		return this;
+	}
+
+	/***
+	 * <p>
+	 * Completes pending number, if any, and returns sum of all accepted numbers.
+	 * 
+	 * @return sum
+	 */
+	public int finish() {
+		return finishExact().intValue();
+	}
+
+	/***
+	 * <p>
+	 * Same as {@link #finish()}, but sum doesn't wrap around
+	 * {@link Integer#MAX_VALUE}.
+	 * 
+	 * @return sum
+	 * @throws ArithmeticException if sum doesn't fit into a long
+	 */
+	public long finishAsLong() {
+		return finishExact().longValueExact();
+	}
+
+	/***
+	 * <p>
+	 * Completes pending number, if any, and returns exact sum, which is owned by
+	 * this scanner and changes on {@link #reset()}.
+	 * 
+	 * @return sum
+	 */
+	public ExactSum finishExact() {
+		separate();
+		return sum;
+	}
+
+	/***
+	 * @return sum of numbers completed so far, owned by this scanner; a pending
+	 *         number isn't part of it
+	 */
+	public ExactSum getSum() {
+		return sum;
+	}
+
+	/***
+	 * <p>
+	 * Offset, counted in scanned characters, of the number which caused last
+	 * thrown exception.
+	 * 
+	 * @return offset or -1 if nothing has been thrown
+	 */
+	public long getErrorOffset() {
+		return errorOffset;
+	}
+
+	/***
+	 * @return index, among non blank tokens, of the number which caused last
+	 *         thrown exception, -1 if nothing has been thrown
+	 */
+	public long getErrorTokenIndex() {
+		return errorTokenIndex;
+	}
+
+	/***
+	 * @return length, in scanned characters, of the number which caused last
+	 *         thrown exception
+	 */
+	public int getErrorLength() {
+		return errorLength;
+	}
+
+	/***
+	 * @return number of invalid and rejected numbers skipped since creation or
+	 *         last reset, always 0 unless the scanner skips them
+	 */
+	public long getSkippedCount() {
+		return skipped;
+	}
+
+	/***
+	 * Clears all state, so scanner can be reused for another input.
+	 */
+	public void reset() {
+		sum.reset();
+		position = 0;
+		errorOffset = -1;
+		errorTokenIndex = -1;
+		errorLength = 0;
+		tokenCount = 0;
+		skipped = 0;
+		state = 0;
+		clearToken();
+	}
+
+	/***
+	 * <p>
+	 * Captures current state: sum, scanned length and the pending number, if
+	 * any. Restoring it on a scanner of the same delimiters continues the scan
+	 * as if nothing happened in between.
+	 * 
+	 * @return state
+	 */
+	public State snapshot() {
+		return new State(this);
+	}
+
+	/***
+	 * <p>
+	 * Puts back a state captured by {@link #snapshot()}.
+	 * 
+	 * @param snapshot
+	 * @throws IllegalArgumentException if state wasn't captured on a scanner of
+	 *                                  same delimiters
+	 */
+	public void restore(State snapshot) {
+		if (snapshot.state >= delimiters.getStateCount()) {
+			throw new IllegalArgumentException("State doesn't match delimiters");
+		}
+		sum.set(snapshot.sumLow, snapshot.sumCarry);
+		position = snapshot.position;
+		tokenCount = snapshot.tokenCount;
+		tokenLength = snapshot.tokenLength;
+		digits = snapshot.digits;
+		value = snapshot.value;
+		negative = snapshot.negative;
+		blank = snapshot.blank;
+		invalid = snapshot.invalid;
+		state = snapshot.state;
+		matchTail = 0;
+		errorOffset = -1;
+		errorTokenIndex = -1;
+		errorLength = 0;
+	}
+
+	/***
+	 * @return number of characters scanned since creation or last reset
+	 */
+	public long getPosition() {
+		return position;
+	}
+
+	private static char ascii(byte b) {
+		return (char) (b >= 0 ? b : 0xFFFF);
+	}
+
+	/***
+	 * <p>
+	 * Feeds given character to the separator automaton. Characters which drop
+	 * out of the automaton state can't be part of a separator anymore and are
+	 * consumed as part of current number.
+	 * 
+	 * @param c
+	 */
+	private void match(char c) {
+		DelimiterSet set = delimiters;
+		int next = set.next(state, c);
+		int depth = set.depth(state);
+		int released = depth + 1 - set.depth(next);
+		if (released > 0) {
+			release(state, Math.min(released, depth));
+			if (released > depth) {
+				consume(c);
+			}
+		}
+		state = next;
+		int length = set.matchLength(next);
+		if (length > 0) {
+			release(next, set.depth(next) - length);
+			state = 0;
+			matchTail = length - 1;
+			completeToken();
+			matchTail = 0;
+		}
+	}
+
+	private void bindCounters() {
+		if (Instrumentation.ENABLED) {
+			counters = TokenCounters.current();
+		}
+	}
+
+	/***
+	 * Records location of the pending token, which caused an exception.
+	 * 
+	 * @param end offset where the token ends
+	 * @param ex  thrown while completing the token
+	 * @return exception to throw, located one if the scanner locates errors
+	 */
+	private RuntimeException fail(long end, RuntimeException ex) {
+		errorOffset = end - tokenLength;
+		errorLength = tokenLength;
+		errorTokenIndex = tokenCount - 1;
+		if (ex != UNLOCATED) {
+			return ex;
+		}
+		long offset = origin + errorOffset;
+		String token = source != null
+				? source.substring((int) offset, (int) offset + Math.min(errorLength, InputValidator.MAX_TOKEN_LENGTH))
+				: null;
+		return errorRejected ? new UnsupportedNumberException(errorReason, offset, errorTokenIndex, token)
+				: new InvalidDelimiterException(errorReason, offset, errorTokenIndex, token);
+	}
+
+	/***
+	 * Records reason of a located exception and returns the placeholder thrown
+	 * out of {@link #completeToken()} in its place, until the offset is known,
+	 * see {@link #fail(long, RuntimeException)}.
+	 */
+	private RuntimeException unlocated(String reason, boolean rejected) {
+		errorReason = reason;
+		errorRejected = rejected;
+		return UNLOCATED;
+	}
+
+	/***
+	 * Consumes first given number of characters of given automaton state.
+	 */
+	private void release(int state, int count) {
+		for (int i = 0; i < count; i++) {
+			consume(delimiters.labelAt(state, i));
+		}
+	}
+
+	private void consume(char c) {
+		if (tokenLength++ == 0) {
+			blank = c <= ' ';
+			if (c < '0') {
+				if (c == '-') {
+					negative = true;
+				} else if (c != '+') {
+					invalid = true;
+				}
+				return;
+			}
+		} else if (c > ' ') {
+			blank = false;
+		}
+		if (!invalid) {
+			accumulate(c);
+		}
+	}
+
+	private void accumulate(char c) {
+		int digit = c <= '9' ? c - '0' : Character.digit(c, 10);
+		int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+		if (digit < 0 || value < limit / 10) {
+			invalid = true;
+			return;
+		}
+		value *= 10;
+		if (value < limit + digit) {
+			invalid = true;
+			return;
+		}
+		value -= digit;
+		digits++;
+	}
+
+	private void completeToken() {
+		if (tokenLength == 0) {
+			return;
+		}
+		if (!blank) {
+			tokenCount++;
+			if (invalid || digits == 0) {
+				if (skipInvalid) {
+					skipToken();
+					return;
+				}
+				if (locating) {
+					throw unlocated(INVALID_DELIMITER_MESSAGE, false);
+				}
+				throw new InvalidDelimiterException(INVALID_DELIMITER_MESSAGE,
+						new NumberFormatException("Invalid number of " + tokenLength + " characters"));
+			}
+			int number = negative ? value : -value;
+			int rule;
+			try {
+				rule = rules.check(number);
+			} catch (UnsupportedNumberException ex) {
+				if (skipInvalid) {
+					skipToken();
+					return;
+				}
+				throw locating ? unlocated(ex.getReason(), true) : ex;
+			}
+			if (rule == RuleSet.REJECTED) {
+				if (skipInvalid) {
+					skipToken();
+					return;
+				}
+				String reason = rules.getRejectMessage(number);
+				throw locating ? unlocated(reason, true) : new UnsupportedNumberException(reason);
+			}
+			if (rule < 0) {
+				sum.add(number);
+				if (numbers != null) {
+					numbers.accept(number);
+				}
+			}
+			if (statistics != null) {
+				if (rule < 0) {
+					statistics.accept(number);
+				} else {
+					statistics.ignore();
+				}
+			}
+			if (Instrumentation.ENABLED) {
+				counters.token(rule);
+			}
+		}
+		clearToken();
+	}
+
+	private void skipToken() {
+		skipped++;
+		clearToken();
+	}
+
+	private void clearToken() {
+		tokenLength = 0;
+		digits = 0;
+		value = 0;
+		negative = false;
+		blank = false;
+		invalid = false;
+	}
+
+	/***
+	 * <p>
+	 * Immutable state of a scanner, see {@link #snapshot()}. It can be written
+	 * to and read from a {@link DataOutput}, e.g. to move a scan to another
+	 * node.
+	 */
+	public static final class State {
+
+		private final long sumLow;
+
+		private final long sumCarry;
+
+		private final long position;
+
+		private final long tokenCount;
+
+		private final int tokenLength;
+
+		private final int digits;
+
+		private final int value;
+
+		private final boolean negative;
+
+		private final boolean blank;
+
+		private final boolean invalid;
+
+		private final int state;
+
+		private State(NumberScanner scanner) {
+			this(scanner.sum.getLow(), scanner.sum.getCarry(), scanner.position, scanner.tokenCount,
+					scanner.tokenLength, scanner.digits, scanner.value, scanner.negative, scanner.blank, scanner.invalid,
+					scanner.state);
+		}
+
+		private State(long sumLow, long sumCarry, long position, long tokenCount, int tokenLength, int digits,
+				int value, boolean negative, boolean blank, boolean invalid, int state) {
+			this.sumLow = sumLow;
+			this.sumCarry = sumCarry;
+			this.position = position;
+			this.tokenCount = tokenCount;
+			this.tokenLength = tokenLength;
+			this.digits = digits;
+			this.value = value;
+			this.negative = negative;
+			this.blank = blank;
+			this.invalid = invalid;
+			this.state = state;
+		}
+
+		public long getPosition() {
+			return position;
+		}
+
+		public void writeTo(DataOutput out) throws IOException {
+			out.writeLong(sumLow);
+			out.writeLong(sumCarry);
+			out.writeLong(position);
+			out.writeLong(tokenCount);
+			out.writeInt(tokenLength);
+			out.writeInt(digits);
+			out.writeInt(value);
+			out.writeByte((negative ? 1 : 0) | (blank ? 2 : 0) | (invalid ? 4 : 0));
+			out.writeInt(state);
+		}
+
+		public static State readFrom(DataInput in) throws IOException {
+			long sumLow = in.readLong();
+			long sumCarry = in.readLong();
+			long position = in.readLong();
+			long tokenCount = in.readLong();
+			int tokenLength = in.readInt();
+			int digits = in.readInt();
+			int value = in.readInt();
+			int flags = in.readByte();
+			int state = in.readInt();
+			if (position < 0 || tokenCount < 0 || tokenLength < 0 || digits < 0 || state < 0) {
+				throw new IOException("Corrupt scanner state");
+			}
+			return new State(sumLow, sumCarry, position, tokenCount, tokenLength, digits, value, (flags & 1) != 0,
+					(flags & 2) != 0, (flags & 4) != 0, state);
+		}
+
+	}
+
+}
@@ -0,0 +1,361 @@
+package com.calculator.strategies;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.StreamSupport;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+import com.delimiter.strategies.StringDelimiter;
+
+/***
+ * <p>
+ * Calculation strategy which walks the input characters once through a
+ * {@link NumberScanner} instead of splitting it into a {@link java.util.stream.Stream}
+ * of tokens, so no object is created per number.
+ * 
+ * <p>
+ * Results and exceptions are same as {@link StringCalculationStrategy}. All
+ * separators are compiled into one {@link DelimiterSet}; if any of the given
+ * delimiters doesn't expose its separator (see {@link StringDelimiter}), it
+ * falls back to the stream pipeline.
+ * 
+ * <p>
+ * Input which doesn't fit into memory can be calculated from a {@link Reader},
+ * {@link Path} or {@link ReadableByteChannel}; it is read in fixed size chunks,
+ * so memory usage is constant regardless of input size. Without compiled
+ * separators, it is read whole and passed to the stream pipeline instead. Large ASCII files can
+ * also be memory mapped and summed in parallel, see
+ * {@link #calculateParallel(Path, ForkJoinPool)}, optionally classifying the
+ * mapped bytes a word at a time. Large strings can be summed in parallel too,
+ * see {@link #calculateParallel(String, ForkJoinPool)}.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class ScannerCalculationStrategy extends StringCalculationStrategy {
+
+	private static final int CHUNK_SIZE = 8192;
+
+	/***
+	 * Strings shorter than this many characters are summed sequentially by
+	 * {@link #calculateParallel(String, ForkJoinPool)}, overridden by system
+	 * property <code>calculator.parallel.threshold</code>. See
+	 * <code>ParallelStringBenchmark</code>.
+	 */
+	static final int PARALLEL_THRESHOLD = Integer.getInteger("calculator.parallel.threshold", 1 << 18);
+
+	/***
+	 * Parallel ranges aren't split below this many characters.
+	 */
+	private static final int MIN_PARALLEL_RANGE = 1 << 15;
+
+	private final boolean wordAtATime;
+
+	public ScannerCalculationStrategy(List<Delimiter<String>> delimiterList) {
+		this(delimiterList, RuleSet.DEFAULT, false);
+	}
+
+	public ScannerCalculationStrategy(List<Delimiter<String>> delimiterList, boolean wordAtATime) {
+		this(delimiterList, RuleSet.DEFAULT, wordAtATime);
+	}
+
+	public ScannerCalculationStrategy(List<Delimiter<String>> delimiterList, RuleSet rules) {
+		this(delimiterList, rules, false);
+	}
+
+	/***
+	 * @param delimiterList
+	 * @param rules         applied to every number
+	 * @param wordAtATime   scan memory mapped files a word at a time when
+	 *                      delimiters support it
+	 */
+	public ScannerCalculationStrategy(List<Delimiter<String>> delimiterList, RuleSet rules, boolean wordAtATime) {
+		super(delimiterList, rules);
+		this.wordAtATime = wordAtATime;
+	}
+
+	@Override
+	public int calculate(String input) {
+		if (getDelimiterSet() == null) {
+			return super.calculate(input);
+		}
+		if (input == null) {
+			return 0;
+		}
+		return scan(newScanner(), input).intValue();
+	}
+
+	@Override
+	protected ExactSum calculateExact(String input) {
+		if (getDelimiterSet() == null) {
+			return super.calculateExact(input);
+		}
+		if (input == null) {
+			return new ExactSum();
+		}
+		return scan(newScanner(), input);
+	}
+
+	@Override
+	protected void collectStatistics(String input, CalculationStatistics statistics) {
+		if (getDelimiterSet() == null) {
+			super.collectStatistics(input, statistics);
+		} else if (input != null) {
+			scan(newScanner().collectInto(statistics), input);
+		}
+	}
+
+	/***
+	 * <p>
+	 * Scans given, non null, input. Given scanner is fresh or reset and is
+	 * compiled from this strategy delimiters.
+	 * 
+	 * @param scanner
+	 * @param input
+	 * @return sum
+	 */
+	protected ExactSum scan(NumberScanner scanner, String input) {
+		return scanner.scan(input).finishExact();
+	}
+
+	/***
+	 * <p>
+	 * Calculates a range of batch inputs with one {@link NumberScanner}, so its
+	 * scratch buffer is reused across inputs.
+	 */
+	@Override
+	protected void calculateRange(List<String> inputs, int from, int to, BatchResult result) {
+		if (getDelimiterSet() == null) {
+			super.calculateRange(inputs, from, to, result);
+			return;
+		}
+		NumberScanner scanner = newScanner();
+		for (int i = from; i < to; i++) {
+			String input = inputs.get(i);
+			scanner.reset();
+			try {
+				result.success(i, input != null ? scan(scanner, input).intValue() : 0);
+			} catch (InvalidDelimiterException | UnsupportedNumberException ex) {
+				result.failure(i, ex);
+			}
+		}
+	}
+
+	/***
+	 * <p>
+	 * Reads given reader chunk by chunk till end of stream and returns sum of all
+	 * numbers. Reader is not closed.
+	 * 
+	 * @param reader
+	 * @return sum
+	 * @throws IOException
+	 */
+	public int calculate(Reader reader) throws IOException {
+		if (reader == null) {
+			return 0;
+		}
+		if (getDelimiterSet() == null) {
+			return super.calculate(readFully(reader));
+		}
+		NumberScanner scanner = newScanner();
+		char[] chunk = new char[CHUNK_SIZE];
+		int read;
+		while ((read = reader.read(chunk)) != -1) {
+			scanner.scan(chunk, 0, read);
+		}
+		return scanner.finish();
+	}
+
+	/***
+	 * <p>
+	 * Reads given channel as UTF-8 text till end of stream and returns sum of all
+	 * numbers. Channel is not closed.
+	 * 
+	 * @param channel
+	 * @return sum
+	 * @throws IOException
+	 */
+	public int calculate(ReadableByteChannel channel) throws IOException {
+		return calculate(channel, StandardCharsets.UTF_8);
+	}
+
+	public int calculate(ReadableByteChannel channel, Charset charset) throws IOException {
+		if (channel == null) {
+			return 0;
+		}
+		return calculate(Channels.newReader(channel, charset.newDecoder(), CHUNK_SIZE));
+	}
+
+	/***
+	 * <p>
+	 * Reads given file as UTF-8 text and returns sum of all numbers.
+	 * 
+	 * @param path
+	 * @return sum
+	 * @throws IOException
+	 */
+	public int calculate(Path path) throws IOException {
+		return calculate(path, StandardCharsets.UTF_8);
+	}
+
+	public int calculate(Path path, Charset charset) throws IOException {
+		if (path == null) {
+			return 0;
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return calculate(channel, charset);
+		}
+	}
+
+	/***
+	 * <p>
+	 * Memory maps given ASCII file and sums it in parallel on the common
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param path
+	 * @return sum, which doesn't wrap around {@link Integer#MAX_VALUE}
+	 * @throws IOException
+	 */
+	public long calculateParallel(Path path) throws IOException {
+		return calculateParallel(path, ForkJoinPool.commonPool());
+	}
+
+	/***
+	 * <p>
+	 * Memory maps given ASCII file, splits it into chunks on separator boundaries
+	 * and sums the chunks in parallel on given pool. Only single character
+	 * separators are supported. If the file contains more
+	 * than one invalid or negative number, the first one in file order is
+	 * reported along with its byte offset.
+	 * 
+	 * @param path
+	 * @param pool
+	 * @return sum, which doesn't wrap around {@link Integer#MAX_VALUE}
+	 * @throws IOException
+	 * @throws ArithmeticException           if sum doesn't fit into a long
+	 * @throws UnsupportedOperationException if separators aren't single
+	 *                                       characters exposed by their
+	 *                                       delimiters
+	 */
+	public long calculateParallel(Path path, ForkJoinPool pool) throws IOException {
+		if (path == null) {
+			return 0;
+		}
+		return MappedFileCalculation.calculate(compiledDelimiters(), getRules(), wordAtATime, path, pool);
+	}
+
+	/***
+	 * <p>
+	 * Gathers statistics of given file in parallel, same way as
+	 * {@link #calculateParallel(Path, ForkJoinPool)} sums it.
+	 * 
+	 * @param path
+	 * @param pool
+	 * @param bucketBounds ascending upper bounds of histogram buckets, none for
+	 *                     no histogram
+	 * @return statistics
+	 * @throws IOException
+	 */
+	public CalculationStatistics statisticsParallel(Path path, ForkJoinPool pool, int... bucketBounds)
+			throws IOException {
+		if (path == null) {
+			return new CalculationStatistics(bucketBounds);
+		}
+		return MappedFileCalculation.statistics(compiledDelimiters(), getRules(), wordAtATime, path, pool,
+				bucketBounds);
+	}
+
+	/***
+	 * <p>
+	 * Sums given string in parallel on the common {@link ForkJoinPool}.
+	 * 
+	 * @param input
+	 * @return sum, which doesn't wrap around {@link Integer#MAX_VALUE}
+	 */
+	public long calculateParallel(String input) {
+		return calculateParallel(input, ForkJoinPool.commonPool());
+	}
+
+	/***
+	 * <p>
+	 * Splits given string into ranges at separator boundaries and sums the
+	 * ranges with a parallel stream running on given pool. Strings shorter than
+	 * a threshold, tuned by <code>ParallelStringBenchmark</code>, and strings
+	 * whose separators are longer than one character are summed sequentially. If
+	 * the string contains more than one invalid or negative number, the first
+	 * one is reported, with its offset and token.
+	 * 
+	 * @param input
+	 * @param pool
+	 * @return sum, which doesn't wrap around {@link Integer#MAX_VALUE}
+	 * @throws ArithmeticException if sum doesn't fit into a long
+	 */
+	public long calculateParallel(String input, ForkJoinPool pool) {
+		if (input == null || input.length() < PARALLEL_THRESHOLD || !canSplit(pool)) {
+			return calculateAsLong(input);
+		}
+		return sumParallel(input, pool).longValueExact();
+	}
+
+	/***
+	 * @param pool
+	 * @return true if strings can be split at separators and summed on given
+	 *         pool
+	 */
+	boolean canSplit(ForkJoinPool pool) {
+		DelimiterSet delimiterSet = getDelimiterSet();
+		return delimiterSet != null && delimiterSet.isSingleCharacter() && pool.getParallelism() > 1;
+	}
+
+	/***
+	 * Sums given string in parallel whatever its length, provided
+	 * {@link #canSplit(ForkJoinPool)}.
+	 */
+	ExactSum sumParallel(String input, ForkJoinPool pool) {
+		DelimitedStringSpliterator spliterator = new DelimitedStringSpliterator(input, getDelimiterSet(), getRules(),
+				0, input.length(), MIN_PARALLEL_RANGE);
+		DelimitedStringSpliterator.RangeSum result = pool
+				.submit(() -> StreamSupport.stream(spliterator, true).reduce(DelimitedStringSpliterator.RangeSum.EMPTY,
+						DelimitedStringSpliterator.RangeSum::combine, DelimitedStringSpliterator.RangeSum::combine))
+				.join();
+		if (result.getError() != null) {
+			throw InputValidator.locate(result.getError(), input, result.getErrorOffset(), result.getErrorLength(), -1);
+		}
+		return result.getSum();
+	}
+
+	private NumberScanner newScanner() {
+		return new NumberScanner(getDelimiterSet(), getRules(), false);
+	}
+
+	private DelimiterSet compiledDelimiters() {
+		if (getDelimiterSet() == null) {
+			throw new UnsupportedOperationException("Parallel calculation needs single character separators");
+		}
+		return getDelimiterSet();
+	}
+
+	private static String readFully(Reader reader) throws IOException {
+		StringBuilder builder = new StringBuilder();
+		char[] chunk = new char[CHUNK_SIZE];
+		int read;
+		while ((read = reader.read(chunk)) != -1) {
+			builder.append(chunk, 0, read);
+		}
+		return builder.toString();
+	}
+
+}
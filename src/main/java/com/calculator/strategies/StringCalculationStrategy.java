@@ -1,5 +1,6 @@
 package com.calculator.strategies;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.function.IntPredicate;
 import java.util.function.Predicate;
@@ -7,8 +8,11 @@ import java.util.function.ToIntFunction;
 import java.util.stream.Stream;
 
 import com.calculator.exceptions.InvalidDelimiterException;
-import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.metrics.Instrumentation;
+import com.calculator.metrics.TokenCounters;
+import com.calculator.rules.RuleSet;
 import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
 
 /***
  * <p>
@@ -16,8 +20,13 @@ import com.delimiter.strategies.Delimiter;
  * on various known {@link Delimiter} list to get numbers and return sum of all.
  * 
  * <p>
- * This class also filters numbers based on defined conditions and doesn't
- * support negative numbers.
+ * This class also filters numbers through a {@link RuleSet}; by default it
+ * ignores numbers greater than 100 and doesn't support negative numbers.
+ * 
+ * <p>
+ * In validation mode, input is checked by an {@link InputValidator} before it
+ * is split, so malformed input is rejected by a single scan, with the position
+ * of the offending number.
  * 
  * @author gaurav.vishal
  *
@@ -26,13 +35,71 @@ public class StringCalculationStrategy extends AbstractCalculationStrategy<Strin
 
 	/***
 	 * List of delimiters, input data will be passed through each one of it to split
-	 * the incoming string.
+	 * the incoming string. Delimiters exposing their separator are compiled into a
+	 * single {@link DelimiterSet}, so input is split in one pass.
 	 */
 	private List<Delimiter<String>> delimiterList;
 
+	/***
+	 * Compiled delimiters, null when delimiters can't be compiled.
+	 */
+	private final DelimiterSet delimiterSet;
+
+	/***
+	 * Rules deciding which numbers are summed, ignored or rejected.
+	 */
+	private final RuleSet rules;
+
+	/***
+	 * Validator run before splitting, null unless in validation mode.
+	 */
+	private final InputValidator validator;
+
 	public StringCalculationStrategy(List<Delimiter<String>> delimiterList) {
+		this(delimiterList, RuleSet.DEFAULT);
+	}
+
+	public StringCalculationStrategy(List<Delimiter<String>> delimiterList, RuleSet rules) {
+		this(delimiterList, rules, false);
+	}
+
+	/***
+	 * @param delimiterList
+	 * @param rules
+	 * @param validate      validate input before splitting it
+	 * @throws UnsupportedOperationException if validation is asked for and
+	 *                                       delimiters don't expose their
+	 *                                       separator
+	 */
+	public StringCalculationStrategy(List<Delimiter<String>> delimiterList, RuleSet rules, boolean validate) {
 		isNullOrEmpty(delimiterList);
-		this.delimiterList = delimiterList;
+		if (rules == null) {
+			throw new RuntimeException("rules can't be null");
+		}
+		boolean compilable = DelimiterSet.canCompile(delimiterList);
+		if (validate && !compilable) {
+			throw new UnsupportedOperationException("Validation needs delimiters exposing their separator");
+		}
+		this.delimiterSet = compilable ? DelimiterSet.compile(delimiterList) : null;
+		this.delimiterList = compilable ? Collections.<Delimiter<String>>singletonList(delimiterSet) : delimiterList;
+		this.rules = rules;
+		this.validator = validate ? new InputValidator(delimiterSet, rules) : null;
+	}
+
+	@Override
+	public int calculate(String input) {
+		if (validator != null) {
+			validator.validate(input);
+		}
+		return super.calculate(input);
+	}
+
+	@Override
+	protected ExactSum calculateExact(String input) {
+		if (validator != null) {
+			validator.validate(input);
+		}
+		return super.calculateExact(input);
 	}
 
 	private void isNullOrEmpty(List<Delimiter<String>> delimiterList) {
@@ -47,15 +114,78 @@ public class StringCalculationStrategy extends AbstractCalculationStrategy<Strin
 	 * sum of all integers.
 	 * 
 	 * <p>
-	 * Each number passes through filter and ignores all numbers greater than 100.
+	 * Each number passes through one filter stage, the fused check of the rule
+	 * set.
 	 * 
 	 */
 	@Override
 	protected int calculateUsingStream(Stream<String> stream) {
-		int result = stream.mapToInt(toInteger()).filter(ignoreGreaterThan100()).filter(ignoreNegative()).sum();
+		int result = stream.mapToInt(toInteger()).filter(ruleFilter()).sum();
 		return result;
 	}
 
+	/***
+	 * <p>
+	 * Same as {@link #calculateUsingStream(Stream)}, but sum doesn't wrap around
+	 * {@link Integer#MAX_VALUE}.
+	 */
+	@Override
+	protected ExactSum sumUsingStream(Stream<String> stream) {
+		return stream.mapToInt(toInteger()).filter(ruleFilter()).collect(ExactSum::new, ExactSum::add,
+				ExactSum::combine);
+	}
+
+	/***
+	 * <p>
+	 * Same as {@link #sumUsingStream(Stream)}, but records every number into
+	 * given statistics.
+	 */
+	@Override
+	protected void statisticsUsingStream(Stream<String> stream, CalculationStatistics statistics) {
+		stream.mapToInt(toInteger()).forEach(number -> {
+			if (rules.decide(number) < 0) {
+				statistics.accept(number);
+			} else {
+				statistics.ignore();
+			}
+		});
+	}
+
+	@Override
+	protected void collectStatistics(String input, CalculationStatistics statistics) {
+		if (validator != null) {
+			validator.validate(input);
+		}
+		super.collectStatistics(input, statistics);
+	}
+
+	/***
+	 * @return compiled delimiters, null when delimiters can't be compiled
+	 */
+	protected DelimiterSet getDelimiterSet() {
+		return delimiterSet;
+	}
+
+	protected RuleSet getRules() {
+		return rules;
+	}
+
+	/***
+	 * @return fused check of the rule set, also counting tokens when
+	 *         instrumentation is enabled
+	 */
+	private IntPredicate ruleFilter() {
+		if (!Instrumentation.ENABLED) {
+			return rules::accept;
+		}
+		TokenCounters counters = TokenCounters.current();
+		return number -> {
+			int rule = rules.decide(number);
+			counters.token(rule);
+			return rule < 0;
+		};
+	}
+
 	@Override
 	protected List<Delimiter<String>> getAllDelimiters() {
 		return delimiterList;
@@ -83,17 +213,4 @@ public class StringCalculationStrategy extends AbstractCalculationStrategy<Strin
 		};
 	}
 
-	private static IntPredicate ignoreGreaterThan100() {
-		return number -> number <= 100;
-	}
-
-	private static IntPredicate ignoreNegative() {
-		return number -> {
-			if (number < 0) {
-				throw new UnsupportedNumberException("Negative numbers are not supported");
-			}
-			return true;
-		};
-	}
-
 }
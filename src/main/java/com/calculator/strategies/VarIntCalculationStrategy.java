@@ -0,0 +1,236 @@
+package com.calculator.strategies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.Delimiter;
+
+/***
+ * <p>
+ * This is a calculation strategy class, which accepts numbers encoded as
+ * varints by {@link com.calculator.binary.VarIntEncoder}, held by a heap or
+ * direct {@link ByteBuffer}, and sums them while decoding, without parsing any
+ * text. Remaining bytes of the buffer, from position to limit, are calculated;
+ * position and limit are left untouched.
+ *
+ * <p>
+ * Numbers pass through a {@link RuleSet}, same as
+ * {@link StringCalculationStrategy}, so a payload converted from text by
+ * {@link com.calculator.binary.VarIntConverter} gives the same sum and rejects
+ * the same numbers. With range rules only, input is read eight bytes at a
+ * time: the leading single byte numbers of a word which are in the range are
+ * summed at once, and only the number following them is decoded on its own.
+ *
+ * <p>
+ * A rejected number is reported as an {@link UnsupportedNumberException} with
+ * the byte offset and index of the number; a truncated or overlong varint as
+ * an {@link InvalidDelimiterException}.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class VarIntCalculationStrategy extends AbstractCalculationStrategy<ByteBuffer> {
+
+	static final String MALFORMED_MESSAGE = "Malformed varint";
+
+	private static final int WORD_SIZE = 8;
+
+	private static final long HIGH_BITS = 0x8080808080808080L;
+
+	private static final long ONES = 0x0101010101010101L;
+
+	private static final long EVEN_BYTES = 0x00FF00FF00FF00FFL;
+
+	private static final long LANE_SUM = 0x0001000100010001L;
+
+	private final RuleSet rules;
+
+	/***
+	 * True if single byte numbers of a word can be checked against the range at
+	 * once.
+	 */
+	private final boolean wordAtATime;
+
+	/***
+	 * Added to every byte of a word, sets its high bit if it's above the range.
+	 */
+	private final long aboveHigh;
+
+	/***
+	 * Subtracted from every byte of a word with high bits set, clears its high
+	 * bit if it's below the range.
+	 */
+	private final long belowLow;
+
+	public VarIntCalculationStrategy() {
+		this(RuleSet.DEFAULT);
+	}
+
+	/***
+	 * @param rules applied to every number
+	 */
+	public VarIntCalculationStrategy(RuleSet rules) {
+		if (rules == null) {
+			throw new RuntimeException("rules can't be null");
+		}
+		this.rules = rules;
+		this.wordAtATime = rules.isRangeOnly() && rules.getLow() <= 0x7F && rules.getHigh() >= 0;
+		this.aboveHigh = (0x7F - Math.min(0x7F, rules.getHigh())) * ONES;
+		this.belowLow = Math.max(0, rules.getLow()) * ONES;
+	}
+
+	@Override
+	public int calculate(ByteBuffer input) {
+		return calculateExact(input).intValue();
+	}
+
+	public int calculate(byte[] input) {
+		return calculate(input != null ? ByteBuffer.wrap(input) : null);
+	}
+
+	@Override
+	protected ExactSum calculateExact(ByteBuffer input) {
+		if (input == null) {
+			return new ExactSum();
+		}
+		// at most 2^31 numbers, their sum can't overflow a long
+		return ExactSum.of(sum(input, input.position(), input.limit()));
+	}
+
+	@Override
+	protected void collectStatistics(ByteBuffer input, CalculationStatistics statistics) {
+		if (input == null) {
+			return;
+		}
+		int from = input.position();
+		int to = input.limit();
+		long index = 0;
+		for (int i = from; i < to; index++) {
+			long decoded = decode(input, i, to, from, index);
+			int number = (int) decoded;
+			if (decide(number, i - from, index) < 0) {
+				statistics.accept(number);
+			} else {
+				statistics.ignore();
+			}
+			i = (int) (decoded >>> 32);
+		}
+	}
+
+	/***
+	 * <p>
+	 * Accepts {@link Stream} of buffers, each holding whole numbers, and returns
+	 * sum of all their numbers.
+	 */
+	@Override
+	protected int calculateUsingStream(Stream<ByteBuffer> stream) {
+		return sumUsingStream(stream).intValue();
+	}
+
+	@Override
+	protected ExactSum sumUsingStream(Stream<ByteBuffer> stream) {
+		ExactSum sum = new ExactSum();
+		stream.forEachOrdered(buffer -> sum.combine(calculateExact(buffer)));
+		return sum;
+	}
+
+	@Override
+	protected void statisticsUsingStream(Stream<ByteBuffer> stream, CalculationStatistics statistics) {
+		stream.forEachOrdered(buffer -> collectStatistics(buffer, statistics));
+	}
+
+	/***
+	 * Numbers aren't delimited.
+	 */
+	@Override
+	protected List<Delimiter<ByteBuffer>> getAllDelimiters() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	protected Predicate<ByteBuffer> nullOrEmptyPredicate() {
+		return buffer -> buffer != null && buffer.hasRemaining();
+	}
+
+	public RuleSet getRules() {
+		return rules;
+	}
+
+	private long sum(ByteBuffer input, int from, int to) {
+		// first byte of a word is its lowest one
+		ByteBuffer bytes = wordAtATime ? input.duplicate().order(ByteOrder.LITTLE_ENDIAN) : input;
+		long sum = 0;
+		long index = 0;
+		int i = from;
+		while (i < to) {
+			if (wordAtATime && i <= to - WORD_SIZE) {
+				long word = bytes.getLong(i);
+				// carries only flow out of bytes which are already outside
+				long outside = (word | (word + aboveHigh) | ~((word | HIGH_BITS) - belowLow)) & HIGH_BITS;
+				int count = Long.numberOfTrailingZeros(outside) >>> 3;
+				sum += sumBytes(count == WORD_SIZE ? word : word & ~(-1L << (count << 3)));
+				i += count;
+				index += count;
+				if (count == WORD_SIZE) {
+					continue;
+				}
+			}
+			long decoded = decode(bytes, i, to, from, index);
+			int number = (int) decoded;
+			if (decide(number, i - from, index) < 0) {
+				sum += number;
+			}
+			i = (int) (decoded >>> 32);
+			index++;
+		}
+		return sum;
+	}
+
+	/***
+	 * @param word of bytes in [0, 127]
+	 * @return sum of its bytes
+	 */
+	private static long sumBytes(long word) {
+		long pairs = (word & EVEN_BYTES) + ((word >>> 8) & EVEN_BYTES);
+		return (pairs * LANE_SUM) >>> 48;
+	}
+
+	/***
+	 * Decodes the number at given offset.
+	 *
+	 * @return offset following the number in upper half, number in lower half
+	 */
+	private static long decode(ByteBuffer input, int at, int to, int from, long index) {
+		int i = at;
+		int b = input.get(i++);
+		int number = b & 0x7F;
+		for (int shift = 7; b < 0; shift += 7) {
+			if (i == to) {
+				throw new InvalidDelimiterException(MALFORMED_MESSAGE, at - from, index, null);
+			}
+			b = input.get(i++);
+			// fifth byte holds the top four bits only
+			if (shift == 28 && (b & 0xF0) != 0) {
+				throw new InvalidDelimiterException(MALFORMED_MESSAGE, at - from, index, null);
+			}
+			number |= (b & 0x7F) << shift;
+		}
+		return (long) i << 32 | (number & 0xFFFFFFFFL);
+	}
+
+	private int decide(int number, long offset, long index) {
+		try {
+			return rules.decide(number);
+		} catch (UnsupportedNumberException ex) {
+			throw new UnsupportedNumberException(ex.getReason(), offset, index, Integer.toString(number));
+		}
+	}
+
+}
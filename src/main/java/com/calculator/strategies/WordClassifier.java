@@ -0,0 +1,116 @@
+package com.calculator.strategies;
+
+import java.util.List;
+
+import com.delimiter.strategies.DelimiterSet;
+
+/***
+ * <p>
+ * Classifies eight ASCII bytes at once, packed little endian into a long, with
+ * plain arithmetic on the whole word (SWAR). Each classification returns a
+ * mask with the high bit set in every byte of that class, so token boundaries
+ * are found with {@link Long#numberOfTrailingZeros(long)} instead of a branch
+ * per byte.
+ *
+ * <p>
+ * Only sets of a few single character ASCII separators are supported, see
+ * {@link #of(DelimiterSet)}. It is immutable and thread safe.
+ *
+ * @author gaurav.vishal
+ *
+ */
+final class WordClassifier {
+
+	static final int WORD_SIZE = Long.BYTES;
+
+	static final long HIGH_BITS = 0x8080808080808080L;
+
+	private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+	private static final long ONES = 0x0101010101010101L;
+
+	/***
+	 * Each separator is compared with its own word, so the cost grows with the
+	 * number of separators.
+	 */
+	static final int MAX_SEPARATORS = 4;
+
+	/***
+	 * Separators repeated in every byte of a word.
+	 */
+	private final long[] separatorWords;
+
+	private WordClassifier(long[] separatorWords) {
+		this.separatorWords = separatorWords;
+	}
+
+	/***
+	 * <p>
+	 * Capability check of word at a time scanning.
+	 *
+	 * @param delimiters
+	 * @return classifier or null if given set has a separator which is longer
+	 *         than one character or outside of ASCII, or has more than
+	 *         {@link #MAX_SEPARATORS} separators
+	 */
+	static WordClassifier of(DelimiterSet delimiters) {
+		if (!delimiters.isSingleCharacter()) {
+			return null;
+		}
+		List<String> separators = delimiters.getSeparators();
+		if (separators.isEmpty() || separators.size() > MAX_SEPARATORS) {
+			return null;
+		}
+		long[] separatorWords = new long[separators.size()];
+		for (int i = 0; i < separatorWords.length; i++) {
+			char c = separators.get(i).charAt(0);
+			if (c >= 0x80) {
+				return null;
+			}
+			separatorWords[i] = c * ONES;
+		}
+		return new WordClassifier(separatorWords);
+	}
+
+	/***
+	 * @param word
+	 * @return high bit set in every separator byte
+	 */
+	long separators(long word) {
+		long mask = 0;
+		for (long separatorWord : separatorWords) {
+			mask |= zeroBytes(word ^ separatorWord);
+		}
+		return mask;
+	}
+
+	/***
+	 * @param word
+	 * @return high bit set in every byte from '0' to '9'
+	 */
+	static long digits(long word) {
+		long low = word & LOW_BITS;
+		// no carry crosses a byte as low bytes are at most 0x7F
+		long atLeastZero = low + (0x80 - '0') * ONES;
+		long aboveNine = low + (0x80 - '9' - 1) * ONES;
+		return atLeastZero & ~aboveNine & ~word & HIGH_BITS;
+	}
+
+	/***
+	 * @param word
+	 * @param index of a byte, from 0 to 7
+	 * @return value of given digit byte
+	 */
+	static int digitAt(long word, int index) {
+		return (int) (word >>> (index << 3)) & 0x0F;
+	}
+
+	/***
+	 * Exact zero byte test, unlike the shorter variant it has no false positive
+	 * above a zero byte.
+	 */
+	private static long zeroBytes(long word) {
+		return ~(((word & LOW_BITS) + LOW_BITS) | word | LOW_BITS);
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.delimiter.strategies;
+
+/**
+ * <p>
+ * This class operates on ASCII byte input and splits it on comma (,).
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class ByteCommaSplitter implements ByteDelimiter {
+
+	private static final byte SEPARATOR = ',';
+
+	@Override
+	public byte getSeparator() {
+		return SEPARATOR;
+	}
+
+}
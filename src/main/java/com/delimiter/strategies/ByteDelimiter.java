@@ -0,0 +1,61 @@
+package com.delimiter.strategies;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/***
+ * <p>
+ * A {@link Delimiter} operating on ASCII {@link ByteBuffer} input which splits
+ * on a single separator byte. Split tokens are slices sharing content of the
+ * input buffer, nothing is copied or decoded.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public interface ByteDelimiter extends Delimiter<ByteBuffer> {
+
+	/***
+	 * <p>
+	 * ASCII separator this delimiter splits on.
+	 * 
+	 * @return separator
+	 */
+	public byte getSeparator();
+
+	/***
+	 * <p>
+	 * This method goes through input stream and splits remaining bytes of each
+	 * buffer on {@link #getSeparator()}, returns Stream of slices.
+	 * 
+	 * @param {@link Stream<ByteBuffer>}
+	 * @return {@link Stream<ByteBuffer>}
+	 */
+	@Override
+	public default Stream<ByteBuffer> split(Stream<ByteBuffer> stream) {
+		if (stream != null) {
+			byte separator = getSeparator();
+			return stream.flatMap(buffer -> {
+				List<ByteBuffer> tokens = new ArrayList<>();
+				int start = buffer.position();
+				for (int i = start; i < buffer.limit(); i++) {
+					if (buffer.get(i) == separator) {
+						tokens.add(slice(buffer, start, i));
+						start = i + 1;
+					}
+				}
+				tokens.add(slice(buffer, start, buffer.limit()));
+				return tokens.stream();
+			});
+		}
+		return Stream.empty();
+	}
+
+	static ByteBuffer slice(ByteBuffer buffer, int from, int to) {
+		ByteBuffer token = buffer.duplicate();
+		token.limit(to).position(from);
+		return token.slice();
+	}
+
+}
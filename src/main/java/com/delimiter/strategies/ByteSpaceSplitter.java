@@ -0,0 +1,19 @@
+package com.delimiter.strategies;
+
+/**
+ * <p>
+ * This class operates on ASCII byte input and splits it on white space ( ).
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class ByteSpaceSplitter implements ByteDelimiter {
+
+	private static final byte SEPARATOR = ' ';
+
+	@Override
+	public byte getSeparator() {
+		return SEPARATOR;
+	}
+
+}
@@ -0,0 +1,350 @@
+package com.delimiter.strategies;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/***
+ * <p>
+ * Compiles separators of many {@link StringDelimiter}s into one lookup, so
+ * input is split in a single pass regardless of how many delimiters are
+ * configured. Single character separators are looked up in a table indexed by
+ * character; as soon as one separator is longer, all of them are compiled into
+ * an Aho-Corasick automaton.
+ * 
+ * <p>
+ * The automaton is exposed through {@link #next(int, char)},
+ * {@link #matchLength(int)}, {@link #depth(int)} and
+ * {@link #labelAt(int, int)}, so scanners can feed it character by character.
+ * When separators overlap, the first completed match wins and the longest
+ * separator is taken if several complete at the same character.
+ * 
+ * <p>
+ * A set is a {@link Delimiter} itself, hence it can replace a chain of
+ * delimiters in {@link com.calculator.strategies.AbstractCalculationStrategy}.
+ * It is immutable and thread safe.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public final class DelimiterSet implements Delimiter<String> {
+
+	private static final int ASCII = 128;
+
+	private static final int ARRAY_HEADER = 16;
+
+	private final List<String> separators;
+
+	/***
+	 * Lookup table indexed by character, only for single character separators.
+	 */
+	private final boolean[] table;
+
+	private final int[] asciiClasses;
+
+	private final char[] otherChars;
+
+	private final int alphabetSize;
+
+	private final int[] transitions;
+
+	private final int[] depths;
+
+	private final int[] matchLengths;
+
+	private final char[][] labels;
+
+	private DelimiterSet(Set<String> separators) {
+		this.separators = Collections.unmodifiableList(new ArrayList<>(separators));
+		boolean singleCharacter = true;
+		char max = 0;
+		TreeSet<Character> chars = new TreeSet<>();
+		for (String separator : separators) {
+			if (separator == null || separator.isEmpty()) {
+				throw new IllegalArgumentException("separator can't be null or empty");
+			}
+			singleCharacter &= separator.length() == 1;
+			for (char c : separator.toCharArray()) {
+				chars.add(c);
+				max = (char) Math.max(max, c);
+			}
+		}
+		if (singleCharacter) {
+			table = new boolean[max + 1];
+			for (String separator : separators) {
+				table[separator.charAt(0)] = true;
+			}
+			asciiClasses = null;
+			otherChars = null;
+			alphabetSize = 0;
+			transitions = null;
+			depths = null;
+			matchLengths = null;
+			labels = null;
+			return;
+		}
+		table = null;
+		asciiClasses = new int[ASCII];
+		StringBuilder other = new StringBuilder();
+		int alphabet = 1;
+		for (char c : chars) {
+			if (c < ASCII) {
+				asciiClasses[c] = alphabet++;
+			} else {
+				other.append(c);
+				alphabet++;
+			}
+		}
+		otherChars = other.toString().toCharArray();
+		alphabetSize = alphabet;
+
+		// build trie, state 0 is root
+		List<Map<Integer, Integer>> children = new ArrayList<>();
+		List<char[]> stateLabels = new ArrayList<>();
+		List<Boolean> terminal = new ArrayList<>();
+		children.add(new HashMap<>());
+		stateLabels.add(new char[0]);
+		terminal.add(false);
+		for (String separator : separators) {
+			int state = 0;
+			for (int i = 0; i < separator.length(); i++) {
+				int cls = classOf(separator.charAt(i));
+				Integer child = children.get(state).get(cls);
+				if (child == null) {
+					child = children.size();
+					children.add(new HashMap<>());
+					stateLabels.add(separator.substring(0, i + 1).toCharArray());
+					terminal.add(false);
+					children.get(state).put(cls, child);
+				}
+				state = child;
+			}
+			terminal.set(state, true);
+		}
+
+		// breadth first: fail links, full transition table and matches
+		int states = children.size();
+		transitions = new int[states * alphabetSize];
+		depths = new int[states];
+		matchLengths = new int[states];
+		labels = stateLabels.toArray(new char[states][]);
+		int[] fail = new int[states];
+		Queue<Integer> queue = new ArrayDeque<>();
+		queue.add(0);
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			depths[state] = labels[state].length;
+			if (terminal.get(state)) {
+				matchLengths[state] = depths[state];
+			} else if (state != 0) {
+				matchLengths[state] = matchLengths[fail[state]];
+			}
+			for (int cls = 1; cls < alphabetSize; cls++) {
+				Integer child = children.get(state).get(cls);
+				int fallback = state == 0 ? 0 : transitions[fail[state] * alphabetSize + cls];
+				if (child != null) {
+					fail[child] = fallback;
+					transitions[state * alphabetSize + cls] = child;
+					queue.add(child);
+				} else {
+					transitions[state * alphabetSize + cls] = fallback;
+				}
+			}
+		}
+	}
+
+	/***
+	 * <p>
+	 * Compiles separators of given delimiters, nested sets are merged.
+	 * 
+	 * @param delimiters
+	 * @return compiled set
+	 * @throws IllegalArgumentException if a delimiter is neither a
+	 *                                  {@link StringDelimiter} nor a
+	 *                                  {@link DelimiterSet}
+	 */
+	public static DelimiterSet compile(List<? extends Delimiter<String>> delimiters) {
+		if (delimiters == null || delimiters.isEmpty()) {
+			throw new IllegalArgumentException("delimiterList can't be null or empty");
+		}
+		Set<String> separators = new LinkedHashSet<>();
+		for (Delimiter<String> delimiter : delimiters) {
+			if (delimiter instanceof DelimiterSet) {
+				separators.addAll(((DelimiterSet) delimiter).separators);
+			} else if (delimiter instanceof StringDelimiter) {
+				separators.add(((StringDelimiter) delimiter).getSeparator());
+			} else {
+				throw new IllegalArgumentException("Delimiter doesn't expose its separator: " + delimiter);
+			}
+		}
+		return new DelimiterSet(separators);
+	}
+
+	public static DelimiterSet of(String... separators) {
+		return new DelimiterSet(new LinkedHashSet<>(Arrays.asList(separators)));
+	}
+
+	/***
+	 * @param delimiters
+	 * @return true if {@link #compile(List)} accepts given delimiters
+	 */
+	public static boolean canCompile(List<? extends Delimiter<String>> delimiters) {
+		if (delimiters == null || delimiters.isEmpty()) {
+			return false;
+		}
+		for (Delimiter<String> delimiter : delimiters) {
+			if (!(delimiter instanceof StringDelimiter) && !(delimiter instanceof DelimiterSet)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public List<String> getSeparators() {
+		return separators;
+	}
+
+	/***
+	 * @return true if every separator is a single character, in which case
+	 *         {@link #isSeparator(char)} is used instead of the automaton
+	 */
+	public boolean isSingleCharacter() {
+		return table != null;
+	}
+
+	/***
+	 * @param c
+	 * @return true if given character is a separator, only valid for single
+	 *         character sets
+	 */
+	public boolean isSeparator(char c) {
+		return c < table.length && table[c];
+	}
+
+	/***
+	 * @param state current automaton state, 0 initially
+	 * @param c     next character
+	 * @return next automaton state
+	 */
+	public int next(int state, char c) {
+		return transitions[state * alphabetSize + classOf(c)];
+	}
+
+	/***
+	 * @param state
+	 * @return length of separator which ends at given state, 0 if none
+	 */
+	public int matchLength(int state) {
+		return matchLengths[state];
+	}
+
+	/***
+	 * @return number of automaton states, 1 for single character sets
+	 */
+	public int getStateCount() {
+		return depths != null ? depths.length : 1;
+	}
+
+	/***
+	 * <p>
+	 * Approximate number of bytes held by the compiled tables, dominated by the
+	 * transition table, which grows with states times distinct characters.
+	 * 
+	 * @return weight in bytes
+	 */
+	public long getWeight() {
+		long weight = 0;
+		for (String separator : separators) {
+			weight += ARRAY_HEADER + 2L * separator.length();
+		}
+		if (table != null) {
+			return weight + ARRAY_HEADER + table.length;
+		}
+		weight += 4L * ARRAY_HEADER + 4L * (asciiClasses.length + transitions.length + depths.length
+				+ matchLengths.length) + 2L * otherChars.length;
+		for (char[] label : labels) {
+			weight += ARRAY_HEADER + 2L * label.length;
+		}
+		return weight;
+	}
+
+	/***
+	 * @param state
+	 * @return number of trailing characters given state stands for
+	 */
+	public int depth(int state) {
+		return depths[state];
+	}
+
+	/***
+	 * @param state
+	 * @param index less than {@link #depth(int)}
+	 * @return character at given index of the characters given state stands for
+	 */
+	public char labelAt(int state, int index) {
+		return labels[state][index];
+	}
+
+	private int classOf(char c) {
+		if (c < ASCII) {
+			return asciiClasses[c];
+		}
+		// other characters are sorted and numbered after all ASCII ones
+		int index = Arrays.binarySearch(otherChars, c);
+		return index < 0 ? 0 : alphabetSize - otherChars.length + index;
+	}
+
+	/***
+	 * <p>
+	 * Splits each stream data on all separators in one pass and returns Stream of
+	 * tokens.
+	 * 
+	 * @param {@link Stream<String>}
+	 * @return {@link Stream<String>}
+	 */
+	@Override
+	public Stream<String> split(Stream<String> stream) {
+		if (stream != null) {
+			return stream.flatMap(string -> split(string).stream());
+		}
+		return Stream.empty();
+	}
+
+	private List<String> split(String string) {
+		List<String> tokens = new ArrayList<>();
+		int start = 0;
+		int state = 0;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			int length;
+			if (table != null) {
+				length = isSeparator(c) ? 1 : 0;
+			} else {
+				state = next(state, c);
+				length = matchLengths[state];
+			}
+			if (length > 0) {
+				tokens.add(string.substring(start, i + 1 - length));
+				start = i + 1;
+				state = 0;
+			}
+		}
+		tokens.add(string.substring(start));
+		return tokens;
+	}
+
+	@Override
+	public String toString() {
+		return "DelimiterSet" + separators;
+	}
+
+}
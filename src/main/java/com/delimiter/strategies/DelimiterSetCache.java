@@ -0,0 +1,153 @@
+package com.delimiter.strategies;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/***
+ * <p>
+ * Bounded, least recently used cache of compiled {@link DelimiterSet}s keyed by
+ * their delimiter spec, so repeated specs don't pay the compile cost again
+ * while a stream of unique specs can't grow memory beyond the given capacity.
+ * Cache is bounded by number of entries and by total weight, where weight of
+ * an entry is {@link DelimiterSet#getWeight()}, so a few specs with many
+ * distinct characters can't hold large tables; sets heavier than the whole
+ * cache are never cached.
+ *
+ * <p>
+ * It is thread safe; specs are compiled outside of the lock, so a slow compile
+ * doesn't block lookups of other specs. Two threads missing the same spec may
+ * both compile it, first one cached wins. Hit, miss and eviction counts are
+ * kept for monitoring.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public final class DelimiterSetCache {
+
+	/***
+	 * Default maximum weight, 16 MB.
+	 */
+	public static final long DEFAULT_MAXIMUM_WEIGHT = 16L << 20;
+
+	private final Map<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final int capacity;
+
+	private final long maximumWeight;
+
+	private long weight;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private long evictionCount;
+
+	public DelimiterSetCache(int capacity) {
+		this(capacity, DEFAULT_MAXIMUM_WEIGHT);
+	}
+
+	/***
+	 * @param capacity      maximum number of cached sets
+	 * @param maximumWeight maximum total weight of cached sets, in bytes
+	 */
+	public DelimiterSetCache(int capacity, long maximumWeight) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		if (maximumWeight <= 0) {
+			throw new IllegalArgumentException("maximumWeight must be positive");
+		}
+		this.capacity = capacity;
+		this.maximumWeight = maximumWeight;
+	}
+
+	/***
+	 * <p>
+	 * Returns cached set of given spec, compiling and caching it on a miss.
+	 *
+	 * @param spec
+	 * @param compiler
+	 * @return compiled set
+	 */
+	public DelimiterSet get(String spec, Function<String, DelimiterSet> compiler) {
+		synchronized (this) {
+			Entry entry = cache.get(spec);
+			if (entry != null) {
+				hitCount++;
+				return entry.delimiterSet;
+			}
+			missCount++;
+		}
+		DelimiterSet delimiterSet = compiler.apply(spec);
+		long entryWeight = delimiterSet.getWeight();
+		if (entryWeight > maximumWeight) {
+			return delimiterSet;
+		}
+		return putIfAbsent(spec, new Entry(delimiterSet, entryWeight));
+	}
+
+	public synchronized int size() {
+		return cache.size();
+	}
+
+	public synchronized long weight() {
+		return weight;
+	}
+
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "DelimiterSetCache[size=" + cache.size() + ", weight=" + weight + ", hits=" + hitCount + ", misses="
+				+ missCount + ", evictions=" + evictionCount + "]";
+	}
+
+	/***
+	 * @return set already cached for given spec by a racing thread, else the
+	 *         set of given entry
+	 */
+	private synchronized DelimiterSet putIfAbsent(String spec, Entry entry) {
+		Entry previous = cache.putIfAbsent(spec, entry);
+		if (previous != null) {
+			return previous.delimiterSet;
+		}
+		weight += entry.weight;
+		Iterator<Entry> eldest = cache.values().iterator();
+		while (weight > maximumWeight || cache.size() > capacity) {
+			weight -= eldest.next().weight;
+			eldest.remove();
+			evictionCount++;
+		}
+		return entry.delimiterSet;
+	}
+
+	/***
+	 * Cached set along with its weight.
+	 */
+	private static final class Entry {
+
+		private final DelimiterSet delimiterSet;
+
+		private final long weight;
+
+		private Entry(DelimiterSet delimiterSet, long weight) {
+			this.delimiterSet = delimiterSet;
+			this.weight = weight;
+		}
+
+	}
+
+}
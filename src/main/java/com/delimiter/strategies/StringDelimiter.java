@@ -0,0 +1,23 @@
+package com.delimiter.strategies;
+
+/***
+ * <p>
+ * A {@link Delimiter} operating on {@link String} input which splits on a
+ * fixed, literal separator. Exposing the separator lets calculation engines
+ * recognise the delimiter while scanning characters, instead of materialising
+ * split tokens through {@link #split(java.util.stream.Stream)}.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public interface StringDelimiter extends Delimiter<String> {
+
+	/***
+	 * <p>
+	 * Literal separator this delimiter splits on.
+	 * 
+	 * @return separator, never null or empty
+	 */
+	public String getSeparator();
+
+}
@@ -9,7 +9,9 @@ import java.util.stream.Stream;
  * @author gaurav.vishal
  *
  */
-public class StringSpaceSplitter implements Delimiter<String> {
+public class StringSpaceSplitter implements StringDelimiter {
+
+	private static final String SEPARATOR = " ";
 
 	/***
 	 * <p>
@@ -22,9 +24,14 @@ public class StringSpaceSplitter implements Delimiter<String> {
 	@Override
 	public Stream<String> split(Stream<String> stream) {
 		if (stream != null) {
-			return stream.flatMap(string -> Stream.of(string.split(" ")));
+			return stream.flatMap(string -> Stream.of(string.split(SEPARATOR)));
 		}
 		return Stream.empty();
 	}
 
+	@Override
+	public String getSeparator() {
+		return SEPARATOR;
+	}
+
 }
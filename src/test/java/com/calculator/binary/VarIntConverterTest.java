@@ -0,0 +1,99 @@
+package com.calculator.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.calculator.strategies.VarIntCalculationStrategy;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link VarIntConverter} Test class to verify that converted text decodes to
+ * the same result as the text itself.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class VarIntConverterTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	/**
+	 * Interactive test that converts a text file larger than a chunk.
+	 *
+	 * @testcase Binary file should be smaller than text file, hold every number,
+	 *           and its sum should be same as sum of the text.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void convert_file() throws IOException {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 50000; i++) {
+			builder.append(i % 97 == 0 ? 100000 + i : i % 101).append(i % 3 == 0 ? ' ' : ',');
+		}
+		String text = builder.toString();
+		Path textFile = Files.createTempFile("calculator", ".txt");
+		Path binaryFile = Files.createTempFile("calculator", ".bin");
+		try {
+			Files.write(textFile, text.getBytes(StandardCharsets.US_ASCII));
+			Assert.assertEquals(50000, new VarIntConverter().convert(textFile, binaryFile));
+			Assert.assertTrue(Files.size(binaryFile) * 2 < Files.size(textFile));
+			int expected = new ScannerCalculationStrategy(
+					Arrays.<Delimiter<String>>asList(new StringCommaSplitter(), new StringSpaceSplitter()))
+							.calculate(text);
+			Assert.assertEquals(expected,
+					new VarIntCalculationStrategy().calculate(ByteBuffer.wrap(Files.readAllBytes(binaryFile))));
+		} finally {
+			Files.deleteIfExists(textFile);
+			Files.deleteIfExists(binaryFile);
+		}
+	}
+
+	/**
+	 * Interactive test that converts text holding a negative number.
+	 *
+	 * @exception UnsupportedNumberException should be thrown on decode, not on
+	 *                                       conversion.
+	 *
+	 */
+	@Test
+	public void convert_exceptionCase1() {
+		ByteBuffer binary = new VarIntConverter(DelimiterSet.of(";")).convert("1;-2;3");
+		Assert.assertEquals(7, binary.remaining());
+		expectedEx.expect(UnsupportedNumberException.class);
+		new VarIntCalculationStrategy().calculate(binary);
+	}
+
+	/**
+	 * Interactive test that converts text holding an invalid delimiter.
+	 *
+	 * @exception InvalidDelimiterException should be thrown at byte offset of
+	 *                                      the token.
+	 *
+	 */
+	@Test
+	public void convert_exceptionCase2() {
+		expectedEx.expect(InvalidDelimiterException.class);
+		expectedEx.expectMessage("at offset 4");
+		new VarIntConverter().convert("1,2 3;4,5");
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.calculator.common;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.strategies.AbstractCalculationStrategy;
+import com.calculator.strategies.IntCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.calculator.strategies.StringCalculationStrategy;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link StrategyRegistry} Test class to test lazy construction and runtime
+ * swapping of strategies.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class StrategyRegistryTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<String>> delimiters() {
+		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+	}
+
+	/**
+	 * Interactive test that registers a strategy lazily.
+	 * 
+	 * @testcase supplier is called once, on first use only.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void registerLazily_case() {
+		StrategyRegistry registry = new StrategyRegistry();
+		AtomicInteger constructions = new AtomicInteger();
+		registry.registerLazily(InputType.STRING, () -> {
+			constructions.incrementAndGet();
+			return new StringCalculationStrategy(delimiters());
+		});
+		Assert.assertEquals(0, constructions.get());
+		AbstractCalculationStrategy<String> strategy = registry.get(InputType.STRING, String.class);
+		Assert.assertEquals(3, strategy.calculate("1,2"));
+		Assert.assertSame(strategy, registry.get(InputType.STRING));
+		Assert.assertEquals(1, constructions.get());
+	}
+
+	/**
+	 * Interactive test that swaps a strategy while another thread reads it.
+	 * 
+	 * @testcase reader always sees a complete strategy, and the new one after the
+	 *           swap.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void register_swapCase() throws InterruptedException {
+		final StrategyRegistry registry = new StrategyRegistry();
+		registry.register(InputType.STRING, new StringCalculationStrategy(delimiters()));
+		final AtomicInteger failures = new AtomicInteger();
+		Thread reader = new Thread(() -> {
+			for (int i = 0; i < 100000; i++) {
+				AbstractCalculationStrategy<String> strategy = registry.get(InputType.STRING, String.class);
+				if (strategy == null || strategy.calculate("1 2") != 3) {
+					failures.incrementAndGet();
+				}
+			}
+		});
+		reader.start();
+		ScannerCalculationStrategy scanner = new ScannerCalculationStrategy(delimiters());
+		registry.register(InputType.STRING, scanner);
+		reader.join();
+		Assert.assertEquals(0, failures.get());
+		Assert.assertSame(scanner, registry.get(InputType.STRING));
+		registry.unregister(InputType.STRING);
+		Assert.assertNull(registry.get(InputType.STRING));
+	}
+
+	/**
+	 * Interactive test that registers strategies of several input types at once.
+	 * 
+	 * @testcase both types are registered with one snapshot, replacing the
+	 *           previous STRING strategy, and constructed on first use only.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void registerAll_case() {
+		StrategyRegistry registry = new StrategyRegistry();
+		registry.register(InputType.STRING, new StringCalculationStrategy(delimiters()));
+		AtomicInteger constructions = new AtomicInteger();
+		EnumMap<InputType, Supplier<AbstractCalculationStrategy<?>>> suppliers = new EnumMap<>(InputType.class);
+		suppliers.put(InputType.STRING, () -> {
+			constructions.incrementAndGet();
+			return new ScannerCalculationStrategy(delimiters());
+		});
+		suppliers.put(InputType.INTS, () -> {
+			constructions.incrementAndGet();
+			return new IntCalculationStrategy();
+		});
+		registry.registerAll(suppliers);
+		Assert.assertEquals(EnumSet.of(InputType.STRING, InputType.INTS), registry.getRegisteredTypes());
+		Assert.assertEquals(0, constructions.get());
+		Assert.assertTrue(registry.get(InputType.STRING) instanceof ScannerCalculationStrategy);
+		Assert.assertEquals(1, constructions.get());
+	}
+
+	/**
+	 * Interactive test that asks for a strategy with wrong input class.
+	 * 
+	 * @exception IllegalArgumentException should be thrown as STRING input type
+	 *                                     doesn't accept Integer input.
+	 * 
+	 */
+	@Test
+	public void get_exceptionCase() {
+		StrategyRegistry registry = new StrategyRegistry();
+		expectedEx.expect(IllegalArgumentException.class);
+		registry.get(InputType.STRING, Integer.class);
+	}
+
+}
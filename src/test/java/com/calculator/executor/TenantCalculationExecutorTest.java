@@ -0,0 +1,239 @@
+package com.calculator.executor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+
+/***
+ * <p>
+ * {@link TenantCalculationExecutor} Test class to verify results, admission
+ * control and fair ordering between tenants.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class TenantCalculationExecutorTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	/***
+	 * Scanner strategy recording the order of its inputs, whose first call waits
+	 * for a latch so inputs can be queued behind it.
+	 */
+	private static final class RecordingStrategy extends ScannerCalculationStrategy {
+
+		private final List<String> inputs = Collections.synchronizedList(new ArrayList<String>());
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		RecordingStrategy() {
+			super(Arrays.<Delimiter<String>>asList(new StringCommaSplitter()));
+		}
+
+		@Override
+		public int calculate(String input) {
+			inputs.add(input);
+			if (inputs.size() == 1) {
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return super.calculate(input);
+		}
+
+	}
+
+	private static TenantCalculationExecutor.Builder<String> builder(ScannerCalculationStrategy strategy) {
+		return TenantCalculationExecutor.builder(strategy, (String input) -> input.length()).workers(1);
+	}
+
+	/**
+	 * Interactive test that submits valid and negative inputs.
+	 *
+	 * @testcase sum of "1,2,3" = 6, and negative number should fail its future
+	 *           only.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void submit_completesFutures() throws Exception {
+		TenantCalculationExecutor<String> executor = builder(
+				new ScannerCalculationStrategy(Arrays.<Delimiter<String>>asList(new StringCommaSplitter()))).build();
+		CompletableFuture<Integer> sum = executor.submit("a", "1,2,3");
+		CompletableFuture<Integer> negative = executor.submit("b", "1,-2");
+		Assert.assertEquals(Integer.valueOf(6), sum.get(10, TimeUnit.SECONDS));
+		try {
+			negative.get(10, TimeUnit.SECONDS);
+			Assert.fail();
+		} catch (ExecutionException ex) {
+			Assert.assertTrue(ex.getCause() instanceof UnsupportedNumberException);
+		}
+		executor.shutdown();
+		Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Interactive test that queues large inputs of a heavy tenant, then a small
+	 * one of a light tenant, while the only worker is busy.
+	 *
+	 * @testcase Small input should run right after the busy one, before the
+	 *           queued large inputs, which keep their order.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void submit_lightTenantOvertakesHeavyQueue() throws Exception {
+		RecordingStrategy strategy = new RecordingStrategy();
+		TenantCalculationExecutor<String> executor = builder(strategy).build();
+		String large = String.join(",", Collections.nCopies(1000, "1"));
+		List<CompletableFuture<Integer>> futures = new ArrayList<>();
+		futures.add(executor.submit("heavy", "1"));
+		while (strategy.inputs.isEmpty()) {
+			Thread.sleep(1);
+		}
+		for (int i = 0; i < 3; i++) {
+			futures.add(executor.submit("heavy", large + "," + i));
+		}
+		futures.add(executor.submit("light", "5"));
+		strategy.release.countDown();
+		for (CompletableFuture<Integer> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		Assert.assertEquals(Arrays.asList("1", "5", large + ",0", large + ",1", large + ",2"), strategy.inputs);
+		executor.shutdown();
+	}
+
+	/**
+	 * Interactive test that submits an oversized input and more inputs than the
+	 * queue of a tenant holds.
+	 *
+	 * @testcase Oversized input and overflowing input should be rejected at
+	 *           once, other tenants should still be admitted.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void submit_rejectsFast() throws Exception {
+		RecordingStrategy strategy = new RecordingStrategy();
+		TenantCalculationExecutor<String> executor = builder(strategy).maxInputSize(10).maxQueued(2, 100).build();
+		CompletableFuture<Integer> busy = executor.submit("a", "1");
+		while (strategy.inputs.isEmpty()) {
+			Thread.sleep(1);
+		}
+		Assert.assertTrue(isRejected(executor.submit("a", "1,2,3,4,5,6")));
+		executor.submit("a", "2");
+		executor.submit("a", "3");
+		Assert.assertEquals(2, executor.getQueuedCount("a"));
+		Assert.assertTrue(isRejected(executor.submit("a", "4")));
+		CompletableFuture<Integer> other = executor.submit("b", "4");
+		Assert.assertEquals(2, executor.getRejectedCount("a"));
+		strategy.release.countDown();
+		Assert.assertEquals(Integer.valueOf(1), busy.get(10, TimeUnit.SECONDS));
+		Assert.assertEquals(Integer.valueOf(4), other.get(10, TimeUnit.SECONDS));
+		executor.shutdown();
+		Assert.assertTrue(isRejected(executor.submit("b", "4")));
+	}
+
+	/**
+	 * Interactive test that submits from many short lived tenants.
+	 *
+	 * @testcase State of tenants which are rejected, or whose inputs are done,
+	 *           should be dropped, rotating tenant names shouldn't grow it.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void submit_dropsIdleTenants() throws Exception {
+		TenantCalculationExecutor<String> executor = builder(
+				new ScannerCalculationStrategy(Arrays.<Delimiter<String>>asList(new StringCommaSplitter())))
+						.maxInputSize(10).build();
+		for (int i = 0; i < 10000; i++) {
+			Assert.assertTrue(isRejected(executor.submit("rejected" + i, "1,2,3,4,5,6")));
+		}
+		Assert.assertEquals(0, executor.getTenantCount());
+		for (int i = 0; i < 10000; i++) {
+			Assert.assertEquals(Integer.valueOf(1), executor.submit("done" + i, "1").get(10, TimeUnit.SECONDS));
+		}
+		Assert.assertTrue(executor.getTenantCount() <= 128);
+		executor.shutdown();
+	}
+
+	/**
+	 * Interactive test that runs a strategy throwing an {@link Error}.
+	 *
+	 * @testcase Future should fail with the error, and the only worker should
+	 *           keep running later inputs.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void submit_survivesErrors() throws Exception {
+		TenantCalculationExecutor<String> executor = builder(
+				new ScannerCalculationStrategy(Arrays.<Delimiter<String>>asList(new StringCommaSplitter())) {
+
+					@Override
+					public int calculate(String input) {
+						if (input.isEmpty()) {
+							throw new AssertionError("empty");
+						}
+						return super.calculate(input);
+					}
+
+				}).build();
+		try {
+			executor.submit("a", "").get(10, TimeUnit.SECONDS);
+			Assert.fail();
+		} catch (ExecutionException ex) {
+			Assert.assertTrue(ex.getCause() instanceof AssertionError);
+		}
+		Assert.assertEquals(Integer.valueOf(3), executor.submit("a", "1,2").get(10, TimeUnit.SECONDS));
+		executor.shutdown();
+	}
+
+	/**
+	 * Interactive test that configures a tenant with zero weight.
+	 *
+	 * @exception IllegalArgumentException should be thrown.
+	 *
+	 */
+	@Test
+	public void builder_exceptionCase1() {
+		expectedEx.expect(IllegalArgumentException.class);
+		builder(new ScannerCalculationStrategy(Arrays.<Delimiter<String>>asList(new StringCommaSplitter())))
+				.weight("a", 0);
+	}
+
+	private static boolean isRejected(CompletableFuture<Integer> future) {
+		try {
+			future.getNow(null);
+			return false;
+		} catch (RuntimeException ex) {
+			return ex.getCause() instanceof RejectedExecutionException;
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+package com.calculator.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.calculator.strategies.InstrumentedCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link StrategyMetrics} Test class to test histograms, the instrumented
+ * strategy and JMX registration.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class StrategyMetricsTest {
+
+	/**
+	 * Interactive test that records values into a histogram.
+	 * 
+	 * @testcase percentiles are reported within 1/16 of the recorded values,
+	 *           small values exactly.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void histogram_percentileCase() {
+		Histogram histogram = new Histogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		Assert.assertEquals(1000, histogram.getCount());
+		Assert.assertEquals(1000000, histogram.getMax());
+		Assert.assertEquals(500500, histogram.getMean(), 0.001);
+		long p50 = histogram.getValueAtPercentile(50);
+		Assert.assertTrue(String.valueOf(p50), p50 >= 500000 && p50 <= 500000 * 17 / 16);
+		Assert.assertEquals(1000000, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		histogram.record(3);
+		histogram.record(-1);
+		Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+		Assert.assertEquals(3, histogram.getValueAtPercentile(99));
+		for (long value : new long[] { 15, 16, 17, 1000, Long.MAX_VALUE }) {
+			int bucket = Histogram.bucketOf(value);
+			Assert.assertTrue(Histogram.highestValueOf(bucket) >= value);
+			Assert.assertTrue(bucket == 0 || Histogram.highestValueOf(bucket - 1) < value);
+		}
+	}
+
+	/**
+	 * Interactive test that calculates through an instrumented strategy.
+	 * 
+	 * @testcase calls, input sizes and exceptions by type are recorded and
+	 *           readable through JMX.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void instrumented_recordCase() throws Exception {
+		CalculationMetrics metrics = new JmxMetricsFactory().create("test", RuleSet.DEFAULT.getRuleNames());
+		InstrumentedCalculationStrategy<String> strategy = new InstrumentedCalculationStrategy<>(
+				new ScannerCalculationStrategy(Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter())),
+				metrics, String::length);
+		Assert.assertEquals(3, strategy.calculate("1,2"));
+		Assert.assertEquals(0, strategy.calculate(null));
+		for (String input : new String[] { "1,-2", "1;2", "1;2,3" }) {
+			try {
+				strategy.calculate(input);
+				Assert.fail();
+			} catch (InvalidDelimiterException | UnsupportedNumberException ex) {
+				// recorded
+			}
+		}
+
+		StrategyMetrics strategyMetrics = (StrategyMetrics) metrics;
+		Assert.assertEquals(5, strategyMetrics.getCallCount());
+		Assert.assertEquals(5, strategyMetrics.getInputSizeMax());
+		Assert.assertEquals(Long.valueOf(2),
+				strategyMetrics.getExceptionCounts().get(InvalidDelimiterException.class.getName()));
+		Assert.assertEquals(Long.valueOf(1),
+				strategyMetrics.getExceptionCounts().get(UnsupportedNumberException.class.getName()));
+		Assert.assertTrue(strategyMetrics.getLatencyMaxNanos() > 0);
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = JmxMetricsFactory.objectName("test");
+		Assert.assertEquals(5L, server.getAttribute(name, "CallCount"));
+		new JmxMetricsFactory().create("test", Collections.<String>emptyList());
+		Assert.assertEquals(0L, server.getAttribute(name, "CallCount"));
+	}
+
+	/**
+	 * Interactive test that counts tokens of the current thread.
+	 * 
+	 * @testcase tokens and tokens ignored per rule are counted, filtered counts
+	 *           are reported per rule name.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void tokenCounters_case() {
+		TokenCounters counters = TokenCounters.current();
+		counters.reset();
+		counters.token(-1);
+		counters.token(0);
+		counters.token(6);
+		Assert.assertEquals(3, counters.getTokens());
+		Assert.assertEquals(7, counters.getRuleCount());
+		Assert.assertEquals(1, counters.getFiltered(6));
+		counters.reset();
+		Assert.assertEquals(0, counters.getTokens());
+		Assert.assertEquals(0, counters.getFiltered(6));
+
+		StrategyMetrics metrics = new StrategyMetrics("rules", RuleSet.DEFAULT.getRuleNames());
+		metrics.recordFiltered(0, 4);
+		metrics.recordFiltered(9, 1);
+		Assert.assertEquals(Long.valueOf(4), metrics.getFilteredCounts().get("ignoreAbove(100)"));
+		Assert.assertEquals(Long.valueOf(0), metrics.getFilteredCounts().get("rejectBelow(0)"));
+	}
+
+}
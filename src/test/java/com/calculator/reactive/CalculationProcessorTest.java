@@ -0,0 +1,313 @@
+package com.calculator.reactive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link CalculationProcessor} Test class to verify sums, windows, error
+ * policies and backpressure against in memory publishers and subscribers.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class CalculationProcessorTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<String>> delimiters() {
+		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+	}
+
+	/**
+	 * Interactive test that publishes chunks splitting numbers.
+	 *
+	 * @testcase Running totals should count a number once it is completed and
+	 *           the last total should include the pending number.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void running_totals() {
+		CalculationProcessor processor = CalculationProcessor.builder(delimiters()).build();
+		Recorder recorder = run(processor, 1, "1,2", "0 3", ",200,", "4");
+		Assert.assertEquals(Arrays.asList(1L, 21L, 24L, 24L, 28L), recorder.sums);
+		Assert.assertTrue(recorder.completed);
+	}
+
+	/**
+	 * Interactive test that publishes chunks into count windows.
+	 *
+	 * @testcase Each window should sum the numbers completed within it.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void windowByCount_sums() {
+		CalculationProcessor processor = CalculationProcessor.builder(delimiters()).windowByCount(2).build();
+		Recorder recorder = run(processor, 1, "1,", "2,", "3,", "4", "0,5");
+		Assert.assertEquals(Arrays.asList(3L, 3L, 45L), recorder.sums);
+		Assert.assertTrue(recorder.completed);
+	}
+
+	/**
+	 * Interactive test that publishes a multi character separator split across
+	 * chunks.
+	 *
+	 * @testcase Total should be 35.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void running_separatorSplit() {
+		CalculationProcessor processor = CalculationProcessor
+				.builder(Arrays.<Delimiter<String>>asList(DelimiterSet.of("***"))).windowByCount(10).build();
+		Recorder recorder = run(processor, Long.MAX_VALUE, "12*", "*", "*2", "3");
+		Assert.assertEquals(Arrays.asList(35L), recorder.sums);
+	}
+
+	/**
+	 * Interactive test that publishes a negative number.
+	 *
+	 * @exception UnsupportedNumberException should be signalled after the sums
+	 *                                       preceding it and the publisher
+	 *                                       should be cancelled.
+	 *
+	 */
+	@Test
+	public void onError_exceptionCase1() {
+		CalculationProcessor processor = CalculationProcessor.builder(delimiters()).build();
+		ListPublisher publisher = new ListPublisher("1,", "2,", "-3,", "4");
+		Recorder recorder = new Recorder(1);
+		publisher.subscribe(processor);
+		processor.subscribe(recorder);
+		Assert.assertEquals(Arrays.asList(1L, 3L), recorder.sums);
+		Assert.assertTrue(recorder.error instanceof UnsupportedNumberException);
+		Assert.assertTrue(publisher.cancelled);
+	}
+
+	/**
+	 * Interactive test that publishes invalid and negative numbers with skip
+	 * policy.
+	 *
+	 * @testcase Offending numbers should be skipped and counted, the stream
+	 *           should complete.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void skipInvalid_counts() {
+		CalculationProcessor processor = CalculationProcessor.builder(delimiters()).windowByCount(100).skipInvalid()
+				.build();
+		Recorder recorder = run(processor, 1, "1,a", "b,-3,", "4,+", ",5");
+		Assert.assertEquals(Arrays.asList(10L), recorder.sums);
+		Assert.assertEquals(3, processor.getSkippedCount());
+		Assert.assertTrue(recorder.completed);
+	}
+
+	/**
+	 * Interactive test that publishes many chunks to a subscriber which doesn't
+	 * request anything.
+	 *
+	 * @testcase Publisher shouldn't be asked for more chunks than the prefetch,
+	 *           until sums are requested; then all sums should arrive.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void backpressure_boundedByPrefetch() {
+		String[] chunks = new String[1000];
+		Arrays.fill(chunks, "1,");
+		CalculationProcessor processor = CalculationProcessor.builder(delimiters()).prefetch(16).build();
+		ListPublisher publisher = new ListPublisher(chunks);
+		Recorder recorder = new Recorder(0);
+		publisher.subscribe(processor);
+		processor.subscribe(recorder);
+		Assert.assertTrue(publisher.emitted <= 32);
+		Assert.assertTrue(recorder.sums.isEmpty());
+		recorder.subscription.request(Long.MAX_VALUE);
+		Assert.assertEquals(1000, recorder.sums.size());
+		Assert.assertEquals(Long.valueOf(1000), recorder.sums.get(999));
+		Assert.assertTrue(recorder.completed);
+		Assert.assertTrue(publisher.requests < 1000);
+	}
+
+	/**
+	 * Interactive test that subscribes twice.
+	 *
+	 * @exception IllegalStateException should be signalled to the second
+	 *                                  subscriber.
+	 *
+	 */
+	@Test
+	public void subscribe_exceptionCase2() {
+		CalculationProcessor processor = CalculationProcessor.builder(delimiters()).build();
+		processor.subscribe(new Recorder(1));
+		Recorder second = new Recorder(1);
+		processor.subscribe(second);
+		Assert.assertTrue(second.error instanceof IllegalStateException);
+	}
+
+	/**
+	 * Interactive test that builds a processor of delimiters which can't be
+	 * compiled.
+	 *
+	 * @exception UnsupportedOperationException should be thrown.
+	 *
+	 */
+	@Test
+	public void builder_exceptionCase3() {
+		expectedEx.expect(UnsupportedOperationException.class);
+		CalculationProcessor.builder(Arrays.<Delimiter<String>>asList(stream -> stream));
+	}
+
+	/**
+	 * Interactive test that publishes an invalid number at the very end.
+	 *
+	 * @exception InvalidDelimiterException should be signalled on completion.
+	 *
+	 */
+	@Test
+	public void onComplete_exceptionCase4() {
+		CalculationProcessor processor = CalculationProcessor.builder(delimiters()).build();
+		Recorder recorder = run(processor, Long.MAX_VALUE, "1,", "-");
+		Assert.assertEquals(Arrays.asList(1L, 1L), recorder.sums);
+		Assert.assertTrue(recorder.error instanceof InvalidDelimiterException);
+	}
+
+	private static Recorder run(CalculationProcessor processor, long batch, String... chunks) {
+		Recorder recorder = new Recorder(batch);
+		processor.subscribe(recorder);
+		new ListPublisher(chunks).subscribe(processor);
+		return recorder;
+	}
+
+	/***
+	 * Synchronous publisher which emits chunks on demand only.
+	 */
+	private static final class ListPublisher implements Publisher<String> {
+
+		private final String[] chunks;
+
+		private long demand;
+
+		private int emitted;
+
+		private int requests;
+
+		private boolean cancelled;
+
+		private boolean emitting;
+
+		ListPublisher(String... chunks) {
+			this.chunks = chunks;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super String> subscriber) {
+			subscriber.onSubscribe(new Subscription() {
+
+				@Override
+				public void request(long n) {
+					requests++;
+					demand += n;
+					if (emitting) {
+						return;
+					}
+					emitting = true;
+					while (demand > 0 && emitted < chunks.length && !cancelled) {
+						demand--;
+						subscriber.onNext(chunks[emitted++]);
+					}
+					emitting = false;
+					if (emitted == chunks.length && !cancelled) {
+						cancelled = true;
+						subscriber.onComplete();
+					}
+				}
+
+				@Override
+				public void cancel() {
+					cancelled = true;
+				}
+
+			});
+		}
+
+	}
+
+	/***
+	 * Subscriber requesting a batch of sums whenever the previous one arrived,
+	 * nothing if batch is 0.
+	 */
+	private static final class Recorder implements Subscriber<Long> {
+
+		private final long batch;
+
+		private final List<Long> sums = new ArrayList<>();
+
+		private Subscription subscription;
+
+		private long outstanding;
+
+		private boolean completed;
+
+		private Throwable error;
+
+		Recorder(long batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			this.subscription = subscription;
+			if (batch > 0) {
+				outstanding = batch;
+				subscription.request(batch);
+			}
+		}
+
+		@Override
+		public void onNext(Long sum) {
+			sums.add(sum);
+			if (batch > 0 && batch != Long.MAX_VALUE && --outstanding == 0) {
+				outstanding = batch;
+				subscription.request(batch);
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.calculator.rules;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.calculator.strategies.StringCalculationStrategy;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link RuleSet} Test class to test composed rules and their fused check.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class RuleSetTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<String>> delimiters() {
+		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+	}
+
+	/***
+	 * Outcome of given rule: "keep", "ignore" or the reject message.
+	 */
+	private static String outcome(NumberRule rule, int number) {
+		try {
+			return rule.accept(number) ? "keep" : "ignore";
+		} catch (UnsupportedNumberException ex) {
+			return ex.getMessage();
+		}
+	}
+
+	/**
+	 * Interactive test that compares fused check against the rules one by one.
+	 * 
+	 * @testcase allow list ignoring a number before a reject rule, overlapping
+	 *           ranges and a modulus give same outcome for each number as testing
+	 *           the rules in order.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void accept_sameAsChainCase() {
+		NumberRule[] chain = { new RangeRule(Integer.MIN_VALUE, 50, null), new AllowListRule(-3, 7, 8, 40, 60),
+				new RangeRule(0, Integer.MAX_VALUE, "negative"), new ModulusRule(4, 0),
+				new RangeRule(-10, 45, "out of range") };
+		RuleSet fused = RuleSet.builder().ignoreAbove(50).allow(-3, 7, 8, 40, 60).rejectBelow(0, "negative")
+				.modulus(4, 0).ignoreOutside(-10, 45).build();
+		Assert.assertEquals(chain.length, fused.size());
+		for (int number : new int[] { Integer.MIN_VALUE, -11, -10, -3, -1, 0, 7, 8, 40, 45, 50, 60, Integer.MAX_VALUE }) {
+			String expected = "keep";
+			for (NumberRule rule : chain) {
+				expected = outcome(rule, number);
+				if (!"keep".equals(expected)) {
+					break;
+				}
+			}
+			Assert.assertEquals(String.valueOf(number), expected, outcome(fused, number));
+		}
+	}
+
+	/**
+	 * Interactive test that checks default and empty rule sets.
+	 * 
+	 * @testcase default set keeps 0 to 100 and ignores greater numbers; a set
+	 *           with disjoint ranges ignores every number; an empty set keeps
+	 *           every number.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void accept_defaultAndEmptyCase() {
+		Assert.assertTrue(RuleSet.DEFAULT.accept(0));
+		Assert.assertTrue(RuleSet.DEFAULT.accept(100));
+		Assert.assertFalse(RuleSet.DEFAULT.accept(101));
+		Assert.assertFalse(RuleSet.DEFAULT.accept(Integer.MAX_VALUE));
+		RuleSet disjoint = RuleSet.builder().ignoreBelow(10).ignoreAbove(5).build();
+		Assert.assertFalse(disjoint.accept(7));
+		Assert.assertFalse(disjoint.accept(3));
+		Assert.assertTrue(RuleSet.builder().build().accept(Integer.MIN_VALUE));
+		Assert.assertTrue(RuleSet.builder().modulus(3, 2).build().accept(-1));
+		Assert.assertTrue(RuleSet.builder().modulus(8, 1).build().accept(-7));
+		Assert.assertFalse(RuleSet.builder().modulus(8, 1).build().accept(-6));
+	}
+
+	/**
+	 * Interactive test that passes a negative number to default rules.
+	 * 
+	 * @exception UnsupportedNumberException should be thrown as number is
+	 *                                       negative (-1)
+	 * 
+	 */
+	@Test
+	public void accept_exceptionCase() {
+		expectedEx.expect(UnsupportedNumberException.class);
+		expectedEx.expectMessage("Negative numbers are not supported");
+		RuleSet.DEFAULT.accept(-1);
+	}
+
+	/**
+	 * Interactive test that calculates with rules of a tenant.
+	 * 
+	 * @testcase stream and scanner strategies apply same tenant rules; tenant
+	 *           rules are compiled once.
+	 * 
+	 * @exception UnsupportedNumberException should be thrown as 1001 is rejected
+	 *                                       by tenant rules
+	 * 
+	 */
+	@Test
+	public void calculate_tenantRulesCase() {
+		RuleSetCache cache = new RuleSetCache();
+		AtomicInteger compiled = new AtomicInteger();
+		RuleSet rules = cache.get("tenant", tenant -> {
+			compiled.incrementAndGet();
+			return RuleSet.builder().ignoreAbove(1000).modulus(2, 0).build();
+		});
+		Assert.assertSame(rules, cache.get("tenant", tenant -> null));
+		Assert.assertEquals(1, compiled.get());
+
+		String input = "-4,3,500,1001,2000";
+		Assert.assertEquals(496, new StringCalculationStrategy(delimiters(), rules).calculate(input));
+		Assert.assertEquals(496, new ScannerCalculationStrategy(delimiters(), rules).calculate(input));
+
+		RuleSet strict = RuleSet.builder().rejectAbove(1000).build();
+		expectedEx.expect(UnsupportedNumberException.class);
+		expectedEx.expectMessage("Numbers greater than 1000 are not supported");
+		new ScannerCalculationStrategy(delimiters(), strict).calculate(input);
+	}
+
+}
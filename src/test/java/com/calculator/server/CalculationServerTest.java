@@ -0,0 +1,144 @@
+package com.calculator.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Scanner;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.calculator.strategies.AbstractCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link CalculationServer} Test class to test TCP and HTTP front ends on
+ * localhost.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class CalculationServerTest {
+
+	private static final int MAX_REQUEST_LENGTH = 64;
+
+	private CalculationServer server;
+
+	@Before
+	public void setUp() throws IOException {
+		final AbstractCalculationStrategy<String> strategy = new ScannerCalculationStrategy(
+				Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter()));
+		server = new CalculationServer(() -> strategy, new ServerConfig(0, 0, MAX_REQUEST_LENGTH, 8, 2));
+		server.start();
+	}
+
+	@After
+	public void tearDown() {
+		server.close();
+	}
+
+	/**
+	 * Interactive test that sends pipelined request lines over TCP.
+	 * 
+	 * @testcase every line gets its response in order, failures are reported as
+	 *           <code>ERR</code> lines and a too long line closes the connection.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void tcp_case() throws IOException {
+		try (Socket socket = new Socket("localhost", server.getTcpPort())) {
+			OutputStream out = socket.getOutputStream();
+			BufferedReader in = new BufferedReader(
+					new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			out.write("1,2 3\r\n\n1,-1\n1;2\n101,9,19\n".getBytes(StandardCharsets.UTF_8));
+			out.flush();
+			Assert.assertEquals("OK 6", in.readLine());
+			Assert.assertEquals("OK 0", in.readLine());
+			Assert.assertEquals("ERR Negative numbers are not supported", in.readLine());
+			Assert.assertEquals("ERR Invalid Delimiter found between valid numbers", in.readLine());
+			Assert.assertEquals("OK 28", in.readLine());
+
+			char[] tooLong = new char[MAX_REQUEST_LENGTH + 1];
+			Arrays.fill(tooLong, '1');
+			out.write((new String(tooLong) + "\n").getBytes(StandardCharsets.UTF_8));
+			out.flush();
+			Assert.assertEquals("ERR " + CalculationServer.TOO_LONG_MESSAGE, in.readLine());
+			Assert.assertNull(in.readLine());
+		}
+	}
+
+	/**
+	 * Interactive test that posts inputs over HTTP.
+	 * 
+	 * @testcase sum is returned with status 200, failures with 400, too long body
+	 *           with 413 and other methods with 405.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void http_case() throws IOException {
+		Assert.assertEquals("200 6", post("1,2,3"));
+		Assert.assertEquals("400 Negative numbers are not supported", post("1,-2"));
+		char[] tooLong = new char[MAX_REQUEST_LENGTH + 1];
+		Arrays.fill(tooLong, '1');
+		Assert.assertEquals("413 " + CalculationServer.TOO_LONG_MESSAGE, post(new String(tooLong)));
+
+		HttpURLConnection connection = (HttpURLConnection) url().openConnection();
+		Assert.assertEquals(405, connection.getResponseCode());
+		connection.disconnect();
+	}
+
+	/**
+	 * Interactive test that runs the load generator against the server.
+	 * 
+	 * @testcase all requests succeed and each one's latency is recorded.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void loadGenerator_case() throws IOException, InterruptedException {
+		LoadGenerator generator = new LoadGenerator("localhost", server.getTcpPort(), 4, 50, 10);
+		Assert.assertTrue(generator.run() > 0);
+		Assert.assertEquals(200, generator.getLatency().getCount());
+		Assert.assertEquals(0, generator.getErrorCount());
+	}
+
+	private URL url() throws IOException {
+		return new URL("http://localhost:" + server.getHttpPort() + CalculationServer.CONTEXT_PATH);
+	}
+
+	private String post(String body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) url().openConnection();
+		try {
+			connection.setRequestMethod("POST");
+			connection.setDoOutput(true);
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(body.getBytes(StandardCharsets.UTF_8));
+			}
+			int status = connection.getResponseCode();
+			InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+			try (Scanner scanner = new Scanner(in, "UTF-8")) {
+				return status + " " + scanner.useDelimiter("\\A").next();
+			}
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+}
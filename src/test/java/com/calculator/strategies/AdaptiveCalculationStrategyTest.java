@@ -0,0 +1,167 @@
+package com.calculator.strategies;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.metrics.StrategyMetrics;
+import com.calculator.strategies.AdaptiveCalculationStrategy.ExecutionPath;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link AdaptiveCalculationStrategy} Test class to verify that each input
+ * takes the expected path and every path gives same result.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class AdaptiveCalculationStrategyTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<String>> delimiters() {
+		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+	}
+
+	private static String input(int length) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; builder.length() < length; i++) {
+			builder.append(i % 130).append(i % 3 == 0 ? ' ' : ',');
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Interactive test that calculates short, long and very long inputs with a
+	 * cache and a low parallel threshold.
+	 *
+	 * @testcase Short inputs should be cached, long ones scanned sequentially,
+	 *           very long ones in parallel, all with same sum as the scanner, and
+	 *           paths should be counted in strategy and metrics.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void calculate_choosesPathByLength() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			StrategyMetrics metrics = new StrategyMetrics("STRING", Collections.<String>emptyList());
+			AdaptiveCalculationStrategy strategy = AdaptiveCalculationStrategy.builder(delimiters())
+					.profile(new DispatchProfile(100000, 100)).pool(pool).cache(16, 1 << 20).metrics(metrics)
+					.build();
+			ScannerCalculationStrategy scanner = new ScannerCalculationStrategy(delimiters());
+			String[] inputs = { "1,2 3", input(5000), input(300000), "1,2 3" };
+			ExecutionPath[] paths = { ExecutionPath.CACHED, ExecutionPath.SEQUENTIAL, ExecutionPath.PARALLEL,
+					ExecutionPath.CACHED };
+			for (int i = 0; i < inputs.length; i++) {
+				Assert.assertEquals(paths[i], strategy.choosePath(inputs[i]));
+				Assert.assertEquals(scanner.calculate(inputs[i]), strategy.calculate(inputs[i]));
+			}
+			Assert.assertEquals(ExecutionPath.CACHED, strategy.choosePath(null));
+			Assert.assertEquals(2, strategy.getPathCount(ExecutionPath.CACHED));
+			Assert.assertEquals(1, strategy.getPathCount(ExecutionPath.PARALLEL));
+			Assert.assertEquals(Long.valueOf(1), metrics.getPathCounts().get("SEQUENTIAL"));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Interactive test that calculates with delimiters which don't expose their
+	 * separator.
+	 *
+	 * @testcase sum of "1;2;300" with a custom splitter = 3 through stream
+	 *           pipeline.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void calculate_streamPath() {
+		Delimiter<String> semicolons = stream -> stream.flatMap(string -> Arrays.stream(string.split(";")));
+		AdaptiveCalculationStrategy strategy = AdaptiveCalculationStrategy
+				.builder(Arrays.<Delimiter<String>>asList(semicolons)).build();
+		Assert.assertEquals(ExecutionPath.STREAM, strategy.choosePath("1;2;300"));
+		Assert.assertEquals(3, strategy.calculate("1;2;300"));
+	}
+
+	/**
+	 * Interactive test that calculates a negative number far in a very long
+	 * input.
+	 *
+	 * @exception UnsupportedNumberException should be thrown by the parallel
+	 *                                       path, same as sequential path.
+	 *
+	 */
+	@Test
+	public void calculate_exceptionCase1() {
+		expectedEx.expect(UnsupportedNumberException.class);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			AdaptiveCalculationStrategy.builder(delimiters()).profile(new DispatchProfile(1000, -1)).pool(pool)
+					.build().calculate(input(200000) + ",-4");
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Interactive test that stores and loads a calibrated profile.
+	 *
+	 * @testcase Loaded profile should have the calibrated thresholds, and
+	 *           parallel threshold shouldn't be below 16K.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void profile_calibrateStoreLoad() throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		Path path = Files.createTempFile("dispatch", ".properties");
+		try {
+			DispatchProfile profile = DispatchProfile.calibrate(new ScannerCalculationStrategy(delimiters()), pool);
+			Assert.assertTrue(profile.getParallelThreshold() >= 1 << 14);
+			profile.store(path);
+			DispatchProfile loaded = DispatchProfile.load(path);
+			Assert.assertEquals(profile.getParallelThreshold(), loaded.getParallelThreshold());
+			Assert.assertEquals(profile.getCacheMaxLength(), loaded.getCacheMaxLength());
+		} finally {
+			pool.shutdown();
+			Files.deleteIfExists(path);
+		}
+	}
+
+	/**
+	 * Interactive test that loads a profile with an invalid threshold.
+	 *
+	 * @exception IllegalArgumentException should be thrown.
+	 *
+	 */
+	@Test
+	public void profile_exceptionCase2() throws IOException {
+		Path path = Files.createTempFile("dispatch", ".properties");
+		try {
+			Files.write(path, Arrays.asList("parallelThreshold=many"));
+			expectedEx.expect(IllegalArgumentException.class);
+			DispatchProfile.load(path);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+}
@@ -0,0 +1,188 @@
+package com.calculator.strategies;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.delimiter.strategies.ByteCommaSplitter;
+import com.delimiter.strategies.ByteSpaceSplitter;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link ByteCalculationStrategy} Test class to test calculation of heap and
+ * direct byte buffers against {@link StringCalculationStrategy}.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class ByteCalculationStrategyTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<ByteBuffer>> delimiters() {
+		return Arrays.asList(new ByteCommaSplitter(), new ByteSpaceSplitter());
+	}
+
+	private static ByteBuffer direct(String input) {
+		byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes).flip();
+		return buffer;
+	}
+
+	/**
+	 * Interactive test that compares byte strategy against string strategy.
+	 * 
+	 * @testcase heap buffer, direct buffer and a non compiled delimiter list give
+	 *           same sum as string input.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_sameAsStringCase() {
+		AbstractCalculationStrategy<String> stringStrategy = new StringCalculationStrategy(
+				Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter()));
+		ByteCalculationStrategy strategy = new ByteCalculationStrategy(delimiters());
+		Delimiter<ByteBuffer> anonymous = stream -> new ByteCommaSplitter().split(stream);
+		ByteCalculationStrategy streamStrategy = new ByteCalculationStrategy(
+				Arrays.asList(anonymous, new ByteSpaceSplitter()));
+		for (String input : new String[] { "", " ", "1,2", "1 2 3 4 5 6 7 10,200", " 1,, 2 ,3,", "+5,-0,007" }) {
+			int expected = stringStrategy.calculate(input);
+			Assert.assertEquals(input, expected, strategy.calculate(input.getBytes(StandardCharsets.US_ASCII)));
+			Assert.assertEquals(input, expected, strategy.calculate(direct(input)));
+			Assert.assertEquals(input, expected, streamStrategy.calculate(direct(input)));
+		}
+		Assert.assertEquals(0, strategy.calculate((ByteBuffer) null));
+	}
+
+	/**
+	 * Interactive test that scans bytes a word at a time.
+	 * 
+	 * @testcase word at a time scanning gives same sum as byte by byte scanning
+	 *           for numbers and separators crossing word boundaries, signs,
+	 *           blank tokens and numbers longer than nine digits.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_wordAtATimeCase() {
+		ByteCalculationStrategy scalar = new ByteCalculationStrategy(delimiters());
+		ByteCalculationStrategy words = new ByteCalculationStrategy(delimiters(), true);
+		for (String input : new String[] { "1,2", "1,2,3,4,5,6,7,8,9,10", "12345678,1", "1 2 3 4 5,6,7,8,99,100,101",
+				"00000000000000000007,8", "+5,-0, 007 ,,,  1", "2147483647,999999999,3" }) {
+			int expected = scalar.calculate(input.getBytes(StandardCharsets.US_ASCII));
+			Assert.assertEquals(input, expected, words.calculate(input.getBytes(StandardCharsets.US_ASCII)));
+			Assert.assertEquals(input, expected, words.calculate(direct(input)));
+		}
+	}
+
+	/**
+	 * Interactive test that scans an invalid number a word at a time.
+	 * 
+	 * @testcase scanner reports the offset of the first invalid number, same as
+	 *           byte by byte scanning.
+	 * 
+	 * @exception InvalidDelimiterException should be thrown as number
+	 *                                      2147483648 overflows an int
+	 * 
+	 */
+	@Test
+	public void scan_wordAtATimeExceptionCase() {
+		NumberScanner scanner = new NumberScanner(DelimiterSet.of(",", " "), true);
+		Assert.assertTrue(scanner.isWordAtATime());
+		byte[] input = "1,2,3,4,5,2147483648,-1".getBytes(StandardCharsets.US_ASCII);
+		try {
+			scanner.scan(input, 0, input.length);
+			Assert.fail();
+		} catch (InvalidDelimiterException ex) {
+			Assert.assertEquals(10, scanner.getErrorOffset());
+		}
+		Assert.assertFalse(new NumberScanner(DelimiterSet.of("**"), true).isWordAtATime());
+		expectedEx.expect(UnsupportedNumberException.class);
+		new ByteCalculationStrategy(delimiters(), true).calculate(direct("1,2,3,4,5,6,7,8,-9"));
+	}
+
+	/**
+	 * Interactive test that calculates remaining bytes of a buffer.
+	 * 
+	 * @testcase only bytes between position and limit are summed, position is
+	 *           left untouched.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_remainingCase() {
+		ByteCalculationStrategy strategy = new ByteCalculationStrategy(delimiters());
+		ByteBuffer buffer = ByteBuffer.wrap("90,1,2,80".getBytes(StandardCharsets.US_ASCII));
+		buffer.position(3).limit(6);
+		Assert.assertEquals(3, strategy.calculate(buffer));
+		Assert.assertEquals(3, buffer.position());
+		Assert.assertEquals(3, strategy.calculate(buffer.slice()));
+	}
+
+	/**
+	 * Interactive test that passes a negative number in a direct buffer.
+	 * 
+	 * @exception UnsupportedNumberException should be thrown as input contains
+	 *                                       negative number (-1)
+	 * 
+	 */
+	@Test
+	public void calculate_exceptionCase1() {
+		ByteCalculationStrategy strategy = new ByteCalculationStrategy(delimiters());
+		expectedEx.expect(UnsupportedNumberException.class);
+		expectedEx.expectMessage("Negative numbers are not supported");
+		strategy.calculate(direct("1 2,-1"));
+	}
+
+	/**
+	 * Interactive test that passes a non ASCII digit.
+	 * 
+	 * @exception InvalidDelimiterException should be thrown as bytes outside of
+	 *                                      ASCII are invalid.
+	 * 
+	 */
+	@Test
+	public void calculate_exceptionCase2() {
+		ByteCalculationStrategy strategy = new ByteCalculationStrategy(delimiters());
+		expectedEx.expect(InvalidDelimiterException.class);
+		expectedEx.expectMessage("Invalid Delimiter found between valid numbers");
+		strategy.calculate("1,\u0663".getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Interactive test that splits a buffer with {@link ByteCommaSplitter}.
+	 * 
+	 * @testcase "1,22," is split into slices "1", "22" and "".
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void split_case() {
+		ByteBuffer[] tokens = new ByteCommaSplitter()
+				.split(Stream.of(ByteBuffer.wrap("1,22,".getBytes(StandardCharsets.US_ASCII))))
+				.toArray(ByteBuffer[]::new);
+		Assert.assertEquals(3, tokens.length);
+		Assert.assertEquals(ByteBuffer.wrap(new byte[] { '2', '2' }), tokens[1]);
+		Assert.assertEquals(0, tokens[2].remaining());
+	}
+
+}
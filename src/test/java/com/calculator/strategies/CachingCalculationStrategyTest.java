@@ -0,0 +1,104 @@
+package com.calculator.strategies;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link CachingCalculationStrategy} Test class to test memoization of results
+ * and exceptions along with size and weight based eviction.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class CachingCalculationStrategyTest {
+
+	private static AbstractCalculationStrategy<String> delegate() {
+		List<Delimiter<String>> delimiters = Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+		return new ScannerCalculationStrategy(delimiters);
+	}
+
+	/**
+	 * Interactive test that calculates same inputs repeatedly.
+	 * 
+	 * @testcase second calculation of each input is a hit, an input with negative
+	 *           number throws the same cached exception again.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_hitCase() {
+		CachingCalculationStrategy<String> strategy = new CachingCalculationStrategy<>(delegate(), 100, 100000,
+				String::length);
+		Assert.assertEquals(6, strategy.calculate("1,2,3"));
+		Assert.assertEquals(6, strategy.calculate("1,2,3"));
+		Assert.assertEquals(6L, strategy.calculateAsLong("1,2,3"));
+		RuntimeException first = null;
+		for (int i = 0; i < 2; i++) {
+			try {
+				strategy.calculate("1,-2");
+				Assert.fail("UnsupportedNumberException expected");
+			} catch (UnsupportedNumberException ex) {
+				Assert.assertTrue(first == null || first == ex);
+				first = ex;
+			}
+		}
+		Assert.assertEquals(0, strategy.calculate(null));
+		Assert.assertEquals(3, strategy.getHitCount());
+		Assert.assertEquals(2, strategy.getMissCount());
+		Assert.assertEquals(2, strategy.size());
+	}
+
+	/**
+	 * Interactive test that fills a cache bounded by size.
+	 * 
+	 * @testcase cache never holds more than one entry per segment.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_evictionCase() {
+		CachingCalculationStrategy<String> strategy = new CachingCalculationStrategy<>(delegate(), 16, 100000,
+				String::length);
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertEquals(i % 101 + 1, strategy.calculate(i % 101 + ",1"));
+		}
+		Assert.assertTrue(strategy.size() <= 16);
+		Assert.assertTrue(strategy.getEvictionCount() > 0);
+	}
+
+	/**
+	 * Interactive test that calculates an input heavier than the cache.
+	 * 
+	 * @testcase input is calculated but never cached.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_weightCase() {
+		CachingCalculationStrategy<String> strategy = new CachingCalculationStrategy<>(delegate(), 100, 16 * 100,
+				String::length);
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			builder.append("1,");
+		}
+		Assert.assertEquals(100, strategy.calculate(builder.toString()));
+		Assert.assertEquals(100, strategy.calculate(builder.toString()));
+		Assert.assertEquals(0, strategy.size());
+		Assert.assertEquals(0, strategy.getHitCount());
+		Assert.assertEquals(1, strategy.calculate("1"));
+		Assert.assertEquals(1, strategy.size());
+	}
+
+}
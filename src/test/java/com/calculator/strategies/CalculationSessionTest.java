@@ -0,0 +1,250 @@
+package com.calculator.strategies;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link CalculationSession} Test class to verify that fragments appended to a
+ * session sum same as their concatenation calculated at once.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class CalculationSessionTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<String>> delimiters() {
+		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+	}
+
+	private static Object outcome(IntSupplier sum) {
+		try {
+			return sum.getAsInt();
+		} catch (RuntimeException ex) {
+			return ex.getClass();
+		}
+	}
+
+	/**
+	 * Interactive test that appends inputs split at random points.
+	 * 
+	 * @testcase Total after every fragment should be same as calculation of all
+	 *           fragments appended so far, or fail the same way.
+	 * 
+	 * @precondition {@link StringSpaceSplitter} and {@link StringCommaSplitter}
+	 *               object should be passed in strategy.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void append_sameAsCalculation() {
+		AbstractCalculationStrategy<String> strategy = new StringCalculationStrategy(delimiters());
+		String[] inputs = { "", " ", ",,", "1,2", "1 2 3 4 5 6 7 10,200", " 1,, 2 ,3,", "+5,-0,007", "100,101",
+				"2147483647,1", "45,100,99 101 3" };
+		Random random = new Random(42);
+		for (String input : inputs) {
+			for (int round = 0; round < 20; round++) {
+				CalculationSession session = new CalculationSession(strategy);
+				int from = 0;
+				while (from < input.length()) {
+					int to = from + 1 + random.nextInt(input.length() - from);
+					session.append(input.substring(from, to));
+					String prefix = input.substring(0, to);
+					Assert.assertEquals(prefix, outcome(() -> strategy.calculate(prefix)), outcome(session::total));
+					from = to;
+				}
+				Assert.assertEquals(input, strategy.calculate(input), session.total());
+				Assert.assertEquals(input.length(), session.length());
+			}
+		}
+	}
+
+	/**
+	 * Interactive test that cuts a number and a multi character separator at
+	 * fragment boundaries.
+	 * 
+	 * @testcase Total should be 35, number and separator should be completed by
+	 *           the next fragments.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void append_numberAndSeparatorSplit() {
+		CalculationSession session = new CalculationSession(
+				new StringCalculationStrategy(Arrays.<Delimiter<String>>asList(DelimiterSet.of("***", ","))));
+		session.append("1").append("2**").append("*2");
+		Assert.assertEquals(14, session.total());
+		session.append("3,");
+		Assert.assertEquals(35, session.total());
+		Assert.assertEquals(35L, session.totalAsLong());
+	}
+
+	/**
+	 * Interactive test that sums past {@link Integer#MAX_VALUE} in a session.
+	 * 
+	 * @testcase Long total shouldn't wrap around.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void total_exact() {
+		CalculationSession session = new CalculationSession(
+				new ScannerCalculationStrategy(delimiters(), RuleSet.builder().rejectBelow(0).build()));
+		session.append("2147483647,").append("2147483647");
+		Assert.assertEquals(4294967294L, session.totalAsLong());
+		Assert.assertEquals(Long.valueOf(4294967294L), session.total(AccumulationMode.LONG));
+	}
+
+	/**
+	 * Interactive test that completes a negative number in a later fragment.
+	 * 
+	 * @exception UnsupportedNumberException should be thrown again by the total,
+	 *                                       as the session has failed.
+	 * 
+	 */
+	@Test
+	public void append_exceptionCase1() {
+		CalculationSession session = new CalculationSession(new StringCalculationStrategy(delimiters()));
+		session.append("1,-");
+		session.append("5");
+		try {
+			session.append(",2");
+			Assert.fail();
+		} catch (UnsupportedNumberException ex) {
+			Assert.assertTrue(session.isFailed());
+		}
+		expectedEx.expect(UnsupportedNumberException.class);
+		expectedEx.expectMessage("Negative numbers are not supported");
+		session.total();
+	}
+
+	/**
+	 * Interactive test that leaves an invalid number pending.
+	 * 
+	 * @exception InvalidDelimiterException should be thrown by the total, but the
+	 *                                      session can still be continued.
+	 * 
+	 */
+	@Test
+	public void total_exceptionCase2() {
+		CalculationSession session = new CalculationSession(new StringCalculationStrategy(delimiters()));
+		session.append("1,+");
+		try {
+			session.total();
+			Assert.fail();
+		} catch (InvalidDelimiterException ex) {
+			Assert.assertFalse(session.isFailed());
+		}
+		session.append("4");
+		Assert.assertEquals(5, session.total());
+	}
+
+	/**
+	 * Interactive test that restores a session from its serialized snapshot.
+	 * 
+	 * @testcase Restored session should continue a pending number and separator
+	 *           same as the original one.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void snapshot_restore() {
+		AbstractCalculationStrategy<String> strategy = new StringCalculationStrategy(
+				Arrays.<Delimiter<String>>asList(DelimiterSet.of("::", " ")));
+		CalculationSession session = new CalculationSession(strategy);
+		session.append("10 2:");
+		byte[] bytes = session.snapshot().toBytes();
+		CalculationSession restored = CalculationSession.restore(
+				new CachingCalculationStrategy<>(new StringCalculationStrategy(
+						Arrays.<Delimiter<String>>asList(DelimiterSet.of("::", " "))), 16, 1024, String::length),
+				CalculationSession.Snapshot.fromBytes(bytes));
+		Assert.assertEquals(5, restored.length());
+		restored.append(":3");
+		session.append(":3");
+		Assert.assertEquals(15, restored.total());
+		Assert.assertEquals(session.total(), restored.total());
+	}
+
+	/**
+	 * Interactive test that restores a snapshot with other delimiters.
+	 * 
+	 * @exception IllegalArgumentException should be thrown as delimiters differ.
+	 * 
+	 */
+	@Test
+	public void restore_exceptionCase3() {
+		CalculationSession session = new CalculationSession(new StringCalculationStrategy(delimiters()));
+		CalculationSession.Snapshot snapshot = session.append("1,2").snapshot();
+		expectedEx.expect(IllegalArgumentException.class);
+		CalculationSession.restore(
+				new StringCalculationStrategy(Arrays.<Delimiter<String>>asList(DelimiterSet.of(";"))), snapshot);
+	}
+
+	/**
+	 * Interactive test that scans a negative number after restoring a
+	 * serialized scanner state.
+	 * 
+	 * @testcase Offset and token index of the negative number should be counted
+	 *           from the first character scanned before the snapshot, 6 and 3.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void snapshot_errorLocation() throws IOException {
+		NumberScanner scanner = new NumberScanner(DelimiterSet.of(","));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		scanner.scan("1,2,3,").snapshot().writeTo(new DataOutputStream(bytes));
+		NumberScanner restored = new NumberScanner(DelimiterSet.of(","));
+		restored.restore(
+				NumberScanner.State.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+		try {
+			restored.scan("-4,");
+			Assert.fail();
+		} catch (UnsupportedNumberException ex) {
+			Assert.assertEquals(6, restored.getErrorOffset());
+			Assert.assertEquals(3, restored.getErrorTokenIndex());
+		}
+	}
+
+	/**
+	 * Interactive test that builds a session from a delimiter header strategy.
+	 * 
+	 * @exception UnsupportedOperationException should be thrown as delimiters
+	 *                                          depend on the whole input.
+	 * 
+	 */
+	@Test
+	public void session_exceptionCase4() {
+		expectedEx.expect(UnsupportedOperationException.class);
+		new CalculationSession(new HeaderDelimiterCalculationStrategy(delimiters()));
+	}
+
+}
@@ -0,0 +1,161 @@
+package com.calculator.strategies;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.delimiter.strategies.ByteCommaSplitter;
+import com.delimiter.strategies.ByteSpaceSplitter;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link CalculationStatistics} Test class to verify that every engine gathers
+ * same statistics in one pass, and that partial statistics merge.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class CalculationStatisticsTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<String>> delimiters() {
+		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+	}
+
+	private static void assertSame(CalculationStatistics expected, CalculationStatistics actual) {
+		Assert.assertEquals(expected.toString(), actual.toString());
+	}
+
+	/**
+	 * Interactive test that gathers statistics with a histogram.
+	 * 
+	 * @testcase count 3, sum 56, min 1, max 50, 2 ignored and buckets [2, 1, 0]
+	 *           for "1,5 101,200,50" and bounds 10 and 50, for every engine.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void statistics_case() {
+		String input = "1,5 101,200,50";
+		CalculationStatistics statistics = new StringCalculationStrategy(delimiters()).statistics(input, 10, 50);
+		Assert.assertEquals(3, statistics.getCount());
+		Assert.assertEquals(56, statistics.getSum());
+		Assert.assertEquals(1, statistics.getMin());
+		Assert.assertEquals(50, statistics.getMax());
+		Assert.assertEquals(56 / 3.0, statistics.getAverage(), 1e-9);
+		Assert.assertEquals(2, statistics.getIgnoredCount());
+		Assert.assertArrayEquals(new long[] { 2, 1, 0 }, statistics.getBucketCounts());
+		assertSame(statistics, new ScannerCalculationStrategy(delimiters()).statistics(input, 10, 50));
+		assertSame(statistics, new ByteCalculationStrategy(
+				Arrays.<Delimiter<ByteBuffer>>asList(new ByteCommaSplitter(), new ByteSpaceSplitter()))
+						.statistics(ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII)), 10, 50));
+	}
+
+	/**
+	 * Interactive test that gathers statistics of empty input.
+	 * 
+	 * @testcase count 0, mean 0, minimum and maximum same as
+	 *           {@link java.util.IntSummaryStatistics}.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void statistics_empty() {
+		CalculationStatistics statistics = new ScannerCalculationStrategy(delimiters()).statistics(null);
+		Assert.assertEquals(0, statistics.getCount());
+		Assert.assertEquals(0, statistics.getAverage(), 0);
+		Assert.assertEquals(Integer.MAX_VALUE, statistics.getMin());
+		Assert.assertEquals(Integer.MIN_VALUE, statistics.getMax());
+		Assert.assertEquals(0, statistics.getBucketCounts().length);
+	}
+
+	/**
+	 * Interactive test that combines statistics of two halves of an input.
+	 * 
+	 * @testcase Combined statistics should be same as statistics of the whole
+	 *           input.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void combine_sameAsWhole() {
+		AbstractCalculationStrategy<String> strategy = new ScannerCalculationStrategy(delimiters());
+		CalculationStatistics left = strategy.statistics("7,99 150,3", 0, 50, 100);
+		CalculationStatistics right = strategy.statistics("0,42,1000 100", 0, 50, 100);
+		assertSame(strategy.statistics("7,99 150,3,0,42,1000 100", 0, 50, 100), left.combine(right));
+	}
+
+	/**
+	 * Interactive test that gathers statistics of a memory mapped file in
+	 * parallel.
+	 * 
+	 * @testcase Statistics should be same as sequential statistics of the file
+	 *           content.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void statisticsParallel_case() throws IOException {
+		ScannerCalculationStrategy strategy = new ScannerCalculationStrategy(delimiters());
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 300000; i++) {
+			builder.append(i % 150).append(i % 7 == 0 ? ' ' : ',');
+		}
+		Path path = Files.createTempFile("calculator", ".txt");
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8));
+			assertSame(strategy.statistics(builder.toString(), 25, 75),
+					strategy.statisticsParallel(path, pool, 25, 75));
+		} finally {
+			pool.shutdown();
+			Files.delete(path);
+		}
+	}
+
+	/**
+	 * Interactive test that gathers statistics of input with a negative number.
+	 * 
+	 * @exception UnsupportedNumberException should be thrown, same as
+	 *                                       calculation.
+	 * 
+	 */
+	@Test
+	public void statistics_exceptionCase1() {
+		expectedEx.expect(UnsupportedNumberException.class);
+		new StringCalculationStrategy(delimiters()).statistics("1,-2");
+	}
+
+	/**
+	 * Interactive test that passes unordered bucket bounds.
+	 * 
+	 * @exception IllegalArgumentException should be thrown.
+	 * 
+	 */
+	@Test
+	public void statistics_exceptionCase2() {
+		expectedEx.expect(IllegalArgumentException.class);
+		new StringCalculationStrategy(delimiters()).statistics("1", 50, 10);
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.calculator.strategies;
+
+import java.math.BigInteger;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/***
+ * <p>
+ * {@link ExactSum} Test class to test overflow handling of each accumulation
+ * mode.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class ExactSumTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	/**
+	 * Interactive test that adds values beyond {@link Long#MAX_VALUE} and back.
+	 * 
+	 * @testcase int value wraps, BigInteger value is exact and long value is
+	 *           available again once sum fits into a long.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void add_overflowCase() {
+		ExactSum sum = ExactSum.of(Long.MAX_VALUE);
+		sum.add(Long.MAX_VALUE);
+		sum.add(2);
+		BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1).add(BigInteger.valueOf(2));
+		Assert.assertEquals(expected, sum.bigIntegerValue());
+		Assert.assertEquals(expected.intValue(), sum.intValue());
+		sum.add(-Long.MAX_VALUE);
+		sum.add(-Long.MAX_VALUE);
+		Assert.assertEquals(2L, sum.longValueExact());
+	}
+
+	/**
+	 * Interactive test that combines two partial sums.
+	 * 
+	 * @testcase (MAX + MAX) + (MAX + 1) = 3 * MAX + 1
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void combine_case() {
+		ExactSum left = ExactSum.of(Long.MAX_VALUE);
+		left.add(Long.MAX_VALUE);
+		ExactSum right = ExactSum.of(Long.MAX_VALUE);
+		right.add(1);
+		BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(3)).add(BigInteger.ONE);
+		Assert.assertEquals(expected, left.combine(right).bigIntegerValue());
+	}
+
+	/**
+	 * Interactive test that reads an overflowed sum as long.
+	 * 
+	 * @exception ArithmeticException should be thrown as sum doesn't fit into a
+	 *                                long.
+	 * 
+	 */
+	@Test
+	public void longValueExact_exceptionCase() {
+		ExactSum sum = ExactSum.of(Long.MAX_VALUE);
+		sum.add(1);
+		expectedEx.expect(ArithmeticException.class);
+		expectedEx.expectMessage("long overflow");
+		sum.longValueExact();
+	}
+
+}
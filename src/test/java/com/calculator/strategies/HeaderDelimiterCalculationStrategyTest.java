@@ -0,0 +1,110 @@
+package com.calculator.strategies;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link HeaderDelimiterCalculationStrategy} Test class to test delimiters
+ * declared in input header and caching of their compiled form.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class HeaderDelimiterCalculationStrategyTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<String>> delimiters() {
+		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+	}
+
+	/**
+	 * Interactive test that declares single and multi character delimiters in
+	 * header.
+	 * 
+	 * @testcase sum of "//;\n1;2;3" = 6, sum of "//[***][%]\n1***2%3,4 101" = 10
+	 *           and input without header works as usual.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_headerCase() {
+		AbstractCalculationStrategy<String> strategy = new HeaderDelimiterCalculationStrategy(delimiters());
+		Assert.assertEquals(6, strategy.calculate("//;\n1;2;3"));
+		Assert.assertEquals(10, strategy.calculate("//[***][%]\n1***2%3,4 101"));
+		Assert.assertEquals(3, strategy.calculate("1,2"));
+		Assert.assertEquals(0, strategy.calculate(null));
+	}
+
+	/**
+	 * Interactive test that repeats headers on a cache of capacity 2.
+	 * 
+	 * @testcase three distinct headers, one repeated, result in 3 misses, 1 hit
+	 *           and 1 eviction.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_cacheCase() {
+		HeaderDelimiterCalculationStrategy strategy = new HeaderDelimiterCalculationStrategy(delimiters(), 2);
+		strategy.calculate("//;\n1;2");
+		strategy.calculate("//;\n3;4");
+		strategy.calculate("//#\n1#2");
+		strategy.calculate("//[**]\n1**2");
+		Assert.assertEquals(1, strategy.getCache().getHitCount());
+		Assert.assertEquals(3, strategy.getCache().getMissCount());
+		Assert.assertEquals(1, strategy.getCache().getEvictionCount());
+		Assert.assertEquals(2, strategy.getCache().size());
+	}
+
+	/**
+	 * Interactive test that passes a negative number after a header.
+	 * 
+	 * @exception UnsupportedNumberException should be thrown at offset 6 of the
+	 *                                       input, header included, as token 1.
+	 * 
+	 */
+	@Test
+	public void calculate_exceptionCase2() {
+		AbstractCalculationStrategy<String> strategy = new HeaderDelimiterCalculationStrategy(delimiters());
+		try {
+			strategy.calculate("//;\n1;-2");
+			Assert.fail();
+		} catch (UnsupportedNumberException ex) {
+			Assert.assertEquals(6, ex.getOffset());
+			Assert.assertEquals(1, ex.getTokenIndex());
+			Assert.assertEquals("-2", ex.getToken());
+		}
+	}
+
+	/**
+	 * Interactive test that passes a header without closing bracket.
+	 * 
+	 * @exception InvalidDelimiterException should be thrown as header is
+	 *                                      malformed.
+	 * 
+	 */
+	@Test
+	public void calculate_exceptionCase() {
+		AbstractCalculationStrategy<String> strategy = new HeaderDelimiterCalculationStrategy(delimiters());
+		expectedEx.expect(InvalidDelimiterException.class);
+		expectedEx.expectMessage("Invalid delimiter header");
+		strategy.calculate("//[***\n1***2");
+	}
+
+}
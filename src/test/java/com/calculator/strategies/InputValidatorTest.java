@@ -0,0 +1,154 @@
+package com.calculator.strategies;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link InputValidator} Test class to verify that offending numbers are
+ * located precisely and reported without stack traces.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class InputValidatorTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<String>> delimiters() {
+		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+	}
+
+	private static InputValidator validator(String... separators) {
+		return new InputValidator(DelimiterSet.of(separators), RuleSet.DEFAULT);
+	}
+
+	/**
+	 * Interactive test that validates an invalid token.
+	 * 
+	 * @testcase Exception should carry offset 6, token index 2 and token "3;4",
+	 *           blank tokens aren't counted, and no stack trace.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void validate_invalidLocated() {
+		try {
+			validator(",", " ").validate("1, ,2,3;4,-5");
+			Assert.fail();
+		} catch (InvalidDelimiterException ex) {
+			Assert.assertEquals(6, ex.getOffset());
+			Assert.assertEquals(2, ex.getTokenIndex());
+			Assert.assertEquals("3;4", ex.getToken());
+			Assert.assertEquals(0, ex.getStackTrace().length);
+			Assert.assertEquals(
+					"Invalid Delimiter found between valid numbers (at offset 6, token 2, \"3;4\")",
+					ex.getMessage());
+		}
+	}
+
+	/**
+	 * Interactive test that validates a negative number after a multi character
+	 * separator.
+	 * 
+	 * @testcase Exception should carry offset 6, token index 2 and token "-20".
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void validate_negativeLocated() {
+		try {
+			validator("***").validate("1***2***-20");
+			Assert.fail();
+		} catch (UnsupportedNumberException ex) {
+			Assert.assertEquals(8, ex.getOffset());
+			Assert.assertEquals(2, ex.getTokenIndex());
+			Assert.assertEquals("-20", ex.getToken());
+			Assert.assertEquals(0, ex.getStackTrace().length);
+		}
+	}
+
+	/**
+	 * Interactive test that validates a long invalid token.
+	 * 
+	 * @testcase Reported token should be cut to its first 64 characters.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void validate_longTokenCut() {
+		char[] token = new char[1000];
+		Arrays.fill(token, 'x');
+		try {
+			validator(",").validate("1," + new String(token));
+			Assert.fail();
+		} catch (InvalidDelimiterException ex) {
+			Assert.assertEquals(2, ex.getOffset());
+			Assert.assertEquals(InputValidator.MAX_TOKEN_LENGTH, ex.getToken().length());
+		}
+	}
+
+	/**
+	 * Interactive test that validates valid inputs.
+	 * 
+	 * @testcase Nothing should be thrown.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void validate_valid() {
+		InputValidator validator = validator(",", " ");
+		for (String input : new String[] { null, "", " ", "1,2", " 1,, 2 ,3,", "+5,-0,007", "2147483647,101" }) {
+			validator.validate(input);
+		}
+	}
+
+	/**
+	 * Interactive test that calculates in validation mode.
+	 * 
+	 * @exception UnsupportedNumberException should be thrown with the position
+	 *                                       of the negative number.
+	 * 
+	 */
+	@Test
+	public void calculate_exceptionCase1() {
+		AbstractCalculationStrategy<String> strategy = new StringCalculationStrategy(delimiters(), RuleSet.DEFAULT,
+				true);
+		Assert.assertEquals(28, strategy.calculate("101,9,19"));
+		expectedEx.expect(UnsupportedNumberException.class);
+		expectedEx.expectMessage("Negative numbers are not supported (at offset 4, token 2, \"-90\")");
+		strategy.calculate("1 2 -90");
+	}
+
+	/**
+	 * Interactive test that asks validation of delimiters which can't be
+	 * compiled.
+	 * 
+	 * @exception UnsupportedOperationException should be thrown.
+	 * 
+	 */
+	@Test
+	public void calculate_exceptionCase2() {
+		expectedEx.expect(UnsupportedOperationException.class);
+		new StringCalculationStrategy(Arrays.<Delimiter<String>>asList(stream -> stream), RuleSet.DEFAULT, true);
+	}
+
+}
@@ -0,0 +1,170 @@
+package com.calculator.strategies;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+
+/***
+ * <p>
+ * {@link IntCalculationStrategy} Test class to verify that primitive input
+ * follows same rules as {@link StringCalculationStrategy}.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class IntCalculationStrategyTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	/**
+	 * Interactive test that compares primitive input against its formatted
+	 * string.
+	 *
+	 * @testcase Sum of random numbers, some greater than 100, should be same as
+	 *           sum of the comma separated string, for arrays, heap and direct
+	 *           buffers.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void calculate_sameAsString() {
+		IntCalculationStrategy strategy = new IntCalculationStrategy();
+		StringCalculationStrategy stringStrategy = new StringCalculationStrategy(
+				Arrays.<Delimiter<String>>asList(new StringCommaSplitter()));
+		Random random = new Random(7);
+		for (int length : new int[] { 0, 1, 3, 4, 5, 17, 5000, 9000 }) {
+			int[] numbers = new int[length];
+			StringBuilder builder = new StringBuilder();
+			for (int i = 0; i < length; i++) {
+				numbers[i] = random.nextInt(8) == 0 ? random.nextInt(Integer.MAX_VALUE) : random.nextInt(101);
+				builder.append(numbers[i]).append(',');
+			}
+			long expected = stringStrategy.calculateAsLong(builder.toString());
+			Assert.assertEquals((int) expected, strategy.calculate(numbers));
+			Assert.assertEquals(expected, strategy.calculateAsLong(IntBuffer.wrap(numbers)));
+			Assert.assertEquals(expected, strategy.calculateAsLong(direct(numbers)));
+		}
+	}
+
+	/**
+	 * Interactive test that calculates remaining numbers of a sliced buffer.
+	 *
+	 * @testcase sum of [5, 6, 7] out of [100, 5, 6, 7, 1000, 9] = 18, position
+	 *           should be left untouched.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void calculate_remainingOnly() {
+		IntBuffer buffer = IntBuffer.wrap(new int[] { 100, 5, 6, 7, 1000, 9 }, 1, 4);
+		IntBuffer slice = IntBuffer.wrap(new int[] { 100, 5, 6, 7, 1000, 9 }, 1, 3).slice();
+		Assert.assertEquals(18, new IntCalculationStrategy().calculate(buffer));
+		Assert.assertEquals(1, buffer.position());
+		Assert.assertEquals(18, new IntCalculationStrategy().calculate(slice));
+		Assert.assertEquals(0, new IntCalculationStrategy().calculate((int[]) null));
+	}
+
+	/**
+	 * Interactive test that calculates with rules which aren't ranges only.
+	 *
+	 * @testcase sum of even numbers of [1, 2, 3, 4, 200, 6] = 212.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void calculate_customRules() {
+		IntCalculationStrategy strategy = new IntCalculationStrategy(RuleSet.builder().modulus(2, 0).build());
+		Assert.assertEquals(212, strategy.calculate(new int[] { 1, 2, 3, 4, 200, 6 }));
+	}
+
+	/**
+	 * Interactive test that calculates a negative number.
+	 *
+	 * @exception UnsupportedNumberException should be thrown with the index of
+	 *                                       the negative number.
+	 *
+	 */
+	@Test
+	public void calculate_exceptionCase1() {
+		try {
+			new IntCalculationStrategy().calculate(new int[] { 1, 2, 3, 4, 5, 6, -7, 8 });
+			Assert.fail();
+		} catch (UnsupportedNumberException ex) {
+			Assert.assertEquals(6, ex.getTokenIndex());
+			Assert.assertEquals("-7", ex.getToken());
+		}
+	}
+
+	/**
+	 * Interactive test that sums a large direct buffer in parallel.
+	 *
+	 * @testcase Parallel sum should be same as sequential sum, and first of two
+	 *           negative numbers should be reported.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void calculateParallel_sameAsSequential() {
+		int[] numbers = new int[1 << 20];
+		Random random = new Random(11);
+		for (int i = 0; i < numbers.length; i++) {
+			numbers[i] = random.nextInt(150);
+		}
+		IntCalculationStrategy strategy = new IntCalculationStrategy();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			IntBuffer buffer = direct(numbers);
+			Assert.assertEquals(strategy.calculateAsLong(buffer), strategy.calculateParallel(buffer, pool));
+			numbers[300000] = -1;
+			numbers[900000] = -2;
+			try {
+				strategy.calculateParallel(IntBuffer.wrap(numbers), pool);
+				Assert.fail();
+			} catch (UnsupportedNumberException ex) {
+				Assert.assertEquals(300000, ex.getTokenIndex());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Interactive test that gathers statistics of primitive input.
+	 *
+	 * @testcase count of [1, 200, 3] = 2, ignored = 1, max = 3.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void statistics_case() {
+		CalculationStatistics statistics = new IntCalculationStrategy().statistics(IntBuffer.wrap(new int[] { 1, 200, 3 }));
+		Assert.assertEquals(2, statistics.getCount());
+		Assert.assertEquals(1, statistics.getIgnoredCount());
+		Assert.assertEquals(3, statistics.getMax());
+	}
+
+	private static IntBuffer direct(int[] numbers) {
+		IntBuffer buffer = ByteBuffer.allocateDirect(numbers.length * 4).asIntBuffer();
+		buffer.put(numbers).flip();
+		return buffer;
+	}
+
+}
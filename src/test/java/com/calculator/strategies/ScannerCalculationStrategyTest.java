@@ -0,0 +1,406 @@
+package com.calculator.strategies;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.DelimiterSet;
+import com.delimiter.strategies.StringCommaSplitter;
+import com.delimiter.strategies.StringSpaceSplitter;
+
+/***
+ * <p>
+ * {@link ScannerCalculationStrategy} Test class to verify that scanner engine
+ * behaves exactly like {@link StringCalculationStrategy}.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class ScannerCalculationStrategyTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	private static List<Delimiter<String>> delimiters() {
+		return Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter());
+	}
+
+	/**
+	 * Interactive test that compares scanner engine against stream pipeline.
+	 * 
+	 * @testcase Sum of various valid inputs should be same for both engines.
+	 * 
+	 * @precondition {@link StringSpaceSplitter} and {@link StringCommaSplitter}
+	 *               object should be passed in both strategies.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_sameAsStreamPipeline() {
+		AbstractCalculationStrategy<String> stream = new StringCalculationStrategy(delimiters());
+		AbstractCalculationStrategy<String> scanner = new ScannerCalculationStrategy(delimiters());
+		String[] inputs = { null, "", " ", ",,", "1,2", "1 2 3 4 5 6 7 10,200", " 1,, 2 ,3,", "+5,-0,007", "100,101",
+				"2147483647,1", "1,\t,2", "\u0663,4" };
+		for (String input : inputs) {
+			Assert.assertEquals(input, stream.calculate(input), scanner.calculate(input));
+		}
+	}
+
+	/**
+	 * Interactive test that compares exceptions of scanner engine against
+	 * stream pipeline.
+	 * 
+	 * @testcase "1,-2,3" and "1,x,3" should fail with same exception type,
+	 *           message and type of cause for both engines.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_sameExceptionsAsStreamPipeline() {
+		AbstractCalculationStrategy<String> stream = new StringCalculationStrategy(delimiters());
+		AbstractCalculationStrategy<String> scanner = new ScannerCalculationStrategy(delimiters());
+		for (String input : new String[] { "1,-2,3", "1,x,3" }) {
+			RuntimeException expected = failure(stream, input);
+			RuntimeException actual = failure(scanner, input);
+			Assert.assertEquals(input, expected.getClass(), actual.getClass());
+			Assert.assertEquals(input, expected.getMessage(), actual.getMessage());
+			Assert.assertEquals(input, expected.getCause() != null ? expected.getCause().getClass() : null,
+					actual.getCause() != null ? actual.getCause().getClass() : null);
+		}
+	}
+
+	private static RuntimeException failure(AbstractCalculationStrategy<String> strategy, String input) {
+		try {
+			strategy.calculate(input);
+		} catch (InvalidDelimiterException | UnsupportedNumberException ex) {
+			return ex;
+		}
+		throw new AssertionError(input);
+	}
+
+	/**
+	 * Interactive test that passes a negative number to scanner engine.
+	 * 
+	 * @exception UnsupportedNumberException should be thrown as input contains
+	 *                                       negative number (-90)
+	 * 
+	 */
+	@Test
+	public void calculate_exceptionCase1() {
+		AbstractCalculationStrategy<String> strategy = new ScannerCalculationStrategy(delimiters());
+		expectedEx.expect(UnsupportedNumberException.class);
+		expectedEx.expectMessage("Negative numbers are not supported");
+		strategy.calculate("1 2 3 4 5 6 7 10,200,-90");
+	}
+
+	/**
+	 * Interactive test that passes an unknown delimiter to scanner engine.
+	 * 
+	 * @exception InvalidDelimiterException should be thrown as input contains
+	 *                                      invalid/unknown delimiter (semicolon),
+	 *                                      even though a negative number follows.
+	 * 
+	 */
+	@Test
+	public void calculate_exceptionCase2() {
+		AbstractCalculationStrategy<String> strategy = new ScannerCalculationStrategy(delimiters());
+		expectedEx.expect(InvalidDelimiterException.class);
+		expectedEx.expectMessage("Invalid Delimiter found between valid numbers");
+		strategy.calculate("1;2,-3");
+	}
+
+	/**
+	 * Interactive test that passes a number out of integer range.
+	 * 
+	 * @exception InvalidDelimiterException should be thrown same as
+	 *                                      {@link Integer#valueOf(String)} fails.
+	 * 
+	 */
+	@Test
+	public void calculate_exceptionCase3() {
+		AbstractCalculationStrategy<String> strategy = new ScannerCalculationStrategy(delimiters());
+		expectedEx.expect(InvalidDelimiterException.class);
+		strategy.calculate("1,2147483648");
+	}
+
+	/**
+	 * Interactive test that feeds a reader returning at most three characters per
+	 * read, so numbers and delimiters cross chunk boundaries.
+	 * 
+	 * @testcase sum of "1 2 3 4 5 6 7 8 9 10,11,101,1000" = 66
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_readerCase() throws IOException {
+		ScannerCalculationStrategy strategy = new ScannerCalculationStrategy(delimiters());
+		Reader reader = new FilterReader(new StringReader("1 2 3 4 5 6 7 8 9 10,11,101,1000")) {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				return super.read(cbuf, off, Math.min(len, 3));
+			}
+		};
+		Assert.assertEquals(66, strategy.calculate(reader));
+	}
+
+	/**
+	 * Interactive test that calculates a file larger than one read chunk.
+	 * 
+	 * @testcase sum of 10000 times "99,100 " = 1990000
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_pathCase() throws IOException {
+		ScannerCalculationStrategy strategy = new ScannerCalculationStrategy(delimiters());
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			builder.append("99,100 ");
+		}
+		Path path = Files.createTempFile("calculator", ".txt");
+		try {
+			Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8));
+			Assert.assertEquals(strategy.calculate(builder.toString()), strategy.calculate(path));
+			Assert.assertEquals(1990000, strategy.calculate(path));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/**
+	 * Interactive test that reads input with a delimiter which doesn't expose
+	 * its separator.
+	 * 
+	 * @testcase sum of "1;2;3,4" from a reader and from a file = 10, same as the
+	 *           string itself.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_uncompiledReaderCase() throws IOException {
+		Delimiter<String> semicolon = stream -> stream.flatMap(string -> Arrays.stream(string.split(";")));
+		ScannerCalculationStrategy strategy = new ScannerCalculationStrategy(
+				Arrays.asList(semicolon, new StringCommaSplitter()));
+		Assert.assertNull(strategy.getDelimiterSet());
+		Assert.assertEquals(10, strategy.calculate("1;2;3,4"));
+		Assert.assertEquals(10, strategy.calculate(new StringReader("1;2;3,4")));
+		Path path = Files.createTempFile("calculator", ".txt");
+		try {
+			Files.write(path, "1;2;3,4".getBytes(StandardCharsets.UTF_8));
+			Assert.assertEquals(10, strategy.calculate(path));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/**
+	 * Interactive test that sums a memory mapped file in parallel.
+	 * 
+	 * @testcase sum of 100000 times "99,100 101 " on 4 threads = 19900000, which
+	 *           is same as sequential calculation of the file.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculateParallel_case() throws IOException {
+		ScannerCalculationStrategy strategy = new ScannerCalculationStrategy(delimiters());
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 100000; i++) {
+			builder.append("99,100 101 ");
+		}
+		Path path = Files.createTempFile("calculator", ".txt");
+		try {
+			Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8));
+			Assert.assertEquals(19900000L, strategy.calculateParallel(path, new ForkJoinPool(4)));
+			Assert.assertEquals(19900000, strategy.calculate(path));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/**
+	 * Interactive test that sums a memory mapped file containing an invalid
+	 * delimiter followed by a negative number.
+	 * 
+	 * @exception InvalidDelimiterException should be thrown for the first
+	 *                                      offending number in file order,
+	 *                                      located at its byte offset.
+	 * 
+	 */
+	@Test
+	public void calculateParallel_exceptionCase() throws IOException {
+		ScannerCalculationStrategy strategy = new ScannerCalculationStrategy(delimiters());
+		Path path = Files.createTempFile("calculator", ".txt");
+		try {
+			Files.write(path, "1,2;3 -4".getBytes(StandardCharsets.UTF_8));
+			expectedEx.expect(InvalidDelimiterException.class);
+			expectedEx.expectMessage("Invalid Delimiter found between valid numbers (at offset 2");
+			strategy.calculateParallel(path);
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/**
+	 * Interactive test that calculates a batch of inputs, sequentially and in
+	 * parallel, with both engines.
+	 * 
+	 * @testcase Every fourth input contains a negative number, its error should be
+	 *           reported in result while all other inputs are still calculated.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculateAll_case() {
+		List<String> inputs = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			inputs.add(i % 4 == 3 ? i + ",-1" : i + " 1,2");
+		}
+		List<AbstractCalculationStrategy<String>> strategies = Arrays.asList(new StringCalculationStrategy(delimiters()),
+				new ScannerCalculationStrategy(delimiters()));
+		for (AbstractCalculationStrategy<String> strategy : strategies) {
+			for (boolean parallel : new boolean[] { false, true }) {
+				BatchResult result = strategy.calculateAll(inputs, parallel);
+				Assert.assertEquals(1000, result.size());
+				Assert.assertEquals(250, result.getErrorCount());
+				Assert.assertEquals(3, result.getResult(0));
+				Assert.assertEquals(3, result.getResults()[200]);
+				Assert.assertEquals(103, result.getResult(100));
+				Assert.assertFalse(result.isSuccess(3));
+				Assert.assertTrue(result.getError(3) instanceof UnsupportedNumberException);
+			}
+		}
+	}
+
+	/**
+	 * Interactive test that calculates an input with each accumulation mode and
+	 * both engines.
+	 * 
+	 * @testcase sum of "1 2 3 4 5 6 7 8 9 10,11,101" = 66 in every mode.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_accumulationModeCase() {
+		List<AbstractCalculationStrategy<String>> strategies = Arrays.asList(new StringCalculationStrategy(delimiters()),
+				new ScannerCalculationStrategy(delimiters()));
+		for (AbstractCalculationStrategy<String> strategy : strategies) {
+			Assert.assertEquals(66, strategy.calculate("1 2 3 4 5 6 7 8 9 10,11,101", AccumulationMode.INT));
+			Assert.assertEquals(66L, strategy.calculate("1 2 3 4 5 6 7 8 9 10,11,101", AccumulationMode.LONG));
+			Assert.assertEquals(BigInteger.valueOf(66), strategy.calculateAsBigInteger("1 2 3 4 5 6 7 8 9 10,11,101"));
+			Assert.assertEquals(0L, strategy.calculateAsLong(null));
+		}
+	}
+
+	/**
+	 * Interactive test that feeds {@link NumberScanner} an input whose sum exceeds
+	 * {@link Integer#MAX_VALUE}.
+	 * 
+	 * @testcase sum of 30000000 times "100," = 3000000000, which wraps in int
+	 *           only.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void scanner_overflowCase() {
+		char[] chunk = new char[4000];
+		for (int i = 0; i < chunk.length; i += 4) {
+			"100,".getChars(0, 4, chunk, i);
+		}
+		NumberScanner scanner = new NumberScanner(DelimiterSet.of(","));
+		for (int i = 0; i < 30000; i++) {
+			scanner.scan(chunk, 0, chunk.length);
+		}
+		ExactSum sum = scanner.finishExact();
+		Assert.assertEquals((int) 3000000000L, sum.intValue());
+		Assert.assertEquals(3000000000L, sum.longValueExact());
+	}
+
+	/**
+	 * Interactive test that sums large strings in parallel.
+	 * 
+	 * @testcase Parallel sum should be same as sequential sum, whichever number
+	 *           of threads and separators.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculateParallel_sameAsSequential() {
+		ScannerCalculationStrategy strategy = new ScannerCalculationStrategy(delimiters());
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; builder.length() < 3 * ScannerCalculationStrategy.PARALLEL_THRESHOLD; i++) {
+			builder.append(i % 1500).append(i % 7 == 0 ? "  " : i % 3 == 0 ? " , " : ",");
+		}
+		String input = builder.toString();
+		for (int threads : new int[] { 1, 2, 4, 7 }) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				Assert.assertEquals(strategy.calculateAsLong(input), strategy.calculateParallel(input, pool));
+			} finally {
+				pool.shutdown();
+			}
+		}
+		Assert.assertEquals(strategy.calculateAsLong(input), strategy.calculateParallel(input));
+		Assert.assertEquals(6L, strategy.calculateParallel("1,2 3"));
+	}
+
+	/**
+	 * Interactive test that sums in parallel a large string with two negative
+	 * numbers far apart.
+	 * 
+	 * @exception UnsupportedNumberException should report the first one with its
+	 *                                       offset, same as sequential sum would.
+	 * 
+	 */
+	@Test
+	public void calculateParallel_exceptionCase1() {
+		StringBuilder builder = new StringBuilder();
+		while (builder.length() < 2 * ScannerCalculationStrategy.PARALLEL_THRESHOLD) {
+			builder.append("12,");
+		}
+		int offset = builder.length();
+		builder.append("-5,");
+		while (builder.length() < 4 * ScannerCalculationStrategy.PARALLEL_THRESHOLD) {
+			builder.append("12,");
+		}
+		builder.append("-6");
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			new ScannerCalculationStrategy(delimiters()).calculateParallel(builder.toString(), pool);
+			Assert.fail();
+		} catch (UnsupportedNumberException ex) {
+			Assert.assertEquals(offset, ex.getOffset());
+			Assert.assertEquals("-5", ex.getToken());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.calculator.strategies;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.binary.VarIntEncoder;
+import com.calculator.exceptions.InvalidDelimiterException;
+import com.calculator.exceptions.UnsupportedNumberException;
+import com.calculator.rules.RuleSet;
+import com.delimiter.strategies.Delimiter;
+import com.delimiter.strategies.StringCommaSplitter;
+
+/***
+ * <p>
+ * {@link VarIntCalculationStrategy} Test class to verify that varint input
+ * follows same rules as {@link StringCalculationStrategy}.
+ *
+ * @author gaurav.vishal
+ *
+ */
+public class VarIntCalculationStrategyTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	/**
+	 * Interactive test that compares encoded numbers against their formatted
+	 * string.
+	 *
+	 * @testcase Sum of random numbers, some greater than 100 or multi byte,
+	 *           should be same as sum of the comma separated string, for heap
+	 *           and direct buffers, with default and wider rules.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void calculate_sameAsString() {
+		RuleSet wide = RuleSet.builder().ignoreAbove(1000).ignoreBelow(5).build();
+		Random random = new Random(7);
+		for (int length : new int[] { 0, 1, 7, 8, 9, 17, 5000 }) {
+			int[] numbers = new int[length];
+			StringBuilder builder = new StringBuilder();
+			for (int i = 0; i < length; i++) {
+				numbers[i] = random.nextInt(8) == 0 ? random.nextInt(Integer.MAX_VALUE >>> random.nextInt(31))
+						: random.nextInt(101);
+				builder.append(numbers[i]).append(',');
+			}
+			for (RuleSet rules : new RuleSet[] { RuleSet.DEFAULT, wide }) {
+				StringCalculationStrategy stringStrategy = new StringCalculationStrategy(
+						Arrays.<Delimiter<String>>asList(new StringCommaSplitter()), rules, false);
+				VarIntCalculationStrategy strategy = new VarIntCalculationStrategy(rules);
+				long expected = stringStrategy.calculateAsLong(builder.toString());
+				ByteBuffer heap = VarIntEncoder.encode(numbers);
+				ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining());
+				direct.put(heap.duplicate()).flip();
+				Assert.assertEquals(expected, strategy.calculateAsLong(heap));
+				Assert.assertEquals(expected, strategy.calculateAsLong(direct));
+				Assert.assertEquals(0, heap.position());
+			}
+		}
+	}
+
+	/**
+	 * Interactive test that encodes edge values.
+	 *
+	 * @testcase 127 and 128 should take one and two bytes, sum of [0, 99, 128,
+	 *           100] out of a sliced buffer = 199 and statistics should count 1
+	 *           ignored number.
+	 *
+	 * @exception None
+	 *
+	 */
+	@Test
+	public void calculate_edgeValues() {
+		Assert.assertEquals(1, VarIntEncoder.encode(127).remaining());
+		Assert.assertEquals(2, VarIntEncoder.encode(128).remaining());
+		Assert.assertEquals(5, VarIntEncoder.encode(-1).remaining());
+		ByteBuffer buffer = VarIntEncoder.encode(0, 99, 128, 100);
+		ByteBuffer padded = ByteBuffer.allocate(buffer.remaining() + 2);
+		padded.put((byte) 9).put(buffer).put((byte) 9);
+		padded.position(1).limit(padded.capacity() - 1);
+		VarIntCalculationStrategy strategy = new VarIntCalculationStrategy();
+		Assert.assertEquals(199, strategy.calculate(padded.slice()));
+		CalculationStatistics statistics = strategy.statistics(padded.slice(), 10);
+		Assert.assertEquals(3, statistics.getCount());
+		Assert.assertEquals(1, statistics.getIgnoredCount());
+		Assert.assertEquals(0, strategy.calculate((byte[]) null));
+	}
+
+	/**
+	 * Interactive test that calculates a negative number after a full word of
+	 * valid numbers.
+	 *
+	 * @exception UnsupportedNumberException should be thrown at index 9 and byte
+	 *                                       offset 10.
+	 *
+	 */
+	@Test
+	public void calculate_exceptionCase1() {
+		expectedEx.expect(UnsupportedNumberException.class);
+		expectedEx.expectMessage("at offset 10, token 9");
+		new VarIntCalculationStrategy().calculate(VarIntEncoder.encode(1, 2, 3, 4, 5, 6, 7, 8, 300, -4, 5));
+	}
+
+	/**
+	 * Interactive test that calculates a varint truncated by the end of input.
+	 *
+	 * @exception InvalidDelimiterException should be thrown.
+	 *
+	 */
+	@Test
+	public void calculate_exceptionCase2() {
+		expectedEx.expect(InvalidDelimiterException.class);
+		expectedEx.expectMessage(VarIntCalculationStrategy.MALFORMED_MESSAGE);
+		new VarIntCalculationStrategy().calculate(new byte[] { 1, 2, (byte) 0xAC });
+	}
+
+	/**
+	 * Interactive test that calculates a varint longer than 32 bits.
+	 *
+	 * @exception InvalidDelimiterException should be thrown.
+	 *
+	 */
+	@Test
+	public void calculate_exceptionCase3() {
+		expectedEx.expect(InvalidDelimiterException.class);
+		new VarIntCalculationStrategy()
+				.calculate(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x1F });
+	}
+
+}
@@ -0,0 +1,137 @@
+package com.delimiter.strategies;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.calculator.strategies.AbstractCalculationStrategy;
+import com.calculator.strategies.ScannerCalculationStrategy;
+import com.calculator.strategies.StringCalculationStrategy;
+
+/***
+ * <p>
+ * {@link DelimiterSet} Test class to test single pass splitting on single and
+ * multi character separators.
+ * 
+ * @author gaurav.vishal
+ *
+ */
+public class DelimiterSetTest {
+
+	@Rule
+	public ExpectedException expectedEx = ExpectedException.none();
+
+	/**
+	 * Interactive test that compiles {@link StringCommaSplitter} and
+	 * {@link StringSpaceSplitter} into one set.
+	 * 
+	 * @testcase "1 2,3,,4" is split into "1", "2", "3", "", "4" in one pass.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void split_singleCharacterCase() {
+		DelimiterSet set = DelimiterSet.compile(Arrays.asList(new StringCommaSplitter(), new StringSpaceSplitter()));
+		Assert.assertTrue(set.isSingleCharacter());
+		List<String> tokens = set.split(Stream.of("1 2,3,,4")).collect(Collectors.toList());
+		Assert.assertEquals(Arrays.asList("1", "2", "3", "", "4"), tokens);
+	}
+
+	/**
+	 * Interactive test that splits on multi character separators, one of them
+	 * overlapping itself.
+	 * 
+	 * @testcase "1***2;;;3,4" with separators "***", ";;" and "," is split into
+	 *           "1", "2", ";3", "4".
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void split_multiCharacterCase() {
+		DelimiterSet set = DelimiterSet.of("***", ";;", ",");
+		Assert.assertFalse(set.isSingleCharacter());
+		List<String> tokens = set.split(Stream.of("1***2;;;3,4")).collect(Collectors.toList());
+		Assert.assertEquals(Arrays.asList("1", "2", ";3", "4"), tokens);
+	}
+
+	/**
+	 * Interactive test that calculates input with multi character separators
+	 * using both engines.
+	 * 
+	 * @testcase sum of "1***2;;3,4" with separators "***", ";;" and "," = 10
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void calculate_multiCharacterCase() {
+		List<Delimiter<String>> delimiters = Arrays.asList(DelimiterSet.of("***", ";;"), new StringCommaSplitter());
+		List<AbstractCalculationStrategy<String>> strategies = Arrays.asList(new StringCalculationStrategy(delimiters),
+				new ScannerCalculationStrategy(delimiters));
+		for (AbstractCalculationStrategy<String> strategy : strategies) {
+			Assert.assertEquals(10, strategy.calculate("1***2;;3,4"));
+		}
+	}
+
+	/**
+	 * Interactive test that caches sets of many distinct characters.
+	 * 
+	 * @testcase Weight of a set should grow with its distinct characters, and a
+	 *           cache bounded by weight should evict the first wide set when a
+	 *           second one is cached, while a set heavier than the cache isn't
+	 *           cached at all.
+	 * 
+	 * @exception None
+	 * 
+	 */
+	@Test
+	public void cache_weightCase() {
+		DelimiterSet narrow = DelimiterSet.of("**", ";");
+		DelimiterSet wide = wide('a');
+		Assert.assertTrue(wide.getWeight() > 100 * narrow.getWeight());
+		DelimiterSetCache cache = new DelimiterSetCache(1024, wide.getWeight() + narrow.getWeight());
+		cache.get("narrow", spec -> narrow);
+		cache.get("a", spec -> wide);
+		cache.get("b", spec -> wide('b'));
+		Assert.assertEquals(2, cache.getEvictionCount());
+		Assert.assertEquals(1, cache.size());
+		Assert.assertTrue(cache.weight() <= wide.getWeight() + narrow.getWeight());
+		DelimiterSetCache small = new DelimiterSetCache(1024, narrow.getWeight());
+		small.get("a", spec -> wide);
+		Assert.assertEquals(0, small.size());
+	}
+
+	/***
+	 * @return set of two character separators, given prefix followed by each
+	 *         of 200 distinct characters
+	 */
+	private static DelimiterSet wide(char prefix) {
+		String[] separators = new String[200];
+		for (int i = 0; i < separators.length; i++) {
+			separators[i] = prefix + String.valueOf((char) (0x100 + i));
+		}
+		return DelimiterSet.of(separators);
+	}
+
+	/**
+	 * Interactive test that compiles an empty separator.
+	 * 
+	 * @exception IllegalArgumentException should be thrown as separator is empty.
+	 * 
+	 */
+	@Test
+	public void of_exceptionCase() {
+		expectedEx.expect(IllegalArgumentException.class);
+		expectedEx.expectMessage("separator can't be null or empty");
+		DelimiterSet.of(",", "");
+	}
+
+}